@@ -45,6 +45,9 @@ import jakarta.ws.rs.core.MediaType;
 )
 public class OpenApiToRestDslResource {
 
+    //This module doesn't see the shared mappers of the model, but it can still keep its own
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private Logger log = Logger.getLogger(OpenApiToRestDslResource.class);
 
     @Inject
@@ -65,14 +68,13 @@ public class OpenApiToRestDslResource {
     }
 
     private JsonNode readOpenApiSpec(final String input) {
-        var mapper = new ObjectMapper();
         try {
-            return mapper.readTree(input);
+            return MAPPER.readTree(input);
         } catch (Exception e) {
             log.debug("Failed to parse input as JSON, trying YAML", e);
             Yaml loader = new Yaml(new SafeConstructor(new LoaderOptions()));
             Map map = loader.load(input);
-            return mapper.convertValue(map, JsonNode.class);
+            return MAPPER.convertValue(map, JsonNode.class);
         }
     }
 
@@ -0,0 +1,107 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
+import io.kaoto.backend.metadata.parser.ParserExecutor;
+import io.kaoto.backend.model.mapper.Mappers;
+import io.kaoto.backend.model.step.Step;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * 🐱class CatalogPrecompiler
+ * 🐱relationship dependsOn StepCatalogParser
+ *
+ * Runs at build time to parse the step sources bundled with the application
+ * (the `resource://` jars of the production profile) and store them as the
+ * precompiled catalog, so StepCatalog loads them at startup without parsing.
+ *
+ * Arguments: output folder (the classes folder), application version,
+ * configuration file and profile to read the sources from.
+ */
+public final class CatalogPrecompiler {
+
+    private static final Logger LOG = Logger.getLogger(CatalogPrecompiler.class);
+    private static final String RESOURCE = "resource://";
+
+    private CatalogPrecompiler() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 4) {
+            throw new IllegalArgumentException(
+                    "Usage: CatalogPrecompiler <output folder> <version> <application.yaml> <profile>");
+        }
+        final var folder = Path.of(args[0]).resolve(StepCatalog.PRECOMPILED);
+        final var store = new CatalogSnapshotStore<>(folder, Step.class, args[1]);
+        final List<StepCatalogParser> parsers = new ArrayList<>();
+        ServiceLoader.load(StepCatalogParser.class).forEach(parsers::add);
+
+        final List<String> index = new ArrayList<>();
+        //There is no container at build time, parse with the default settings
+        final var parserExecutor = new ParserExecutor(Runtime.getRuntime().availableProcessors());
+        try {
+            precompile(Path.of(args[2]), args[3], parsers, parserExecutor, store, index);
+        } finally {
+            parserExecutor.close();
+        }
+
+        store.prune();
+        Files.createDirectories(folder);
+        Files.write(folder.resolve(StepCatalog.INDEX), index, StandardCharsets.UTF_8);
+    }
+
+    private static void precompile(final Path configuration, final String profile,
+                                   final List<StepCatalogParser> parsers, final ParserExecutor parserExecutor,
+                                   final CatalogSnapshotStore<Step> store, final List<String> index)
+            throws IOException {
+        for (Map<String, Object> jar : bundledJars(configuration, profile)) {
+            final var url = String.valueOf(jar.get("url"));
+            final var kind = String.valueOf(jar.getOrDefault("kind", StepCatalog.ALL));
+            for (StepCatalogParser parser : parsers) {
+                if (!StepCatalog.ALL.equalsIgnoreCase(kind) && !parser.generatesKind(kind)) {
+                    continue;
+                }
+                final var parseCatalog = parser.getParser(url);
+                parseCatalog.setParserExecutor(parserExecutor);
+                final var fingerprint = parseCatalog.fingerprint();
+                if (fingerprint == null) {
+                    continue;
+                }
+                final var steps = parseCatalog.parse().join();
+                store.save(fingerprint, steps);
+                index.add(url + " " + parser.getClass().getName() + " " + steps.size());
+                LOG.info("Precompiled " + steps.size() + " steps from " + url + " with "
+                        + parser.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> bundledJars(final Path configuration, final String profile)
+            throws IOException {
+        Map<String, Object> config;
+        try (InputStream is = Files.newInputStream(configuration)) {
+            config = Mappers.snakeYaml(Object.class).load(is);
+        }
+        for (String key : new String[]{profile, "repository", "step", "jar"}) {
+            final var value = config != null ? config.get(key) : null;
+            if (value instanceof List<?> list) {
+                return ((List<Map<String, Object>>) list).stream()
+                        .filter(jar -> String.valueOf(jar.get("url")).startsWith(RESOURCE))
+                        .toList();
+            }
+            config = value instanceof Map<?, ?> ? (Map<String, Object>) value : null;
+        }
+        return Collections.emptyList();
+    }
+}
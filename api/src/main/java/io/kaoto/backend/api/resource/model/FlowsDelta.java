@@ -0,0 +1,13 @@
+package io.kaoto.backend.api.resource.model;
+
+import java.util.List;
+
+/**
+ * 🐱class FlowsDelta
+ *
+ * Used by the API to return the source code of a patched document, with the
+ * version to send the next changes against and which flows were generated
+ * again.
+ */
+public record FlowsDelta(String version, String crd, List<Integer> regenerated) {
+}
@@ -0,0 +1,28 @@
+package io.kaoto.backend.api.resource.model;
+
+import io.kaoto.backend.api.resource.v1.model.Integration;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🐱class FlowsPatch
+ *
+ * Used by the API to send the changes made to a version of a document
+ * previously returned, instead of all the flows.
+ *
+ * The flows are the flows of the new document, in order. Each one is either
+ * a flow, new or changed, or the index of a flow of the base version that
+ * didn't change. Without base version, all of them must be flows. The
+ * metadata, if present, replaces the metadata of the base version.
+ */
+public record FlowsPatch(String version, String dsl, List<FlowPatch> flows, Map<String, Object> metadata) {
+
+    /**
+     * 🐱miniclass FlowPatch (FlowsPatch)
+     *
+     * Either the index of a flow of the base version or a flow.
+     */
+    public record FlowPatch(Integer base, Integration flow) {
+    }
+}
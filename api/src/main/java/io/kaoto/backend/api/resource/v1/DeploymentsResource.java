@@ -1,13 +1,11 @@
 package io.kaoto.backend.api.resource.v1;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter;
 import io.kaoto.backend.deployment.ClusterService;
 import io.kaoto.backend.model.deployment.Deployment;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.smallrye.common.annotation.Blocking;
 import io.smallrye.mutiny.Multi;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -16,9 +14,6 @@ import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.reactive.NoCache;
 import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
@@ -109,18 +104,12 @@ public class DeploymentsResource {
 
     private String securityCheck(final String crd) {
 
-        ObjectMapper yamlMapper =
-                new ObjectMapper(new YAMLFactory())
-                    .configure(
-                            DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
-                            false);
-
         boolean valid = false;
         for (var parser : parsers) {
             for (Class<? extends CustomResource> c
                     : parser.supportedCustomResources()) {
                 try {
-                    yamlMapper.readValue(crd, c);
+                    Mappers.lenientYamlReader(c).readValue(crd);
                     valid = true;
                 } catch (Exception e) {
                     log.trace("We tried to parse with " + c.getName() + " and"
@@ -168,9 +157,7 @@ public class DeploymentsResource {
             for (Class<? extends CustomResource> c
                     : parser.supportedCustomResources()) {
                 try {
-                    Yaml yaml = new Yaml(new Constructor(c, new LoaderOptions()),
-                            new KameletRepresenter());
-                    return yaml.dumpAsMap(cr);
+                    return Mappers.snakeYaml(c, KameletRepresenter.class, KameletRepresenter::new).dumpAsMap(cr);
                 } catch (Exception e) {
                     log.trace("We tried to parse with " + c.getName() + " and"
                             + " it didn't work.");
@@ -3,8 +3,10 @@ package io.kaoto.backend.api.resource.v1;
 import com.fasterxml.jackson.annotation.JsonView;
 import io.kaoto.backend.api.service.deployment.DeploymentService;
 import io.kaoto.backend.api.service.dsl.DSLSpecification;
+import io.kaoto.backend.api.service.dsl.PlacementRules;
+import io.kaoto.backend.api.service.step.StepListCache;
 import io.kaoto.backend.api.service.step.StepService;
-import io.kaoto.backend.model.Metadata;
+import io.kaoto.backend.metadata.catalog.CatalogQuery;
 import io.kaoto.backend.model.jsonviews.Views;
 import io.kaoto.backend.model.step.Step;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -25,12 +27,20 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 /**
  * 🐱class StepResource
@@ -60,6 +70,7 @@ public class StepResource {
     private StepService stepService;
     private DeploymentService deploymentService;
     private MeterRegistry registry;
+    private StepListCache stepListCache;
 
     @Inject
     public void setStepService(final StepService stepService) {
@@ -72,6 +83,11 @@ public class StepResource {
         this.deploymentService = deploymentService;
     }
 
+    @Inject
+    public void setStepListCache(final StepListCache stepListCache) {
+        this.stepListCache = stepListCache;
+    }
+
     @Inject
     public void setRegistry(final MeterRegistry registry) {
         this.registry = registry;
@@ -82,19 +98,23 @@ public class StepResource {
      * 🐱param type: String
      * 🐱param dsl: String
      * 🐱param kind: String
+     * 🐱param after: String
      *
-     * Returns all the steps. If parameters are included in the query, it
+     * Returns all the steps, sorted by identifier. If parameters are included in the query, it
      * will filter only those steps compatible with the constraints.
      *
+     * The response is served already serialized while the catalog doesn't change, tagged with
+     * an ETag so clients can poll with If-None-Match and get a 304 if there is nothing new.
+     * Compression is left to the HTTP layer.
+     *
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    @JsonView(Views.Summary.class)
     @Operation(summary = "Get all steps",
             description = "Returns all the available steps that can be added"
                     + " to the integration.")
     @Compressed
-    public Collection<Step> all(
+    public Response allSteps(
             final @Parameter(description = "Filter by Domain Specific Language (DSL). "
                     + "Examples: 'KameletBinding' 'KameletBinding,Kamelet'")
             @QueryParam("dsl") String dsl,
@@ -109,20 +129,81 @@ public class StepResource {
             final @Parameter(description = "Provides context: previous step, if exists.")
             @QueryParam("previousStep") String previousStep,
             final @Parameter(description = "Provides context: following step, if exists.")
-            @QueryParam("followingStep") String followingStep) {
-        final var allSteps = stepService.allSteps();
-        var steps = allSteps.stream().sorted(Comparator.comparing(Metadata::getId));
+            @QueryParam("followingStep") String followingStep,
+            final @Parameter(description = "Start returning after the step with this identifier. "
+                    + "Use the identifier of the last step of the previous page (combine with limit).")
+            @QueryParam("after") String after,
+            final @Context Request request) {
+        final var generation = stepService.catalogGeneration();
+        final var key = String.join("|", normalize(dsl), normalize(type), normalize(kind),
+                String.valueOf(positive(limit)), String.valueOf(positive(start)),
+                resolve(previousStep, followingStep, after));
+        final var serialized = stepListCache.get(key, generation,
+                () -> all(dsl, type, kind, limit, start, previousStep, followingStep, after));
+
+        final var etag = new EntityTag(serialized.tag(), true);
+        final var notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+        }
+
+        return Response.ok(serialized.json(), MediaType.APPLICATION_JSON_TYPE)
+                .tag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    /*
+     * 🐱method all : List[Step]
+     * 🐱param type: String
+     * 🐱param dsl: String
+     * 🐱param kind: String
+     * 🐱param after: String
+     *
+     * Same as allSteps, but returns the steps themselves instead of the serialized response.
+     *
+     */
+    public Collection<Step> all(final String dsl, final String type, final String kind, final Long limit,
+                                final Long start, final String previousStep, final String followingStep,
+                                final String after) {
+        final var total = stepService.allSteps().size();
         Span span = Span.current();
         if (span != null) {
-            span.setAttribute("steps.total", allSteps.size());
+            span.setAttribute("steps.total", total);
             span.setAttribute("steps.dsl", dsl);
             span.setAttribute("steps.type", type);
             span.setAttribute("steps.kind", kind);
             span.setAttribute("steps.limit", limit != null ? limit.toString() : "null");
             span.setAttribute("steps.start", start != null ? start.toString() : "null");
-            registry.gauge("steps", allSteps.size());
+            span.setAttribute("steps.after", after != null ? after : "null");
+            registry.gauge("steps", total);
+        }
+
+        //DSL first because it is usually the parameter we will use
+        final var dsls = dsls(dsl);
+        var query = filter(CatalogQuery.all().after(after), dsl, dsls, type, kind);
+
+        //And give context based on previous and following step, depending on the DSL
+        final var previous = dsls.isEmpty() ? null : stepService.stepById(previousStep);
+        final var following = dsls.isEmpty() ? null : stepService.stepById(followingStep);
+        for (var dgs : dsls) {
+            final var rules = dgs.getPlacementRules();
+            if (rules != PlacementRules.NONE) {
+                query = place(query, rules.ruleFor(previous), following);
+            }
         }
 
+        //The indexes resolve the filters, already sorted by id
+        var steps = stepService.query(query).stream();
+
+        //DSLs that don't declare their rules may still filter the steps one by one
+        for (var dgs : dsls) {
+            if (dgs.getPlacementRules() == PlacementRules.NONE && dgs.getDeploymentGeneratorService() != null) {
+                steps = dgs.getDeploymentGeneratorService().filterCatalog(previous, following, steps);
+            }
+        }
+
+        //Paginate once everything is filtered
         if (start != null && start > 0) {
             steps = steps.skip(start);
         }
@@ -131,49 +212,125 @@ public class StepResource {
             steps = steps.limit(limit);
         }
 
-        steps = steps.parallel();
+        final var result = steps.toList();
+        if (span != null) {
+            span.setAttribute("steps.return", result.size());
+        }
+        return result;
+    }
+
 
-        //DSL first because it is usually the parameter we will use
+    /*
+     * 🐱method search : List[Step]
+     * 🐱param q: String
+     * 🐱param dsl: String
+     * 🐱param type: String
+     * 🐱param kind: String
+     * 🐱param limit: Long
+     *
+     * Returns the steps whose identifier, name, title, description, group or parameters contain words
+     * starting with the words searched, best matches first.
+     *
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @JsonView(Views.Summary.class)
+    @Path("/search")
+    @Operation(summary = "Search steps",
+            description = "Returns the steps that match all the words searched, best matches first.")
+    public List<Step> search(
+            final @Parameter(description = "Words to search. Example: 's3 upload'")
+            @QueryParam("q") String q,
+            final @Parameter(description = "Filter by Domain Specific Language (DSL). "
+                    + "Examples: 'KameletBinding' 'KameletBinding,Kamelet'")
+            @QueryParam("dsl") String dsl,
+            final @Parameter(description = "Filter by step type. Example: 'START' 'MIDDLE,END")
+            @QueryParam("type") String type,
+            final @Parameter(description = "Filter by kind of step. Examples: 'Kamelet' 'Kamelet,KameletBinding'")
+            @QueryParam("kind") String kind,
+            final @Parameter(description = "Maximum number of elements to return.")
+            @QueryParam("limit") Long limit) {
+        var query = filter(CatalogQuery.all(), dsl, dsls(dsl), type, kind);
+        if (limit != null && limit > 0) {
+            query = query.limit((int) Math.min(limit, Integer.MAX_VALUE));
+        }
+        final var result = stepService.search(q, query);
+        Span span = Span.current();
+        if (span != null) {
+            span.setAttribute("steps.return", result.size());
+        }
+        return result;
+    }
+
+    private List<DSLSpecification> dsls(final String dsl) {
+        if (dsl == null || dsl.isEmpty()) {
+            return List.of();
+        }
+        return deploymentService.getParsers().stream()
+                .filter(s -> Arrays.stream(dsl.split(",")).anyMatch(it -> it.equalsIgnoreCase(s.identifier())))
+                .toList();
+    }
+
+    private static CatalogQuery filter(final CatalogQuery base, final String dsl, final List<DSLSpecification> dsls,
+                                       final String type, final String kind) {
+        var query = base;
         if (dsl != null && !dsl.isEmpty()) {
-            final var dgsStream = deploymentService.getParsers().stream().parallel()
-                    .filter(s ->
-                            Arrays.stream(dsl.split(",")).anyMatch(it -> it.equalsIgnoreCase(s.identifier())))
-                    .toList();
-
-            //First take all the kinds from the parameter list given
-            List<String> kinds =
-                    dgsStream.parallelStream().map(DSLSpecification::getKinds).flatMap(Collection::stream).toList();
-            //And now we can filter by the kinds
-            steps = steps.filter(step -> kinds.stream().anyMatch(s -> s.equalsIgnoreCase(step.getKind())));
-
-            //And give context based on previous and following step, depending on the DSL
-            for (var dgs : dgsStream) {
-                if (dgs.getDeploymentGeneratorService() != null) {
-                    steps = dgs.getDeploymentGeneratorService().filterCatalog(stepService.stepById(previousStep),
-                            stepService.stepById(followingStep), steps);
-                }
-            }
+            //Only the kinds of steps the DSLs support
+            query = query.withKinds(dsls.stream().map(DSLSpecification::getKinds).flatMap(Collection::stream).toList());
         }
 
-        //This may remove one third of the options
         if (type != null && !type.isEmpty()) {
-            steps = steps.filter(step -> Arrays.stream(type.split(","))
-                    .anyMatch(t -> t.equalsIgnoreCase(step.getType())));
+            query = query.withTypes(Arrays.asList(type.split(",")));
         }
 
-        //kind is the less filtering parameter
         if (kind != null && !kind.isEmpty()) {
-            steps = steps.filter(step -> Arrays.stream(kind.split(","))
-                    .anyMatch(k -> k.equalsIgnoreCase(step.getKind())));
+            query = query.withKinds(Arrays.asList(kind.split(",")));
         }
+        return query;
+    }
 
-        final var result = steps.toList();
-        if (span != null) {
-            span.setAttribute("steps.return", result.size());
+    //The placement rule as facets of the query
+    private static CatalogQuery place(final CatalogQuery query, final PlacementRules.Rule rule, final Step following) {
+        if (rule.last() && following != null) {
+            return query.withKinds(List.of());
         }
-        return result;
+        var res = query;
+        if (rule.kinds() != null) {
+            res = res.withKinds(rule.kinds());
+        }
+        if (!rule.excludedKinds().isEmpty()) {
+            res = res.withoutKinds(rule.excludedKinds());
+        }
+        if (rule.types() != null) {
+            res = res.withTypes(rule.types());
+        }
+        return res;
+    }
+
+    //Context as the steps of the catalog it points to, so any value the client sends doesn't get its own entry
+    private String resolve(final String previousStep, final String followingStep, final String after) {
+        final var previous = stepService.stepById(previousStep);
+        final var following = stepService.stepById(followingStep);
+        //Pages start on the first step after the one given, whether that one exists or not
+        final var first = stepService.query(CatalogQuery.all().after(after).limit(1));
+        return String.join("|", previous != null ? previous.getId() : "", following != null ? following.getId() : "",
+                first.isEmpty() ? "end" : first.get(0).getId());
+    }
+
+    private static String normalize(final String values) {
+        if (values == null || values.isBlank()) {
+            return "";
+        }
+        return Arrays.stream(values.split(","))
+                .map(value -> value.toLowerCase(Locale.ROOT))
+                .sorted()
+                .distinct()
+                .collect(Collectors.joining(","));
     }
 
+    private static long positive(final Long value) {
+        return value != null && value > 0 ? value : 0;
+    }
 
     /*
      * 🐱method stepById : Step
@@ -219,6 +376,49 @@ public class StepResource {
         return stepService.stepsByName(name);
     }
 
+    /*
+     * 🐱method icon : byte[]
+     * 🐱param reference: String
+     *
+     *  Returns the icon identified by the reference. Icons never change for
+     *  a given reference, so clients can cache them for as long as they want.
+     *
+     */
+    @GET
+    @Path("/icons/{reference}")
+    @Operation(summary = "Get icon",
+            description = "Returns the icon identified by the reference provided in the steps.")
+    public Response icon(
+            final @Parameter(description = "Reference of the icon we want to retrieve.")
+            @PathParam("reference") String reference) {
+        final var icon = stepService.icon(reference);
+        if (icon == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        var type = MediaType.TEXT_PLAIN;
+        var content = icon.getBytes(StandardCharsets.UTF_8);
+        if (icon.startsWith("data:") && icon.indexOf(',') > 0) {
+            //data:[<mediatype>][;base64],<data>
+            final var header = icon.substring("data:".length(), icon.indexOf(','));
+            final var data = icon.substring(icon.indexOf(',') + 1);
+            final var base64 = header.endsWith(";base64");
+            final var mediaType = base64 ? header.substring(0, header.length() - ";base64".length()) : header;
+            type = mediaType.isBlank() ? MediaType.TEXT_PLAIN : mediaType;
+            content = base64
+                    ? Base64.getMimeDecoder().decode(data)
+                    : URLDecoder.decode(data.replace("+", "%2B"), StandardCharsets.UTF_8)
+                            .getBytes(StandardCharsets.UTF_8);
+        } else if (icon.trim().startsWith("<")) {
+            type = "image/svg+xml";
+        }
+
+        return Response.ok(content, type)
+                .tag(new EntityTag(reference))
+                .header(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable")
+                .build();
+    }
+
     @ServerExceptionMapper
     public Response mapException(final Exception x) {
         return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
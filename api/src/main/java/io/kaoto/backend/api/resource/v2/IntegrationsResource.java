@@ -1,15 +1,24 @@
 package io.kaoto.backend.api.resource.v2;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kaoto.backend.api.resource.model.FlowsDelta;
+import io.kaoto.backend.api.resource.model.FlowsPatch;
 import io.kaoto.backend.api.resource.model.FlowsWrapper;
 import io.kaoto.backend.api.resource.v1.model.Integration;
 import io.kaoto.backend.api.service.deployment.DeploymentService;
+import io.kaoto.backend.api.service.deployment.IntegrationDeltaService;
+import io.kaoto.backend.api.service.deployment.IntegrationResultCache;
 import io.kaoto.backend.api.service.dsl.DSLSpecification;
+import io.kaoto.backend.api.service.step.parser.SourceDocument;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.step.Step;
-import io.quarkus.cache.CacheResult;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
 
@@ -23,6 +32,9 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -45,6 +57,9 @@ public class IntegrationsResource {
     private final Logger LOG = Logger.getLogger(IntegrationsResource.class);
     private DeploymentService deploymentService;
     private Instance<DSLSpecification> dslSpecifications;
+    private IntegrationResultCache resultCache;
+    private IntegrationDeltaService deltaService;
+    private ObjectMapper objectMapper;
 
     @Inject
     public void setDeploymentService(
@@ -57,23 +72,76 @@ public class IntegrationsResource {
         this.dslSpecifications = dslSpecifications;
     }
 
+    @Inject
+    public void setResultCache(final IntegrationResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    @Inject
+    public void setDeltaService(final IntegrationDeltaService deltaService) {
+        this.deltaService = deltaService;
+    }
+
+    @Inject
+    public void setObjectMapper(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
     /*
      * 🐱method CRDs: Map
      * 🐱param dsl: String
      * 🐱param integration: List<Integration>
      *
      * Idempotent operation that given an array of integrations, returns the corresponding CRDs.
+     *
+     * Results are cached while the catalog doesn't change, the request is only read on a miss.
+     * Otherwise, the yaml is streamed to the response while it is generated.
      */
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces("text/yaml")
     @Path("/")
-    @CacheResult(cacheName = "api")
     @Operation(summary = "Get CRDs",
             description = "Returns the associated custom resource definitions. This is an idempotent operation.")
-    public String crds(final @RequestBody FlowsWrapper request) {
-        ensureUniqueNames(request);
-        return deploymentService.crds(request.flows(), request.metadata());
+    @APIResponse(responseCode = "200", content = @Content(mediaType = "text/yaml",
+            schema = @Schema(implementation = String.class)))
+    public StreamingOutput crds(final @RequestBody(content = @Content(mediaType = MediaType.APPLICATION_JSON,
+            schema = @Schema(implementation = FlowsWrapper.class))) byte[] request) {
+        final var cached = resultCache.getIfPresent("crds", request);
+        if (cached != null) {
+            return output -> output.write(cached);
+        }
+
+        final FlowsWrapper flows = read(request);
+        ensureUniqueNames(flows);
+        final var crds = deploymentService.streamCrds(flows.flows(), flows.metadata());
+        if (crds == null) {
+            return null;
+        }
+        return output -> {
+            final var recording = resultCache.record("crds", request, output);
+            crds.write(recording);
+            recording.finish();
+        };
+    }
+
+    /*
+     * 🐱method delta: FlowsDelta
+     * 🐱param patch: FlowsPatch
+     *
+     * Same as CRDs, but given the changes made to a version previously returned by this same operation.
+     * Only the flows that changed are generated again. The first time, send all the flows without version.
+     * If the version is not known anymore, answers with a conflict: send all the flows again.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/delta")
+    @Operation(summary = "Get CRDs from changes",
+            description = "Returns the associated custom resource definitions after applying the changes to a"
+                    + " previous version, generating only the flows that changed.")
+    public FlowsDelta delta(final @RequestBody FlowsPatch patch) {
+        return deltaService.crds(patch);
     }
 
     /*
@@ -83,29 +151,40 @@ public class IntegrationsResource {
      *
      * Idempotent operation that given a CRD, returns the JSON representation.
      *
+     * The JSON is cached while the catalog doesn't change.
+     *
      */
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes("text/yaml")
     @Path("/")
-    @CacheResult(cacheName = "api")
     @Operation(summary = "Get Integration Object",
             description = "Given the associated custom resource definition, returns the JSON object."
                     + " This is an idempotent operation.")
-    public FlowsWrapper integration(
+    @APIResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+            schema = @Schema(implementation = FlowsWrapper.class)))
+    public Response integration(
             final @RequestBody String crd,
             final @Parameter(description = "DSL to use. For example: 'Kamelet Binding'.")
             @QueryParam("dsl") String dsl) {
+        final var json = resultCache.get("integration", (dsl + '\n' + crd).getBytes(StandardCharsets.UTF_8),
+                () -> write(parse(crd, dsl)));
+        return Response.ok(json, MediaType.APPLICATION_JSON_TYPE).build();
+    }
+
+    private FlowsWrapper parse(final String crd, final String dsl) {
         List<Integration> integrations = new ArrayList<>();
         Map<String, Object> metadata = new LinkedHashMap<>();
         FlowsWrapper answer = new FlowsWrapper(integrations, metadata, Map.of());
+        //Parsed once, both to find the DSL and to parse it with the DSL found
+        final var document = SourceDocument.of(crd);
 
         boolean found = false;
         if (dsl != null) {
             for (DSLSpecification dslSpecification : dslSpecifications) {
                 try {
-                    if (dslSpecification.identifier().equalsIgnoreCase(dsl) && dslSpecification.appliesTo(crd)) {
-                        var parsed = dslSpecification.getStepParserService().getParsedFlows(crd);
+                    if (dslSpecification.identifier().equalsIgnoreCase(dsl) && dslSpecification.appliesTo(document)) {
+                        var parsed = dslSpecification.getStepParserService().getParsedFlows(document);
                         decorateIntegration(dsl, answer, parsed);
                         found = true;
                         break;
@@ -119,8 +198,8 @@ public class IntegrationsResource {
         if (!found) {
             for (var dslSpecification : dslSpecifications) {
                 try {
-                    if (dslSpecification.appliesTo(crd)) {
-                        var parsed = dslSpecification.getStepParserService().getParsedFlows(crd);
+                    if (dslSpecification.appliesTo(document)) {
+                        var parsed = dslSpecification.getStepParserService().getParsedFlows(document);
                         decorateIntegration(dslSpecification.identifier(), answer, parsed);
                         LOG.warn("Gurl, the DSL you gave me is so wrong. This is a " + dslSpecification.identifier()
                                 + " not a " + dsl);
@@ -137,6 +216,22 @@ public class IntegrationsResource {
         return answer;
     }
 
+    private FlowsWrapper read(final byte[] request) {
+        try {
+            return objectMapper.readValue(request, FlowsWrapper.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Can't read the flows: " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] write(final FlowsWrapper flows) {
+        try {
+            return objectMapper.writeValueAsBytes(flows);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing flows: " + e.getMessage(), e);
+        }
+    }
+
     private static void ensureUniqueNames(FlowsWrapper answer) {
         List<String> usedIds = new LinkedList<>();
         var name = "name";
@@ -179,6 +274,14 @@ public class IntegrationsResource {
         }
     }
 
+    @ServerExceptionMapper
+    public Response mapUnknownVersion(final IntegrationDeltaService.UnknownVersionException x) {
+        return Response.status(Response.Status.CONFLICT)
+                .entity(x.getMessage())
+                .type(MediaType.TEXT_PLAIN_TYPE)
+                .build();
+    }
+
     @ServerExceptionMapper
     public Response mapException(final Exception x) {
         LOG.error("Error processing deployment.", x);
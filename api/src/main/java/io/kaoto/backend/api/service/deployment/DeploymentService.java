@@ -1,6 +1,7 @@
 package io.kaoto.backend.api.service.deployment;
 
 import io.kaoto.backend.api.resource.v1.model.Integration;
+import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.dsl.DSLSpecification;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.step.Step;
@@ -10,12 +11,17 @@ import org.jboss.logging.Logger;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * 🐱miniclass DeploymentService (IntegrationsResource)
@@ -116,35 +122,49 @@ public class DeploymentService {
      */
     @WithSpan
     public String crds(final List<Integration> integrationList, final Map<String, Object> metadata) {
-        List<StepParserService.ParseResult<Step>> integrations = new LinkedList<>();
-        String dsl = null;
+        return crds(integrationList, metadata, dsl(integrationList));
+    }
 
-        for (Integration integration : integrationList) {
-            var parseResult = new StepParserService.ParseResult<Step>();
-            parseResult.setMetadata(integration.getMetadata());
-            parseResult.setSteps(integration.getSteps());
-            parseResult.setParameters(integration.getParameters());
-            integrations.add(parseResult);
-            if (integration.getDsl() != null) {
-                if (dsl != null && !integration.getDsl().equalsIgnoreCase(dsl)) {
-                    log.error("We were sent a mix of DSL in the same list of flows!");
-                }
-                dsl = integration.getDsl();
-            }
-        }
+    /*
+     * 🐱method crds: String
+     * 🐱param integrationList: List<Integration>
+     * 🐱param metadata: Map
+     * 🐱param dsl: String
+     *
+     * Same as crds, but trying the DSL provided first instead of the DSL of the flows.
+     */
+    public String crds(final List<Integration> integrationList, final Map<String, Object> metadata,
+                       final String dsl) {
+        final var integrations = parseResults(integrationList, metadata);
+        return generate(integrations, dsl, generator -> generator.parse(integrations));
+    }
 
-        if (metadata != null && !metadata.isEmpty()) {
-            var parseResult = new StepParserService.ParseResult<Step>();
-            parseResult.setMetadata(metadata);
-            integrations.add(parseResult);
-        }
+    /*
+     * 🐱method streamCrds: StreamingOutput
+     * 🐱param integrationList: List<Integration>
+     * 🐱param metadata: Map
+     *
+     * Same as crds, but for DSLs that generate each flow on its own, the
+     * yaml is written to the response as it is generated instead of being
+     * built whole first. The first flow is generated before returning, so a
+     * DSL that can't generate these flows still falls back to the next one.
+     * Null if no DSL can generate these flows.
+     */
+    @WithSpan
+    public StreamingOutput streamCrds(final List<Integration> integrationList, final Map<String, Object> metadata) {
+        final var integrations = parseResults(integrationList, metadata);
+        return generate(integrations, dsl(integrationList), generator -> stream(generator, integrations));
+    }
 
+    //Tries the DSL of the flows first, then any DSL that applies, until one of them generates the flows
+    private <T> T generate(final List<StepParserService.ParseResult<Step>> integrations, final String dsl,
+                           final Function<DeploymentGeneratorService, T> generation) {
         if (dsl != null) {
             for (DSLSpecification parser : getParsers()) {
                 try {
                     if (parser.identifier().equalsIgnoreCase(dsl)
                             && parser.getDeploymentGeneratorService() != null) {
-                        return parser.getDeploymentGeneratorService().parse(integrations);
+                        return generation.apply(parser.getDeploymentGeneratorService());
                     }
                 } catch (Exception e) {
                     log.warn("Parser " + parser.getClass() + "threw an unexpected error. ", e);
@@ -157,7 +177,7 @@ public class DeploymentService {
             try {
                 if (parser.appliesToFlows(integrations)
                         && parser.getDeploymentGeneratorService() != null) {
-                    return parser.getDeploymentGeneratorService().parse(integrations);
+                    return generation.apply(parser.getDeploymentGeneratorService());
                 }
             } catch (Exception e) {
                 log.warn("Parser " + parser.getClass() + "threw an unexpected error. ", e);
@@ -167,6 +187,57 @@ public class DeploymentService {
         return null;
     }
 
+    //Errors on the first flow happen here, before anything is sent, the rest of the flows are generated as written
+    private StreamingOutput stream(final DeploymentGeneratorService generator,
+                                   final List<StepParserService.ParseResult<Step>> integrations) {
+        final var first = integrations.isEmpty() ? null : generator.parseFlow(integrations.get(0));
+        if (first == null) {
+            //The DSL can only generate the whole document
+            final var source = generator.parse(integrations);
+            return source != null ? output -> output.write(source.getBytes(StandardCharsets.UTF_8)) : null;
+        }
+        return output -> {
+            final var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.write(first);
+            for (var flow : integrations.subList(1, integrations.size())) {
+                writer.write(generator.parseFlow(flow));
+            }
+            writer.flush();
+        };
+    }
+
+    private List<StepParserService.ParseResult<Step>> parseResults(final List<Integration> integrationList,
+                                                                final Map<String, Object> metadata) {
+        List<StepParserService.ParseResult<Step>> integrations = new LinkedList<>();
+        for (Integration integration : integrationList) {
+            var parseResult = new StepParserService.ParseResult<Step>();
+            parseResult.setMetadata(integration.getMetadata());
+            parseResult.setSteps(integration.getSteps());
+            parseResult.setParameters(integration.getParameters());
+            integrations.add(parseResult);
+        }
+
+        if (metadata != null && !metadata.isEmpty()) {
+            var parseResult = new StepParserService.ParseResult<Step>();
+            parseResult.setMetadata(metadata);
+            integrations.add(parseResult);
+        }
+        return integrations;
+    }
+
+    private String dsl(final List<Integration> integrationList) {
+        String dsl = null;
+        for (Integration integration : integrationList) {
+            if (integration.getDsl() != null) {
+                if (dsl != null && !integration.getDsl().equalsIgnoreCase(dsl)) {
+                    log.error("We were sent a mix of DSL in the same list of flows!");
+                }
+                dsl = integration.getDsl();
+            }
+        }
+        return dsl;
+    }
+
     public Instance<DSLSpecification> getParsers() {
         return parsers;
     }
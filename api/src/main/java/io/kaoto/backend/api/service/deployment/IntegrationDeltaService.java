@@ -0,0 +1,297 @@
+package io.kaoto.backend.api.service.deployment;
+
+import io.kaoto.backend.api.resource.model.FlowsDelta;
+import io.kaoto.backend.api.resource.model.FlowsPatch;
+import io.kaoto.backend.api.resource.v1.model.Integration;
+import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.dsl.DSLSpecification;
+import io.kaoto.backend.api.service.step.StepService;
+import io.kaoto.backend.api.service.step.parser.StepParserService;
+import io.kaoto.backend.model.step.Step;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 🐱miniclass IntegrationDeltaService (IntegrationsResource)
+ * 🐱relationship dependsOn DeploymentService
+ *
+ * 🐱section
+ * Generates the source code of a document from the changes made to a
+ * version of it previously returned.
+ *
+ * Each version remembers its flows and, for DSLs that can generate each
+ * flow on its own, the source code of each flow. Flows that didn't change
+ * reuse their source code, only the new or changed ones are generated. When
+ * the catalog changes, all of them are generated again. DSLs that can only
+ * generate the whole document generate it again, but still accept changes.
+ *
+ * The last versions returned are kept, bounded by their estimated size,
+ * configured with `kaoto.integrations.delta.max-bytes`. The least recently
+ * used versions are forgotten first.
+ */
+@ApplicationScoped
+public class IntegrationDeltaService {
+
+    private static final String NAME = "name";
+    //Rough memory used by a version and by each step of its flows, on top of the source code
+    private static final int VERSION_OVERHEAD = 256;
+    private static final int STEP_OVERHEAD = 1024;
+
+    @ConfigProperty(name = "kaoto.integrations.delta.max-bytes", defaultValue = "33554432")
+    private long maxBytes;
+
+    private DeploymentService deploymentService;
+    private StepService stepService;
+    private final Random random = new Random();
+
+    private final Map<String, Version> versions = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    void setMaxBytes(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Inject
+    public void setDeploymentService(final DeploymentService deploymentService) {
+        this.deploymentService = deploymentService;
+    }
+
+    @Inject
+    public void setStepService(final StepService stepService) {
+        this.stepService = stepService;
+    }
+
+    /*
+     * 🐱method crds: FlowsDelta
+     * 🐱param patch: FlowsPatch
+     *
+     * Applies the changes to the base version of the patch and returns the
+     * source code of the result, with its new version. If the base version
+     * is not known (anymore), throws an UnknownVersionException: send all
+     * the flows again.
+     */
+    @WithSpan
+    public FlowsDelta crds(final FlowsPatch patch) {
+        if (patch.flows() == null) {
+            throw new IllegalArgumentException("The patch has no flows.");
+        }
+        final long generation = stepService.catalogGeneration();
+        final var base = base(patch.version());
+        //Source code generated with another catalog could be different now
+        final boolean reusable = base != null && base.generation() == generation;
+
+        final List<Fragment> flows = new ArrayList<>(patch.flows().size());
+        final Set<Integer> changed = new HashSet<>();
+        for (var flow : patch.flows()) {
+            if (flow.base() != null) {
+                if (base == null || flow.base() < 0 || flow.base() >= base.flows().size()) {
+                    throw new IllegalArgumentException("There is no flow " + flow.base() + " on the base version.");
+                }
+                final var previous = base.flows().get(flow.base());
+                flows.add(reusable ? previous : new Fragment(previous.integration(), null));
+            } else if (flow.flow() != null) {
+                changed.add(flows.size());
+                flows.add(new Fragment(flow.flow(), null));
+            } else {
+                throw new IllegalArgumentException("Each flow must be a flow or the index of a flow of the base.");
+            }
+        }
+
+        final var metadata = patch.metadata() != null ? patch.metadata() : base != null ? base.metadata() : null;
+        final var dsl = dsl(patch, base, flows);
+        ensureUniqueNames(flows, changed, dsl);
+
+        final List<Integer> regenerated = new ArrayList<>();
+        final var generator = generator(dsl);
+        var fragments = generator != null ? generate(generator, flows, regenerated) : null;
+        String metadataFragment = null;
+        if (fragments != null && metadata != null && !metadata.isEmpty()) {
+            metadataFragment = reusable && patch.metadata() == null ? base.metadataFragment()
+                    : generator.parseFlow(parseResult(null, metadata));
+        }
+
+        final String crd;
+        if (fragments == null || metadata != null && !metadata.isEmpty() && metadataFragment == null) {
+            //The DSL can't generate flows on their own
+            fragments = flows.stream().map(flow -> new Fragment(flow.integration(), null)).toList();
+            metadataFragment = null;
+            regenerated.clear();
+            for (int i = 0; i < flows.size(); i++) {
+                regenerated.add(i);
+            }
+            crd = deploymentService.crds(flows.stream().map(Fragment::integration).toList(), metadata, dsl);
+            if (crd == null) {
+                throw new IllegalArgumentException("There is no DSL that can generate these flows.");
+            }
+        } else {
+            final var sb = new StringBuilder();
+            fragments.forEach(fragment -> sb.append(fragment.source()));
+            if (metadataFragment != null) {
+                sb.append(metadataFragment);
+            }
+            crd = sb.toString();
+        }
+
+        final var version = UUID.randomUUID().toString();
+        keep(version, Version.of(dsl, generation, fragments, metadata, metadataFragment));
+        return new FlowsDelta(version, crd, regenerated);
+    }
+
+    //Remembers the version, forgetting the least recently used ones that don't fit anymore
+    private void keep(final String id, final Version version) {
+        final long weight = version.weight();
+        if (weight > maxBytes) {
+            //Too big to be kept, changes to it will have to send all the flows
+            return;
+        }
+        synchronized (versions) {
+            versions.put(id, version);
+            bytes += weight;
+            final Iterator<Version> eldest = versions.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().weight();
+                eldest.remove();
+            }
+        }
+    }
+
+    private Version base(final String version) {
+        if (version == null) {
+            return null;
+        }
+        synchronized (versions) {
+            final var base = versions.get(version);
+            if (base == null) {
+                throw new UnknownVersionException(version);
+            }
+            return base;
+        }
+    }
+
+    //Source code of each flow, generating only the ones missing. Null if the DSL can't do it.
+    private List<Fragment> generate(final DeploymentGeneratorService generator, final List<Fragment> flows,
+                                    final List<Integer> regenerated) {
+        final List<Fragment> res = new ArrayList<>(flows.size());
+        for (int i = 0; i < flows.size(); i++) {
+            final var flow = flows.get(i);
+            if (flow.source() != null) {
+                res.add(flow);
+                continue;
+            }
+            final var integration = flow.integration();
+            final var source = generator.parseFlow(parseResult(integration, integration.getMetadata()));
+            if (source == null) {
+                return null;
+            }
+            res.add(new Fragment(integration, source));
+            regenerated.add(i);
+        }
+        return res;
+    }
+
+    private static StepParserService.ParseResult<Step> parseResult(final Integration integration,
+                                                               final Map<String, Object> metadata) {
+        var parseResult = new StepParserService.ParseResult<Step>();
+        parseResult.setMetadata(metadata);
+        if (integration != null) {
+            parseResult.setSteps(integration.getSteps());
+            parseResult.setParameters(integration.getParameters());
+        }
+        return parseResult;
+    }
+
+    private static String dsl(final FlowsPatch patch, final Version base, final List<Fragment> flows) {
+        if (patch.dsl() != null) {
+            return patch.dsl();
+        }
+        if (base != null && base.dsl() != null) {
+            return base.dsl();
+        }
+        return flows.stream().map(flow -> flow.integration().getDsl()).filter(dsl -> dsl != null)
+                .findFirst().orElse(null);
+    }
+
+    private DeploymentGeneratorService generator(final String dsl) {
+        if (dsl == null) {
+            return null;
+        }
+        for (DSLSpecification specification : deploymentService.getParsers()) {
+            if (specification.identifier().equalsIgnoreCase(dsl)) {
+                return specification.getDeploymentGeneratorService();
+            }
+        }
+        return null;
+    }
+
+    //Only new or changed flows, by their position, get a name, so flows reused never change
+    private void ensureUniqueNames(final List<Fragment> flows, final Set<Integer> changed, final String dsl) {
+        final Set<String> used = new HashSet<>();
+        for (int i = 0; i < flows.size(); i++) {
+            final var integration = flows.get(i).integration();
+            if (!changed.contains(i) && integration.getMetadata() != null
+                    && integration.getMetadata().containsKey(NAME)) {
+                used.add(String.valueOf(integration.getMetadata().get(NAME)));
+            }
+        }
+        final var prefix = dsl != null ? dsl.toLowerCase().replaceAll(" ", "") : "flow";
+        for (int i = 0; i < flows.size(); i++) {
+            if (!changed.contains(i)) {
+                continue;
+            }
+            final var integration = flows.get(i).integration();
+            final Map<String, Object> metadata = integration.getMetadata() != null
+                    ? new LinkedHashMap<>(integration.getMetadata()) : new LinkedHashMap<>();
+            var name = metadata.containsKey(NAME) ? String.valueOf(metadata.get(NAME)) : prefix + random.nextInt(99);
+            while (used.contains(name)) {
+                name = name + random.nextInt(99);
+            }
+            used.add(name);
+            metadata.put(NAME, name);
+            integration.setMetadata(metadata);
+        }
+    }
+
+    private record Fragment(Integration integration, String source) {
+        long weight() {
+            final var steps = integration.getSteps();
+            return (source != null ? source.length() : 0L) + (steps != null ? steps.size() : 0L) * STEP_OVERHEAD;
+        }
+    }
+
+    //Its weight is estimated once, so it is the same when it is forgotten
+    private record Version(String dsl, long generation, List<Fragment> flows, Map<String, Object> metadata,
+                           String metadataFragment, long weight) {
+        static Version of(final String dsl, final long generation, final List<Fragment> flows,
+                          final Map<String, Object> metadata, final String metadataFragment) {
+            long weight = VERSION_OVERHEAD + (metadataFragment != null ? metadataFragment.length() : 0L);
+            for (var flow : flows) {
+                weight += flow.weight();
+            }
+            return new Version(dsl, generation, flows, metadata, metadataFragment, weight);
+        }
+    }
+
+    /**
+     * 🐱miniclass UnknownVersionException (IntegrationDeltaService)
+     *
+     * The version the changes were made to is not known, all the flows have
+     * to be sent again.
+     */
+    public static class UnknownVersionException extends IllegalArgumentException {
+        public UnknownVersionException(final String version) {
+            super("Unknown version " + version + ", send all the flows again.");
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package io.kaoto.backend.api.service.deployment;
+
+import io.kaoto.backend.api.service.step.StepService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 🐱miniclass IntegrationResultCache (IntegrationsResource)
+ * 🐱relationship dependsOn StepService
+ *
+ * 🐱section
+ * Keeps the serialized results of parsing and generating integrations, so
+ * the canvas can send the same source back and forth without parsing it or
+ * generating it again.
+ *
+ * Entries are keyed by a hash of the operation and the content received.
+ * They are built from the steps of the catalog, so they are all dropped
+ * once the catalog changes. The cache is bounded by the size of the results
+ * kept, configured with `kaoto.integrations.result-cache.max-bytes`. The
+ * least recently used entries are evicted first.
+ *
+ * Hits, misses and evictions are exported as metrics.
+ */
+@ApplicationScoped
+public class IntegrationResultCache {
+
+    private static final Logger LOG = Logger.getLogger(IntegrationResultCache.class);
+    //Rough memory used by the key and the entry itself, on top of the result
+    private static final int ENTRY_OVERHEAD = 128;
+
+    @ConfigProperty(name = "kaoto.integrations.result-cache.max-bytes", defaultValue = "33554432")
+    private long maxBytes;
+
+    private StepService stepService;
+    private MeterRegistry registry;
+
+    private final Map<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong bytes = new AtomicLong();
+    private long generation = Long.MIN_VALUE;
+
+    void setMaxBytes(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Inject
+    public void setStepService(final StepService stepService) {
+        this.stepService = stepService;
+    }
+
+    @Inject
+    public void setRegistry(final MeterRegistry registry) {
+        this.registry = registry;
+        registry.gauge("kaoto.integrations.cache.bytes", bytes);
+    }
+
+    /*
+     * 🐱method get : byte[]
+     * 🐱param operation: String
+     * 🐱param content: byte[]
+     * 🐱param result: Supplier[byte[]]
+     *
+     * Returns the result of the operation over this content with the
+     * current catalog. If there is none yet, it is obtained from the
+     * supplier and kept. Errors and empty results are never kept.
+     */
+    public byte[] get(final String operation, final byte[] content, final Supplier<byte[]> result) {
+        final var key = key(operation, content);
+        final long current = stepService.catalogGeneration();
+        synchronized (entries) {
+            invalidate(current);
+            final var cached = entries.get(key);
+            if (cached != null) {
+                registry.counter("kaoto.integrations.cache.requests", "operation", operation, "result", "hit")
+                        .increment();
+                return cached;
+            }
+        }
+        registry.counter("kaoto.integrations.cache.requests", "operation", operation, "result", "miss")
+                .increment();
+
+        //Build outside the lock, worst case two requests do the same work
+        final var built = result.get();
+        if (built == null) {
+            return null;
+        }
+        put(operation, key, built, current);
+        return built;
+    }
+
+    /*
+     * 🐱method getIfPresent : byte[]
+     * 🐱param operation: String
+     * 🐱param content: byte[]
+     *
+     * Returns the result of the operation over this content with the
+     * current catalog, or null if there is none yet.
+     */
+    public byte[] getIfPresent(final String operation, final byte[] content) {
+        final var key = key(operation, content);
+        final long current = stepService.catalogGeneration();
+        synchronized (entries) {
+            invalidate(current);
+            final var cached = entries.get(key);
+            registry.counter("kaoto.integrations.cache.requests", "operation", operation,
+                    "result", cached != null ? "hit" : "miss").increment();
+            return cached;
+        }
+    }
+
+    /*
+     * 🐱method record : Recording
+     * 🐱param operation: String
+     * 🐱param content: byte[]
+     * 🐱param output: OutputStream
+     *
+     * Stream that writes the result of the operation over this content to
+     * the output and keeps a copy of it, if it fits in the cache. The copy
+     * is kept once the result is finished.
+     */
+    public Recording record(final String operation, final byte[] content, final OutputStream output) {
+        return new Recording(operation, key(operation, content), stepService.catalogGeneration(), output);
+    }
+
+    private void put(final String operation, final String key, final byte[] built, final long current) {
+        final long weight = weight(key, built);
+        if (weight > maxBytes) {
+            LOG.debug("Result of " + operation + " is too big to be cached: " + weight + " bytes.");
+            return;
+        }
+        synchronized (entries) {
+            //Built from a catalog that is gone already
+            if (current != generation) {
+                return;
+            }
+            final var previous = entries.put(key, built);
+            bytes.addAndGet(weight - (previous != null ? weight(key, previous) : 0));
+            evict();
+        }
+    }
+
+    /*
+     * 🐱method clear
+     *
+     * Forgets all the results.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytes.set(0);
+        }
+    }
+
+    //Results of other catalogs could be different now, drop them all
+    private void invalidate(final long current) {
+        if (current == generation) {
+            return;
+        }
+        if (!entries.isEmpty()) {
+            registry.counter("kaoto.integrations.cache.evictions", "cause", "catalog").increment(entries.size());
+            entries.clear();
+            bytes.set(0);
+        }
+        generation = current;
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+        while (bytes.get() > maxBytes && eldest.hasNext()) {
+            final var entry = eldest.next();
+            bytes.addAndGet(-weight(entry.getKey(), entry.getValue()));
+            eldest.remove();
+            registry.counter("kaoto.integrations.cache.evictions", "cause", "size").increment();
+        }
+    }
+
+    private static long weight(final String key, final byte[] value) {
+        return ENTRY_OVERHEAD + key.length() + (long) value.length;
+    }
+
+    /**
+     * 🐱miniclass Recording (IntegrationResultCache)
+     *
+     * Writes a result as it is generated, keeping a copy for the cache. The
+     * copy is dropped as soon as it is too big to be cached.
+     */
+    public final class Recording extends FilterOutputStream {
+
+        private final String operation;
+        private final String key;
+        private final long current;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private Recording(final String operation, final String key, final long current, final OutputStream output) {
+            super(output);
+            this.operation = operation;
+            this.key = key;
+            this.current = current;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            if (keep(1)) {
+                copy.write(b);
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            if (keep(len)) {
+                copy.write(b, off, len);
+            }
+        }
+
+        /*
+         * 🐱method finish
+         *
+         * The result is complete, keep it. Call it only if it was generated
+         * without errors.
+         */
+        public void finish() throws IOException {
+            flush();
+            if (copy != null && copy.size() > 0) {
+                put(operation, key, copy.toByteArray(), current);
+            }
+            copy = null;
+        }
+
+        private boolean keep(final int len) {
+            if (copy != null && ENTRY_OVERHEAD + key.length() + (long) copy.size() + len > maxBytes) {
+                LOG.debug("Result of " + operation + " is too big to be cached.");
+                copy = null;
+            }
+            return copy != null;
+        }
+    }
+
+    private static String key(final String operation, final byte[] content) {
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return operation + ':' + HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            LOG.error("SHA-256 is not available, can't build cache keys.", e);
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.kaoto.backend.api.service.step;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.kaoto.backend.model.jsonviews.Views;
+import io.kaoto.backend.model.step.Step;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 🐱miniclass StepListCache (StepResource)
+ * 🐱relationship dependsOn StepService
+ *
+ * 🐱section
+ * Keeps the step lists already serialized as JSON (summary view), so they
+ * don't have to be serialized again while the catalog doesn't change.
+ * Compressing them is left to the HTTP layer.
+ *
+ * Entries are tied to the generation of the catalog they were built from.
+ * Once the catalog changes, they are built again on the next request.
+ */
+@ApplicationScoped
+public class StepListCache {
+
+    private static final Logger LOG = Logger.getLogger(StepListCache.class);
+
+    @ConfigProperty(name = "kaoto.steps.response-cache.size", defaultValue = "64")
+    private int maxEntries;
+
+    private ObjectWriter writer;
+
+    private final Map<String, SerializedSteps> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, SerializedSteps> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    @Inject
+    public void setObjectMapper(final ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerWithView(Views.Summary.class);
+    }
+
+    /*
+     * 🐱method get : SerializedSteps
+     * 🐱param key: String
+     * 🐱param generation: long
+     * 🐱param steps: Supplier[List[Step]]
+     *
+     * Returns the serialized list for this key and catalog generation. If
+     * there is none yet, the steps are obtained from the supplier and
+     * serialized.
+     */
+    public SerializedSteps get(final String key, final long generation,
+                               final Supplier<Collection<Step>> steps) {
+        synchronized (entries) {
+            final var cached = entries.get(key);
+            if (cached != null && cached.generation() == generation) {
+                return cached;
+            }
+        }
+
+        //Serialize outside the lock, worst case two requests do the same work
+        final var serialized = serialize(generation, steps.get());
+        synchronized (entries) {
+            final var cached = entries.get(key);
+            if (cached == null || cached.generation() <= generation) {
+                entries.put(key, serialized);
+            }
+        }
+        return serialized;
+    }
+
+    /*
+     * 🐱method clear
+     *
+     * Forgets all the serialized lists.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private SerializedSteps serialize(final long generation, final Collection<Step> steps) {
+        try {
+            final byte[] json = writer.writeValueAsBytes(steps);
+            final var etag = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16);
+            return new SerializedSteps(generation, etag, json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing steps: " + e.getMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            LOG.error("SHA-256 is not available, can't build step list tags.", e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * 🐱miniclass SerializedSteps (StepListCache)
+     *
+     * A serialized step list. The tag identifies the content, no matter the
+     * encoding, so it can be used as a weak ETag.
+     */
+    public record SerializedSteps(long generation, String tag, byte[] json) {
+    }
+}
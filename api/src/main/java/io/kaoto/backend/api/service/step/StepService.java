@@ -1,6 +1,7 @@
 package io.kaoto.backend.api.service.step;
 
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.metadata.catalog.CatalogQuery;
 import io.kaoto.backend.model.step.Step;
 
 import io.opentelemetry.instrumentation.annotations.SpanAttribute;
@@ -8,6 +9,7 @@ import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.Collection;
+import java.util.List;
 /**
  *
  * 🐱miniclass StepService (StepResource)
@@ -33,11 +35,12 @@ public class StepService {
      * 🐱param id: String
      *
      *  Returns the first step identified by the parameter.
+     *  The step is shared with the catalog, clone it before modifying it.
      *
      */
     @WithSpan
     public Step stepById(@SpanAttribute(value = "id") final String id) {
-        return catalog.getReadOnlyCatalog().searchByID(id);
+        return catalog.getReadOnlyCatalog().getSnapshot().searchByID(id);
     }
 
     /*
@@ -45,21 +48,73 @@ public class StepService {
      * 🐱param name: String
      *
      *  Returns all the steps identified by the name.
+     *  The steps are shared with the catalog, clone them before modifying them.
      *
      */
     @WithSpan
     public Collection<Step> stepsByName(@SpanAttribute(value = "name") final String name) {
-        return catalog.getReadOnlyCatalog().searchByName(name);
+        return catalog.getReadOnlyCatalog().getSnapshot().searchByName(name);
     }
 
     /*
      * 🐱method allSteps : List[Step]
      *
      *  Returns all the steps.
+     *  The steps are shared with the catalog, clone them before modifying them.
      *
      */
     @WithSpan
     public Collection<Step> allSteps() {
-        return catalog.getReadOnlyCatalog().getAll();
+        return catalog.getReadOnlyCatalog().getSnapshot().getAll();
+    }
+
+    /*
+     * 🐱method query : List[Step]
+     * 🐱param query: CatalogQuery
+     *
+     *  Returns the steps matching the query, sorted by identifier.
+     *  The steps are shared with the catalog, clone them before modifying them.
+     *
+     */
+    @WithSpan
+    public List<Step> query(final CatalogQuery query) {
+        return catalog.getReadOnlyCatalog().query(query);
+    }
+
+    /*
+     * 🐱method search : List[Step]
+     * 🐱param text: String
+     * 🐱param query: CatalogQuery
+     *
+     *  Returns the steps with words starting with the words of the text,
+     *  best matches first, filtered by the query.
+     *  The steps are shared with the catalog, clone them before modifying them.
+     *
+     */
+    @WithSpan
+    public List<Step> search(@SpanAttribute(value = "text") final String text, final CatalogQuery query) {
+        return catalog.getReadOnlyCatalog().getSnapshot().search(text, query);
+    }
+
+    /*
+     * 🐱method catalogGeneration : long
+     *
+     *  Returns the generation of the content of the catalog. It changes
+     *  every time the catalog content changes.
+     *
+     */
+    public long catalogGeneration() {
+        return catalog.getReadOnlyCatalog().getSnapshot().getGeneration();
+    }
+
+    /*
+     * 🐱method icon : String
+     * 🐱param reference: String
+     *
+     *  Returns the icon identified by the reference, if any.
+     *
+     */
+    public String icon(final String reference) {
+        return catalog.getIcons().get(reference);
     }
 }
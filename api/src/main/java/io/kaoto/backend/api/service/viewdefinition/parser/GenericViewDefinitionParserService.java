@@ -31,7 +31,7 @@ public class GenericViewDefinitionParserService
     public List<ViewDefinition> parse(final List<Step> steps) {
         List<ViewDefinition> viewDefinitions = new ArrayList<>();
 
-        for (var v : catalog.getReadOnlyCatalog().getAll()) {
+        for (var v : catalog.getReadOnlyCatalog().getSnapshot().getAll()) {
             if (appliesTo(steps, v)) {
                 if (v.getType().equalsIgnoreCase("generic")) {
                     viewDefinitions.add(new ViewDefinition(v));
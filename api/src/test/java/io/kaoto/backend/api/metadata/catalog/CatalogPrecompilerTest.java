@@ -0,0 +1,46 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
+import io.kaoto.backend.metadata.parser.step.kamelet.KameletParseCatalog;
+import io.kaoto.backend.model.step.Step;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class CatalogPrecompilerTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    void precompileBundledSources() throws Exception {
+        final var configuration = output.resolve("application.yaml");
+        Files.writeString(configuration, """
+                "%prod":
+                  repository:
+                    step:
+                      jar:
+                        - url: "resource://camel-kamelets-3.20.6.jar"
+                          kind: "Kamelet"
+                        - url: "https://example.com/remote.zip"
+                """);
+
+        CatalogPrecompiler.main(new String[]{output.toString(), "1.0", configuration.toString(), "%prod"});
+
+        final var folder = output.resolve(StepCatalog.PRECOMPILED);
+        final var index = Files.readAllLines(folder.resolve(StepCatalog.INDEX));
+        Assertions.assertEquals(1, index.size());
+        Assertions.assertTrue(index.get(0).startsWith("resource://camel-kamelets-3.20.6.jar"));
+
+        //The same parser at runtime finds what was precompiled
+        final var parser = new KameletParseCatalog().getParser("resource://camel-kamelets-3.20.6.jar");
+        final var store = new CatalogSnapshotStore<>(folder, Step.class, "1.0");
+        final var steps = store.load(parser.fingerprint());
+        Assertions.assertTrue(steps.isPresent());
+        Assertions.assertFalse(steps.get().isEmpty());
+        Assertions.assertTrue(steps.get().stream().allMatch(step -> step.getId() != null));
+    }
+}
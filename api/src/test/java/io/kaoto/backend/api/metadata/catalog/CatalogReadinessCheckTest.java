@@ -0,0 +1,52 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.core.Is.is;
+
+@QuarkusTest
+class CatalogReadinessCheckTest {
+
+    private StepCatalog catalog;
+
+    private MeterRegistry registry;
+
+    @Inject
+    public void setStepCatalog(final StepCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Inject
+    public void setRegistry(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Test
+    void readyOnceWarmedUp() {
+        catalog.waitForWarmUp().join();
+        given()
+                .when()
+                .get("/q/health/ready")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("status", is("UP"))
+                .body("checks[0].data.step", is("ready"));
+    }
+
+    @Test
+    void warmUpIsMeasured() {
+        catalog.waitForWarmUp().join();
+        Assertions.assertFalse(registry.find("kaoto.catalog.source.load").tag("catalog", "step").timers().isEmpty());
+        Assertions.assertFalse(registry.find("kaoto.catalog.file.parse").tag("catalog", "step").timers().isEmpty());
+        final var kamelets = registry.find("kaoto.catalog.elements")
+                .tags("catalog", "step", "kind", "Kamelet").gauge();
+        Assertions.assertNotNull(kamelets);
+        Assertions.assertTrue(kamelets.value() > 0);
+    }
+}
@@ -45,7 +45,7 @@ public class CatalogSanityChecks {
 
     @Test
     void parameterTitleTest() {
-        final Collection<Step> allSteps = stepResource.all(null, null, null, null, null, null, null);
+        final Collection<Step> allSteps = stepResource.all(null, null, null, null, null, null, null, null);
         SoftAssertions sa = new SoftAssertions();
         for (Step step : allSteps) {
             for (Parameter<?> parameter : step.getParameters()) {
@@ -67,7 +67,7 @@ public class CatalogSanityChecks {
     @Test
     void stepTitleTest() {
         final Set<String> ignoredNames = Set.of("gRPC");
-        final Collection<Step> allSteps = stepResource.all(null, null, null, null, null, null, null);
+        final Collection<Step> allSteps = stepResource.all(null, null, null, null, null, null, null, null);
         SoftAssertions sa = new SoftAssertions();
         for (Step step : allSteps) {
             if (ignoredNames.contains(step.getTitle())) {
@@ -0,0 +1,61 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import io.kaoto.backend.model.step.Step;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.inject.Inject;
+
+@QuarkusTest
+class StepCatalogRefreshTest {
+
+    private StepCatalog catalog;
+
+    @Inject
+    public void setStepCatalog(final StepCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @BeforeEach
+    void ensureCatalog() {
+        catalog.waitForWarmUp().join();
+    }
+
+    @Test
+    void refreshOnlyWhatChanged() {
+        final var first = catalog.reload().join();
+        Assertions.assertNotNull(first);
+        Assertions.assertTrue(first.sources() > 0);
+        Assertions.assertSame(first, catalog.getLastRefresh());
+        final var size = catalog.getReadOnlyCatalog().getSnapshot().size();
+        final var generation = catalog.getReadOnlyCatalog().getSnapshot().getGeneration();
+
+        //Nothing changed on the sources that can tell
+        final var second = catalog.reload().join();
+        Assertions.assertEquals(first.sources(), second.sources());
+        Assertions.assertTrue(second.parsedSources() < second.sources());
+        Assertions.assertEquals(0, second.added());
+        Assertions.assertEquals(0, second.updated());
+        Assertions.assertEquals(0, second.removed());
+        Assertions.assertEquals(size, catalog.getReadOnlyCatalog().getSnapshot().size());
+        //Nothing to publish, so whatever was cached for this generation is still valid
+        Assertions.assertEquals(generation, catalog.getReadOnlyCatalog().getSnapshot().getGeneration());
+    }
+
+    @Test
+    void precompiledStepsLoadDetailsOnDemand() {
+        //Connectors are restored from the precompiled catalog
+        final var connectors = catalog.getReadOnlyCatalog().getSnapshot().getAll().stream()
+                .filter(step -> "Camel-Connector".equalsIgnoreCase(step.getKind()))
+                .toList();
+        Assertions.assertFalse(connectors.isEmpty());
+        Assertions.assertTrue(connectors.stream().allMatch(Step::isSummary));
+
+        final var connector = connectors.stream()
+                .filter(step -> !step.getParameterTitles().isEmpty())
+                .findAny().orElseThrow();
+        Assertions.assertEquals(connector.getParameterTitles().size(), connector.getParameters().size());
+    }
+}
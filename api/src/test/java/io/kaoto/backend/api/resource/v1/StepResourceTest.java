@@ -1,10 +1,14 @@
 package io.kaoto.backend.api.resource.v1;
 
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.dsl.camelroute.CamelRouteDSLSpecification;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -12,6 +16,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
 import java.util.Collection;
 import java.util.List;
 
@@ -55,41 +60,80 @@ class StepResourceTest {
         }
     }
 
+    @Test
+    void placementRules() {
+        final var verb = "camel-rest-verb-get";
+        Assumptions.assumeTrue(stepResource.stepById(verb) != null);
+
+        //After a verb comes the endpoint that consumes, as the last step
+        final var afterVerb = stepResource.all("Camel Route", null, null, null, null, verb, null, null);
+        Assertions.assertFalse(afterVerb.isEmpty());
+        Assertions.assertTrue(afterVerb.stream().allMatch(step -> "CAMEL-REST-ENDPOINT".equals(step.getKind())));
+        Assertions.assertTrue(stepResource.all("Camel Route", null, null, null, null, verb, verb, null).isEmpty());
+
+        //Same steps the rules would keep checking them one by one
+        final var previous = stepResource.stepById(INFINISPAN_SOURCE + "-START");
+        final var expected = CamelRouteDSLSpecification.PLACEMENT.filter(previous, null,
+                stepResource.all("Camel Route", null, null, null, null, null, null, null).stream()).toList();
+        Assertions.assertEquals(expected,
+                stepResource.all("Camel Route", null, null, null, null, previous.getId(), null, null));
+        Assertions.assertTrue(expected.stream().noneMatch(step -> step.getKind().startsWith("CAMEL-REST")));
+    }
+
+    @Test
+    void search() {
+        final var steps = stepResource.search("infinispan", "KameletBinding", Step.START, null, null);
+        Assertions.assertFalse(steps.isEmpty());
+        Assertions.assertEquals(INFINISPAN_SOURCE + "-START", steps.get(0).getId());
+        Assertions.assertTrue(steps.stream().allMatch(step -> Step.START.equals(step.getType())));
+
+        RestAssured.given()
+                .queryParam("q", "infin sourc")
+                .queryParam("limit", 1)
+                .get("/search")
+                .then()
+                .statusCode(200)
+                .body("size()", Matchers.is(1))
+                .body("[0].id", Matchers.is(INFINISPAN_SOURCE + "-START"))
+                .body("[0].parameters", Matchers.nullValue());
+    }
+
     @Test
     @Timeout(100)
     void speedKamelet() {
-        stepResource.all("KameletBinding", null, null, null, null, null, null);
+        stepResource.all("KameletBinding", null, null, null, null, null, null, null);
     }
 
     @Test
     @Timeout(100)
     void speedKameletAndBinding() {
-        stepResource.all("KameletBinding,Kamelet", null, null, null, null, null, null);
+        stepResource.all("KameletBinding,Kamelet", null, null, null, null, null, null, null);
     }
     @Test
     @Timeout(100)
     void speedKameletAndBindingEnd() {
-        stepResource.all("KameletBinding,Kamelet", Step.END, null, null, null, null, null);
+        stepResource.all("KameletBinding,Kamelet", Step.END, null, null, null, null, null, null);
     }
     @Test
     @Timeout(100)
     void speedKameletBindingMiddle() {
-        stepResource.all("KameletBinding", Step.MIDDLE, null, null, null, null, null);
+        stepResource.all("KameletBinding", Step.MIDDLE, null, null, null, null, null, null);
     }
 
     @ParameterizedTest
     @ValueSource(longs = {10l, 25l, 42l})
     @Timeout(100)
     void limitAndStart(long limitParameter) {
-        Assertions.assertTrue(stepResource.all(null, null, null, null, null, null, null).size() > limitParameter);
-        List<Step> limit = stepResource.all(null, null, null, limitParameter, null, null, null).stream().toList();
+        Assertions.assertTrue(stepResource.all(null, null, null, null, null, null, null, null).size() > limitParameter);
+        List<Step> limit = stepResource.all(null, null, null, limitParameter, null, null, null, null).stream().toList();
         Assertions.assertEquals(limitParameter, limit.size());
 
         Long[] startParameters = new Long[]{0l, 3l, 5l};
 
         for (Long startParameter : startParameters) {
             List<Step> start =
-                    stepResource.all(null, null, null, limitParameter, startParameter, null, null).stream().toList();
+                    stepResource.all(null, null, null, limitParameter, startParameter, null, null, null)
+                            .stream().toList();
             Assertions.assertEquals(limitParameter, start.size());
 
             for (int i = 0; i < startParameter; i++) {
@@ -100,7 +144,7 @@ class StepResourceTest {
 
     @Test
     void allSteps() {
-        Collection<Step> steps = stepResource.all(null, null, null, null, null, null, null);
+        Collection<Step> steps = stepResource.all(null, null, null, null, null, null, null, null);
         Assertions.assertNotNull(steps);
         Assertions.assertEquals(
                 catalog.getReadOnlyCatalog().getAll().size(),
@@ -109,28 +153,99 @@ class StepResourceTest {
         var integrationType = "KameletBinding";
         Assertions.assertNotNull(steps);
         Assertions.assertTrue(
-                stepResource.all(null, integrationType, null, null, null, null, null)
+                stepResource.all(null, integrationType, null, null, null, null, null, null)
                         .stream().allMatch(s ->
                                 integrationType.equalsIgnoreCase(s.getType())));
 
         var kind = "Kamelet";
         Assertions.assertNotNull(steps);
         Assertions.assertTrue(
-                stepResource.all(null, null, kind, null, null, null, null)
+                stepResource.all(null, null, kind, null, null, null, null, null)
                         .stream().allMatch(s ->
                                 kind.equalsIgnoreCase(s.getKind())));
         var type = Step.START;
         Assertions.assertNotNull(steps);
         Assertions.assertTrue(
-                stepResource.all(type, null, null, null, null, null, null)
+                stepResource.all(type, null, null, null, null, null, null, null)
                         .stream().allMatch(s ->
                                 type.equalsIgnoreCase(s.getType())));
 
         Assertions.assertNotNull(steps);
         Assertions.assertTrue(
-                stepResource.all(type, integrationType, kind, null, null, null, null)
+                stepResource.all(type, integrationType, kind, null, null, null, null, null)
                         .stream().allMatch(s ->
                                 type.equalsIgnoreCase(s.getType())
                                 && kind.equalsIgnoreCase(s.getKind())));
     }
+
+    @Test
+    void cachedResponses() {
+        final var etag = RestAssured.given()
+                .queryParam("kind", "Kamelet")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .get()
+                .then()
+                .statusCode(200)
+                .header(HttpHeaders.ETAG, Matchers.notNullValue())
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body("size()", Matchers.greaterThan(0))
+                .extract().header(HttpHeaders.ETAG);
+
+        //Same query, no matter the order or case of the values
+        RestAssured.given()
+                .queryParam("kind", "KAMELET,kamelet")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .get()
+                .then()
+                .statusCode(304);
+
+        //Different content, different tag
+        RestAssured.given()
+                .queryParam("kind", "Kamelet")
+                .queryParam("limit", 1)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .get()
+                .then()
+                .statusCode(200)
+                .header(HttpHeaders.ETAG, Matchers.not(etag))
+                .body("size()", Matchers.is(1));
+    }
+
+    @Test
+    void icons() {
+        final var step = stepResource.stepById(INFINISPAN_SOURCE + "-START");
+        Assertions.assertNotNull(step.getIcon());
+        Assertions.assertNotNull(step.getIconReference());
+        Assertions.assertSame(step.getIcon(), catalog.getIcons().get(step.getIconReference()));
+
+        //Summaries carry only the reference
+        RestAssured.given()
+                .queryParam("kind", "Kamelet")
+                .get()
+                .then()
+                .statusCode(200)
+                .body("[0].iconReference", Matchers.notNullValue())
+                .body("[0]", Matchers.not(Matchers.hasKey("icon")));
+
+        RestAssured.given()
+                .get("/icons/{reference}", step.getIconReference())
+                .then()
+                .statusCode(200)
+                .contentType(Matchers.startsWith("image/"))
+                .header(HttpHeaders.CACHE_CONTROL, Matchers.containsString("immutable"));
+
+        RestAssured.given()
+                .get("/icons/{reference}", "non-existent")
+                .then()
+                .statusCode(404);
+
+        //Only the icons of the steps on the catalog are kept
+        catalog.reload().join();
+        final var references = catalog.getReadOnlyCatalog().getSnapshot().getAll().stream()
+                .map(Step::getIconReference)
+                .filter(reference -> reference != null)
+                .distinct()
+                .count();
+        Assertions.assertEquals(references, catalog.getIcons().size());
+    }
 }
@@ -1,5 +1,7 @@
 package io.kaoto.backend.api.resource.v2;
 
+import io.kaoto.backend.api.resource.model.FlowsDelta;
+import io.kaoto.backend.api.resource.model.FlowsPatch;
 import io.kaoto.backend.api.resource.model.FlowsWrapper;
 import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter;
 import io.kaoto.backend.model.deployment.kamelet.KameletBinding;
@@ -549,4 +551,68 @@ class IntegrationsResourceTest {
         }
     }
 
+    @Test
+    void delta() throws IOException {
+        var route = new String(this.getClass().getResourceAsStream("../../resource/route-multi.yaml").readAllBytes(),
+                StandardCharsets.UTF_8);
+        var flows = given()
+                .when()
+                .contentType("text/yaml")
+                .body(route)
+                .post("?dsl=Camel Route")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().body().as(FlowsWrapper.class);
+        assertEquals(3, flows.flows().size());
+
+        //First time, all flows are sent and generated
+        var first = delta(new FlowsPatch(null, "Camel Route",
+                flows.flows().stream().map(flow -> new FlowsPatch.FlowPatch(null, flow)).toList(),
+                flows.metadata()));
+        assertThat(first.crd()).isEqualToNormalizingNewlines(route);
+        assertEquals(List.of(0, 1, 2), first.regenerated());
+
+        //Nothing changed, nothing generated
+        var same = delta(new FlowsPatch(first.version(), null, List.of(new FlowsPatch.FlowPatch(0, null),
+                new FlowsPatch.FlowPatch(1, null), new FlowsPatch.FlowPatch(2, null)), null));
+        assertEquals(first.crd(), same.crd());
+        assertEquals(List.of(), same.regenerated());
+
+        //Only the flow changed is generated, the rest are reused even if moved
+        var changed = flows.flows().get(1);
+        changed.getMetadata().put("description", "Changed flow");
+        var patched = delta(new FlowsPatch(same.version(), null, List.of(new FlowsPatch.FlowPatch(2, null),
+                new FlowsPatch.FlowPatch(null, changed), new FlowsPatch.FlowPatch(0, null)), null));
+        assertEquals(List.of(1), patched.regenerated());
+        var expected = given()
+                .when()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new FlowsWrapper(List.of(flows.flows().get(2), changed, flows.flows().get(0)),
+                        flows.metadata(), Map.of()))
+                .post()
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().body().asString();
+        assertEquals(expected, patched.crd());
+
+        //Unknown versions have to send everything again
+        given()
+                .when()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new FlowsPatch("unknown", null, List.of(new FlowsPatch.FlowPatch(0, null)), null))
+                .post("/delta")
+                .then()
+                .statusCode(Response.Status.CONFLICT.getStatusCode());
+    }
+
+    private FlowsDelta delta(final FlowsPatch patch) {
+        return given()
+                .when()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(patch)
+                .post("/delta")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().body().as(FlowsDelta.class);
+    }
 }
@@ -5,12 +5,20 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.api.metadata.catalog.ViewDefinitionCatalog;
 import io.kaoto.backend.api.resource.v1.model.Integration;
+import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.dsl.DSLSpecification;
+import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.api.service.step.parser.kamelet.KameletBindingStepParserService;
 import io.kaoto.backend.api.service.viewdefinition.ViewDefinitionService;
+import io.kaoto.backend.model.deployment.Deployment;
 import io.kaoto.backend.model.deployment.kamelet.KameletBinding;
+import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.test.junit.QuarkusTest;
 
@@ -21,13 +29,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.util.TypeLiteral;
 import jakarta.inject.Inject;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -212,4 +229,220 @@ class DeploymentServiceTest {
         var yaml2 = deploymentService.crd(parsed, "Camel Route");
         assertThat(yaml).isEqualToNormalizingNewlines(yaml2);
     }
+
+    @Test
+    void streamCrdsFallsBackWhenTheGeneratorFails() throws IOException {
+        final var service = new DeploymentService();
+        service.setParsers(new Parsers(new FakeDSL("Broken", new FakeGenerator(true, false)),
+                new FakeDSL("Working", new FakeGenerator(false, false))));
+        final var flows = List.of(flow("Broken", "Working"));
+
+        assertEquals("whole document", service.crds(flows, null));
+        final var output = new ByteArrayOutputStream();
+        service.streamCrds(flows, null).write(output);
+        assertEquals("whole document", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamCrdsFailsBeforeStreamingTheFirstFlow() throws IOException {
+        final var service = new DeploymentService();
+        service.setParsers(new Parsers(new FakeDSL("Broken", new FakeGenerator(true, true))));
+        final var flows = List.of(flow("Broken", "Broken"), flow("Broken", "Broken"));
+
+        Assertions.assertNull(service.crds(flows, null));
+        Assertions.assertNull(service.streamCrds(flows, null));
+
+        service.setParsers(new Parsers(new FakeDSL("Broken", new FakeGenerator(true, true)),
+                new FakeDSL("Working", new FakeGenerator(false, true))));
+        final var working = List.of(flow("Broken", "Working"), flow("Broken", "Working"));
+        final var output = new ByteArrayOutputStream();
+        service.streamCrds(working, null).write(output);
+        assertEquals("flow\nflow\n", output.toString(StandardCharsets.UTF_8));
+    }
+
+    private static Integration flow(final String dsl, final String kind) {
+        final var step = new Step();
+        step.setKind(kind);
+        final var integration = new Integration();
+        integration.setDsl(dsl);
+        integration.setSteps(List.of(step));
+        return integration;
+    }
+
+    //Only what the deployment service looks up of a DSL
+    private static class FakeDSL extends DSLSpecification {
+        private final String identifier;
+        private final DeploymentGeneratorService generator;
+
+        FakeDSL(final String identifier, final DeploymentGeneratorService generator) {
+            this.identifier = identifier;
+            this.generator = generator;
+        }
+
+        @Override
+        public String identifier() {
+            return identifier;
+        }
+
+        @Override
+        public String description() {
+            return identifier;
+        }
+
+        @Override
+        public String validationSchema() {
+            return "";
+        }
+
+        @Override
+        public boolean isDeployable() {
+            return false;
+        }
+
+        @Override
+        public Collection<String> getKinds() {
+            return List.of(identifier);
+        }
+
+        @Override
+        public DeploymentGeneratorService getDeploymentGeneratorService() {
+            return generator;
+        }
+
+        @Override
+        public StepParserService getStepParserService() {
+            return null;
+        }
+
+        @Override
+        public Boolean doesSupportMultipleFlows() {
+            return true;
+        }
+
+        @Override
+        public Map<String, String> getVocabulary() {
+            return Map.of();
+        }
+    }
+
+    //Generates the whole document, or each flow on its own, or throws
+    private record FakeGenerator(boolean fails, boolean eachFlow) implements DeploymentGeneratorService {
+
+        @Override
+        public String parse(final List<Step> steps, final Map<String, Object> metadata,
+                            final List<Parameter> parameters) {
+            return parse(List.of());
+        }
+
+        @Override
+        public String parse(final List<StepParserService.ParseResult<Step>> flows) {
+            if (fails) {
+                throw new IllegalStateException("Can't generate this.");
+            }
+            return eachFlow ? "flow\n".repeat(flows.size()) : "whole document";
+        }
+
+        @Override
+        public String parseFlow(final StepParserService.ParseResult<Step> flow) {
+            if (!eachFlow) {
+                return null;
+            }
+            if (fails) {
+                throw new IllegalStateException("Can't generate this flow.");
+            }
+            return "flow\n";
+        }
+
+        @Override
+        public CustomResource parse(final String input) {
+            return null;
+        }
+
+        @Override
+        public Status getStatus(final CustomResource cr) {
+            return Status.Invalid;
+        }
+
+        @Override
+        public List<Class<? extends CustomResource>> supportedCustomResources() {
+            return List.of();
+        }
+
+        @Override
+        public Collection<? extends Deployment> getResources(final String namespace, final KubernetesClient kclient) {
+            return List.of();
+        }
+
+        @Override
+        public Pod getPod(final String namespace, final String name, final KubernetesClient kclient) {
+            return null;
+        }
+
+        @Override
+        public Stream<Step> filterCatalog(final Step previousStep, final Step followingStep,
+                                          final Stream<Step> steps) {
+            return steps;
+        }
+    }
+
+    //The DSLs, in order, without looking them up on the container
+    static class Parsers implements Instance<DSLSpecification> {
+        private final List<DSLSpecification> dsls;
+
+        Parsers(final DSLSpecification... dsls) {
+            this.dsls = List.of(dsls);
+        }
+
+        @Override
+        public Iterator<DSLSpecification> iterator() {
+            return dsls.iterator();
+        }
+
+        @Override
+        public DSLSpecification get() {
+            return dsls.get(0);
+        }
+
+        @Override
+        public Instance<DSLSpecification> select(final Annotation... qualifiers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <U extends DSLSpecification> Instance<U> select(final Class<U> subtype,
+                                                               final Annotation... qualifiers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <U extends DSLSpecification> Instance<U> select(final TypeLiteral<U> subtype,
+                                                               final Annotation... qualifiers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isUnsatisfied() {
+            return dsls.isEmpty();
+        }
+
+        @Override
+        public boolean isAmbiguous() {
+            return dsls.size() > 1;
+        }
+
+        @Override
+        public void destroy(final DSLSpecification instance) {
+            //Nothing to destroy
+        }
+
+        @Override
+        public Handle<DSLSpecification> getHandle() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterable<? extends Handle<DSLSpecification>> handles() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
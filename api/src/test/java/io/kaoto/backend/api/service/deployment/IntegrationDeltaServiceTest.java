@@ -0,0 +1,96 @@
+package io.kaoto.backend.api.service.deployment;
+
+import io.kaoto.backend.api.resource.model.FlowsPatch;
+import io.kaoto.backend.api.resource.v1.model.Integration;
+import io.kaoto.backend.api.service.step.StepService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class IntegrationDeltaServiceTest {
+
+    private final List<List<Integration>> generated = new ArrayList<>();
+    private final List<String> dsls = new ArrayList<>();
+    private IntegrationDeltaService service;
+
+    @BeforeEach
+    void setup() {
+        service = new IntegrationDeltaService();
+        service.setStepService(new StepService() {
+            @Override
+            public long catalogGeneration() {
+                return 0;
+            }
+        });
+        final var deploymentService = new DeploymentService() {
+            @Override
+            public String crds(final List<Integration> integrationList, final Map<String, Object> metadata,
+                               final String dsl) {
+                generated.add(integrationList);
+                dsls.add(dsl);
+                return "unknown".equals(dsl) ? null : "crd";
+            }
+        };
+        //No DSL generates flows on their own, so the whole document is always generated
+        deploymentService.setParsers(new DeploymentServiceTest.Parsers());
+        service.setDeploymentService(deploymentService);
+    }
+
+    @Test
+    void forgetsVersionsByWeight() {
+        //Flows without steps nor source code only weigh the overhead of the version, two of them fit
+        service.setMaxBytes(600);
+        final var first = service.crds(patch(null, new FlowsPatch.FlowPatch(null, flow("a"))));
+        service.crds(patch(null, new FlowsPatch.FlowPatch(null, flow("b"))));
+        final var third = service.crds(patch(null, new FlowsPatch.FlowPatch(null, flow("c"))));
+
+        Assertions.assertEquals("crd", service.crds(patch(third.version(), base(0))).crd());
+        Assertions.assertThrows(IntegrationDeltaService.UnknownVersionException.class,
+                () -> service.crds(patch(first.version(), base(0))));
+    }
+
+    @Test
+    void onlyNewFlowsAreRenamed() {
+        service.setMaxBytes(1024);
+        final var first = service.crds(patch(null, new FlowsPatch.FlowPatch(null, flow("a"))));
+        service.crds(patch(first.version(), base(0), new FlowsPatch.FlowPatch(null, flow("a"))));
+
+        final var flows = generated.get(1);
+        Assertions.assertEquals("a", flows.get(0).getMetadata().get("name"));
+        Assertions.assertNotEquals("a", flows.get(1).getMetadata().get("name"));
+    }
+
+    @Test
+    void generatesWithTheDslOfTheBase() {
+        service.setMaxBytes(1024);
+        final var first = service.crds(new FlowsPatch(null, "Camel Route",
+                List.of(new FlowsPatch.FlowPatch(null, flow("a"))), null));
+        service.crds(patch(first.version(), base(0)));
+
+        Assertions.assertEquals(List.of("Camel Route", "Camel Route"), dsls);
+    }
+
+    @Test
+    void failsIfNoDslCanGenerateTheFlows() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.crds(new FlowsPatch(null, "unknown",
+                List.of(new FlowsPatch.FlowPatch(null, flow("a"))), null)));
+    }
+
+    private static FlowsPatch patch(final String version, final FlowsPatch.FlowPatch... flows) {
+        return new FlowsPatch(version, null, List.of(flows), null);
+    }
+
+    private static FlowsPatch.FlowPatch base(final int index) {
+        return new FlowsPatch.FlowPatch(index, null);
+    }
+
+    private static Integration flow(final String name) {
+        final var integration = new Integration();
+        integration.setMetadata(Map.of("name", name));
+        return integration;
+    }
+}
@@ -0,0 +1,123 @@
+package io.kaoto.backend.api.service.deployment;
+
+import io.kaoto.backend.api.service.step.StepService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class IntegrationResultCacheTest {
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger built = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private IntegrationResultCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new IntegrationResultCache();
+        cache.setMaxBytes(1024);
+        cache.setRegistry(registry);
+        cache.setStepService(new StepService() {
+            @Override
+            public long catalogGeneration() {
+                return generation.get();
+            }
+        });
+    }
+
+    @Test
+    void hitsWhileTheCatalogDoesNotChange() {
+        Assertions.assertEquals("a", get("a"));
+        Assertions.assertEquals("a", get("a"));
+        Assertions.assertEquals(1, built.get());
+        Assertions.assertEquals(1, requests("hit"));
+        Assertions.assertEquals(1, requests("miss"));
+
+        //Same content, other catalog
+        generation.incrementAndGet();
+        Assertions.assertEquals("a", get("a"));
+        Assertions.assertEquals(2, built.get());
+        Assertions.assertEquals(1, evictions("catalog"));
+        Assertions.assertEquals(2, requests("miss"));
+
+        //Empty results are not kept
+        Assertions.assertNull(cache.get("crds", bytes("b"), () -> null));
+        Assertions.assertNull(cache.get("crds", bytes("b"), () -> null));
+        Assertions.assertEquals(4, requests("miss"));
+    }
+
+    @Test
+    void evictsByWeight() {
+        //Each entry weighs a bit less than 300 bytes, only three fit
+        for (int i = 0; i < 4; i++) {
+            get("x".repeat(100) + i);
+        }
+        Assertions.assertEquals(1, evictions("size"));
+        Assertions.assertTrue(registry.get("kaoto.integrations.cache.bytes").gauge().value() <= 1024);
+
+        //The eldest was evicted, the rest are still there
+        get("x".repeat(100) + 3);
+        Assertions.assertEquals(4, built.get());
+        get("x".repeat(100) + 0);
+        Assertions.assertEquals(5, built.get());
+
+        //Too big to be kept at all
+        final var big = "y".repeat(2048);
+        get(big);
+        get(big);
+        Assertions.assertEquals(7, built.get());
+    }
+
+    @Test
+    void recordsWhileStreaming() throws IOException {
+        Assertions.assertNull(cache.getIfPresent("crds", bytes("a")));
+
+        final var output = new ByteArrayOutputStream();
+        final var recording = cache.record("crds", bytes("a"), output);
+        recording.write(bytes("- from:\n"));
+        recording.write('-');
+        recording.finish();
+        Assertions.assertEquals("- from:\n-", output.toString(StandardCharsets.UTF_8));
+        Assertions.assertArrayEquals(output.toByteArray(), cache.getIfPresent("crds", bytes("a")));
+        Assertions.assertEquals(1, requests("hit"));
+
+        //Unfinished results are not kept
+        cache.record("crds", bytes("b"), new ByteArrayOutputStream()).write(bytes("- from:"));
+        Assertions.assertNull(cache.getIfPresent("crds", bytes("b")));
+
+        //Too big results are still written, but not kept
+        final var big = new ByteArrayOutputStream();
+        final var tooBig = cache.record("crds", bytes("c"), big);
+        tooBig.write(bytes("y".repeat(2048)));
+        tooBig.finish();
+        Assertions.assertEquals(2048, big.size());
+        Assertions.assertNull(cache.getIfPresent("crds", bytes("c")));
+    }
+
+    private String get(final String content) {
+        final var res = cache.get("crds", bytes(content), () -> {
+            built.incrementAndGet();
+            return bytes(content);
+        });
+        return new String(res, StandardCharsets.UTF_8);
+    }
+
+    private double requests(final String result) {
+        return registry.get("kaoto.integrations.cache.requests").tag("result", result).counter().count();
+    }
+
+    private double evictions(final String cause) {
+        return registry.get("kaoto.integrations.cache.evictions").tag("cause", cause).counter().count();
+    }
+
+    private static byte[] bytes(final String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -5,16 +5,17 @@ import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.deployment.generator.kamelet.YamlEmitter;
 import io.kaoto.backend.api.service.dsl.camelroute.CamelRouteDSLSpecification;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.deployment.Deployment;
 import io.kaoto.backend.model.deployment.camelroute.CamelRoute;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.nodes.Tag;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -30,6 +31,11 @@ import java.util.stream.Stream;
 @ApplicationScoped
 public class CamelRouteDeploymentGeneratorService implements DeploymentGeneratorService {
 
+    static final YamlEmitter EMITTER = new YamlEmitter(CamelRouteRepresenter.representations());
+
+    @ConfigProperty(name = YamlEmitter.DIRECT_EMITTER, defaultValue = "false")
+    private boolean directEmitter;
+
     private StepCatalog catalog;
 
     public CamelRouteDeploymentGeneratorService() {
@@ -40,23 +46,32 @@ public class CamelRouteDeploymentGeneratorService implements DeploymentGenerator
     public String parse(final List<Step> steps,
                         final Map<String, Object> metadata,
                         final List<Parameter> parameters) {
-        Yaml yaml = new Yaml(new Constructor(CamelRoute.class, new LoaderOptions()), new CamelRouteRepresenter());
-        return yaml.dumpAs(new CamelRoute(
-                        steps != null ? new LinkedList<>(steps) : List.of(),
-                        metadata != null ? new LinkedHashMap<>(metadata) : Map.of(),
-                        catalog),
-                Tag.SEQ,
-                DumperOptions.FlowStyle.BLOCK);
+        final var route = new CamelRoute(
+                steps != null ? new LinkedList<>(steps) : List.of(),
+                metadata != null ? new LinkedHashMap<>(metadata) : Map.of(),
+                catalog);
+        if (directEmitter) {
+            final var yaml = EMITTER.dump(route, Tag.SEQ);
+            if (yaml != null) {
+                return yaml;
+            }
+        }
+        Yaml yaml = Mappers.snakeYaml(CamelRoute.class, CamelRouteRepresenter.class, CamelRouteRepresenter::new);
+        return yaml.dumpAs(route, Tag.SEQ, DumperOptions.FlowStyle.BLOCK);
     }
 
     @Override
     public String parse(List<StepParserService.ParseResult<Step>> flows) {
         StringBuilder sb = new StringBuilder();
-        flows.stream().forEachOrdered(stepParseResult -> sb.append(parse(stepParseResult.getSteps(),
-                stepParseResult.getMetadata(), stepParseResult.getParameters())));
+        flows.stream().forEachOrdered(stepParseResult -> sb.append(parseFlow(stepParseResult)));
         return sb.toString();
     }
 
+    @Override
+    public String parseFlow(final StepParserService.ParseResult<Step> flow) {
+        return parse(flow.getSteps(), flow.getMetadata(), flow.getParameters());
+    }
+
     @Override
     public CustomResource parse(final String input) {
         //We are not handling deployments here
@@ -90,54 +105,15 @@ public class CamelRouteDeploymentGeneratorService implements DeploymentGenerator
 
     @Override
     public Stream<Step> filterCatalog(Step previousStep, Step followingStep, Stream<Step> steps) {
-
-        if (previousStep != null) {
-            switch (previousStep.getKind().toUpperCase()) {
-                case CamelRouteDSLSpecification.CAMEL_REST_DSL:
-                    //After the "rest" element, comes a http verb
-                    if (followingStep != null) {
-                        steps = Stream.empty();
-                    } else {
-                        steps = steps.filter(s ->
-                                s.getKind().equalsIgnoreCase(CamelRouteDSLSpecification.CAMEL_REST_VERB));
-                    }
-                    steps = steps.filter(s -> s.getKind().equalsIgnoreCase(CamelRouteDSLSpecification.CAMEL_REST_VERB));
-                    break;
-                case CamelRouteDSLSpecification.CAMEL_REST_VERB:
-                    //After a verb comes the configuration that consumes
-                    if (followingStep != null) {
-                        steps = Stream.empty();
-                    } else {
-                        steps = steps.filter(s -> s.getKind().equalsIgnoreCase(
-                                        CamelRouteDSLSpecification.CAMEL_REST_ENDPOINT));
-                    }
-                    break;
-                case CamelRouteDSLSpecification.CAMEL_REST_ENDPOINT:
-                    //We expect only one step, so if followingStep is not null, return empty
-                    if (followingStep != null) {
-                        steps = Stream.empty();
-                    } else {
-                        steps = steps.filter(s ->
-                                        !s.getKind().equalsIgnoreCase(CamelRouteDSLSpecification.CAMEL_REST_VERB)
-                                        && !s.getKind().equalsIgnoreCase(CamelRouteDSLSpecification.CAMEL_REST_ENDPOINT)
-                                        && !s.getKind().equalsIgnoreCase(CamelRouteDSLSpecification.CAMEL_REST_DSL));
-                        steps = steps.filter(s -> s.getType().equalsIgnoreCase("END"));
-                    }
-                    break;
-                default:
-                    //We are at the end of the integration, looking for a  normal camel flow
-                    steps = steps.filter(s ->
-                            !s.getKind().equalsIgnoreCase(CamelRouteDSLSpecification.CAMEL_REST_VERB)
-                            && !s.getKind().equalsIgnoreCase(CamelRouteDSLSpecification.CAMEL_REST_ENDPOINT)
-                            && !s.getKind().equalsIgnoreCase(CamelRouteDSLSpecification.CAMEL_REST_DSL));
-                    break;
-            }
-        }
-        return steps;
+        return CamelRouteDSLSpecification.PLACEMENT.filter(previousStep, followingStep, steps);
     }
 
     @Inject
     public void setCatalog(StepCatalog catalog) {
         this.catalog = catalog;
     }
+
+    public void setDirectEmitter(final boolean directEmitter) {
+        this.directEmitter = directEmitter;
+    }
 }
@@ -1,86 +1,55 @@
 package io.kaoto.backend.api.service.deployment.generator.camelroute;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kaoto.backend.model.deployment.camelroute.CamelRoute;
-import io.kaoto.backend.model.deployment.kamelet.Bean;
 import io.kaoto.backend.model.deployment.rest.HttpVerb;
 import io.kaoto.backend.model.deployment.rest.Rest;
 import io.kaoto.backend.model.deployment.rest.RestParameter;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.introspector.BeanAccess;
-import org.yaml.snakeyaml.nodes.Node;
-import org.yaml.snakeyaml.nodes.Tag;
 
 public class CamelRouteRepresenter extends IntegrationRepresenter {
 
+    private static final Map<Class<?>, Representation> REPRESENTATIONS = Collections.unmodifiableMap(camelRoute());
 
     public CamelRouteRepresenter() {
-        super();
+        super(representations());
         this.getPropertyUtils().setBeanAccess(BeanAccess.FIELD);
+    }
+
+    /*
+     * 🐱method representations: Map
+     *
+     * How each class of a Camel Route is represented, on the order they
+     * are checked.
+     */
+    public static Map<Class<?>, Representation> representations() {
+        return REPRESENTATIONS;
+    }
 
-        this.multiRepresenters.put(CamelRoute.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        CamelRoute route = (CamelRoute) data;
-                        List<Object> properties = new ArrayList<>();
-                        if (route.getFlows() != null) {
-                            properties.addAll(route.getFlows());
-                        }
-                        if (route.getBeans() != null) {
-                            Map<String, Object> beans = new LinkedHashMap<>();
-                            beans.put("beans", route.getBeans());
-                            properties.add(beans);
-                        }
-                        return representSequence(getTag(Object.class, Tag.SEQ),
-                                properties,
-                                DumperOptions.FlowStyle.BLOCK);
-                    }
-                });
-        this.multiRepresenters.put(Bean.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        ObjectMapper mapper = new ObjectMapper();
-                        Map<String, Object> properties = mapper.convertValue(data,
-                                new TypeReference<Map<String, Object>>() {});
-                        return representMapping(getTag(data.getClass(), Tag.MAP),
-                                properties,
-                                DumperOptions.FlowStyle.AUTO);
-                    }
-                });
-        this.multiRepresenters.put(Rest.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        return representMapping(getTag(data.getClass(), Tag.MAP),
-                                ((Rest) data).getRepresenterProperties(),
-                                DumperOptions.FlowStyle.AUTO);
-                    }
-                });
-        this.multiRepresenters.put(HttpVerb.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        return representMapping(getTag(data.getClass(), Tag.MAP),
-                                ((HttpVerb) data).getRepresenterProperties(),
-                                DumperOptions.FlowStyle.AUTO);
-                    }
-                });
-        this.multiRepresenters.put(RestParameter.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        return representMapping(getTag(data.getClass(), Tag.MAP),
-                                ((RestParameter) data).getRepresenterProperties(),
-                                DumperOptions.FlowStyle.AUTO);
-                    }
-                });
+    private static Map<Class<?>, Representation> camelRoute() {
+        Map<Class<?>, Representation> representations = new LinkedHashMap<>(IntegrationRepresenter.representations());
+        representations.put(CamelRoute.class, new Representation(data -> {
+            CamelRoute route = (CamelRoute) data;
+            List<Object> properties = new ArrayList<>();
+            if (route.getFlows() != null) {
+                properties.addAll(route.getFlows());
+            }
+            if (route.getBeans() != null) {
+                Map<String, Object> beans = new LinkedHashMap<>();
+                beans.put("beans", route.getBeans());
+                properties.add(beans);
+            }
+            return properties;
+        }, DumperOptions.FlowStyle.BLOCK));
+        representations.put(Rest.class, auto(data -> ((Rest) data).getRepresenterProperties()));
+        representations.put(HttpVerb.class, auto(data -> ((HttpVerb) data).getRepresenterProperties()));
+        representations.put(RestParameter.class, auto(data -> ((RestParameter) data).getRepresenterProperties()));
+        return representations;
     }
 }
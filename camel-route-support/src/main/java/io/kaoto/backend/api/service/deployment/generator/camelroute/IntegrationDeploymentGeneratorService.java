@@ -1,18 +1,18 @@
 package io.kaoto.backend.api.service.deployment.generator.camelroute;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletDeploymentGeneratorService;
+import io.kaoto.backend.api.service.deployment.generator.kamelet.YamlEmitter;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.api.service.step.parser.camelroute.IntegrationStepParserService;
 import io.kaoto.backend.model.deployment.Deployment;
 import io.kaoto.backend.model.deployment.camelroute.Integration;
 import io.kaoto.backend.model.deployment.camelroute.IntegrationFlow;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.api.trace.Span;
@@ -37,6 +37,7 @@ public class IntegrationDeploymentGeneratorService implements DeploymentGenerato
     private static final String EIP = "EIP";
     private static final String EIP_BRANCHES = "EIP-BRANCH";
     private static final List<String> KINDS = Arrays.asList(CAMEL_CONNECTOR, EIP, EIP_BRANCHES);
+    private static final YamlEmitter EMITTER = new YamlEmitter(IntegrationRepresenter.representations());
 
     private Logger log = Logger.getLogger(IntegrationDeploymentGeneratorService.class);
 
@@ -62,7 +63,7 @@ public class IntegrationDeploymentGeneratorService implements DeploymentGenerato
                         parsedList,
                         metadata != null ? new LinkedHashMap<>(metadata) : Map.of(),
                         catalog),
-                new IntegrationRepresenter());
+                EMITTER, IntegrationRepresenter.class, IntegrationRepresenter::new);
     }
 
     @Override
@@ -84,15 +85,14 @@ public class IntegrationDeploymentGeneratorService implements DeploymentGenerato
                         parsedList,
                         metadata != null ? new LinkedHashMap<>(metadata) : Map.of(),
                         catalog),
-                new IntegrationRepresenter());
+                EMITTER, IntegrationRepresenter.class, IntegrationRepresenter::new);
     }
 
     @Override
     public CustomResource parse(final String input) {
         if (stepParserService.appliesTo(input)) {
             try {
-                ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
-                return yamlMapper.readValue(input, Integration.class);
+                return Mappers.yamlReader(Integration.class).readValue(input);
             } catch (Exception e) {
                 log.trace("Tried creating an integration and it didn't work.");
             }
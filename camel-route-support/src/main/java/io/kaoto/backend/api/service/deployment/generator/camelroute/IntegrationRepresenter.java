@@ -1,93 +1,118 @@
 package io.kaoto.backend.api.service.deployment.generator.camelroute;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter;
-import io.kaoto.backend.model.deployment.kamelet.Bean;
 import io.kaoto.backend.model.deployment.kamelet.Flow;
 import io.kaoto.backend.model.deployment.camelroute.IntegrationSpec;
 import io.kaoto.backend.model.deployment.rest.Rest;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.quarkus.runtime.util.StringUtil;
-import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.nodes.Node;
-import org.yaml.snakeyaml.nodes.Tag;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class IntegrationRepresenter extends KameletRepresenter {
 
+    private static final String FLOWS = "flows";
+    //Properties that go before the flows, taken from the JSON property order of the spec
+    private static final Set<String> BEFORE_FLOWS = beforeFlows();
+    //Flows are represented on their own, converting them with the rest of the spec would be thrown away
+    private static final ObjectMapper SPEC_MAPPER = Mappers.json().copy()
+            .addMixIn(IntegrationSpec.class, WithoutFlows.class);
+
+    private static final Map<Class<?>, Representation> REPRESENTATIONS = Collections.unmodifiableMap(integration());
 
     public IntegrationRepresenter() {
-        super();
-        spec();
+        this(representations());
+    }
+
+    protected IntegrationRepresenter(final Map<Class<?>, Representation> representations) {
+        super(representations);
+    }
+
+    /*
+     * 🐱method representations: Map
+     *
+     * How each class of an Integration is represented, on the order they
+     * are checked.
+     */
+    public static Map<Class<?>, Representation> representations() {
+        return REPRESENTATIONS;
+    }
+
+    private static Map<Class<?>, Representation> integration() {
+        Map<Class<?>, Representation> representations = new LinkedHashMap<>(KameletRepresenter.representations());
+        representations.put(IntegrationSpec.class, auto(data -> specProperties((IntegrationSpec) data)));
+        representations.put(Flow.class, auto(data -> flowProperties((Flow) data)));
+        return representations;
+    }
+
+    private static Map<String, Object> specProperties(final IntegrationSpec spec) {
+        final var flows = spec.get_flows();
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (var property : SPEC_MAPPER.convertValue(spec, PROPERTIES).entrySet()) {
+            if (flows != null && !properties.containsKey(FLOWS) && !BEFORE_FLOWS.contains(property.getKey())) {
+                properties.put(FLOWS, flows);
+            }
+            properties.put(property.getKey(), property.getValue());
+        }
+        properties.putIfAbsent(FLOWS, flows);
+        return properties;
     }
 
-    private void spec() {
-        this.multiRepresenters.put(IntegrationSpec.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        ObjectMapper mapper = new ObjectMapper();
-                        Map<String, Object> properties = mapper.convertValue(data,
-                                new TypeReference<Map<String, Object>>() {});
-                        properties.put("flows", ((IntegrationSpec) data).get_flows());
-                        properties.remove("_flows");
-                        return representMapping(getTag(data.getClass(), Tag.MAP),
-                                properties,
-                                DumperOptions.FlowStyle.AUTO);
-                    }
-                });
-        this.multiRepresenters.put(Flow.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        Map<String, Object> properties = new LinkedHashMap<>();
-                        Flow flow = (Flow) data;
+    //Without flows on the order, Jackson writes them after all the ordered properties
+    private static Set<String> beforeFlows() {
+        final Set<String> res = new HashSet<>();
+        final var order = IntegrationSpec.class.getAnnotation(JsonPropertyOrder.class);
+        if (order != null) {
+            for (var property : order.value()) {
+                if (FLOWS.equals(property)) {
+                    break;
+                }
+                res.add(property);
+            }
+        }
+        return Collections.unmodifiableSet(res);
+    }
+
+    private static Map<String, Object> flowProperties(final Flow flow) {
+        Map<String, Object> properties = new LinkedHashMap<>();
 
-                        if (flow.getFrom() instanceof Rest) {
-                            properties.put("rest", flow.getFrom());
-                        } else if (flow.getBeans() != null) {
-                            properties.put("beans", flow.getBeans());
-                        } else {
-                            properties.put("from", flow.getFrom());
-                        }
+        if (flow.getFrom() instanceof Rest) {
+            properties.put("rest", flow.getFrom());
+        } else if (flow.getBeans() != null) {
+            properties.put("beans", flow.getBeans());
+        } else {
+            properties.put("from", flow.getFrom());
+        }
 
-                        if (!StringUtil.isNullOrEmpty(flow.getId())
-                                || !StringUtil.isNullOrEmpty(flow.getRouteConfigurationId())) {
-                            var routeProperties = new LinkedHashMap<String, Object>();
-                            //properties2 helps us maintain a good order
-                            var properties2 = new LinkedHashMap<String, Object>();
-                            if (flow.getId() != null) {
-                                properties2.put("id", flow.getId());
-                            }
-                            if (flow.getRouteConfigurationId() != null) {
-                                properties2.put("route-configuration-id", flow.getRouteConfigurationId());
-                            }
-                            if (flow.getDescription() != null) {
-                                properties2.put("description", flow.getDescription());
-                            }
-                            properties2.putAll(properties);
-                            routeProperties.put("route", properties2);
-                            properties = routeProperties;
-                        }
-                        return representMapping(getTag(data.getClass(), Tag.MAP),
-                                properties,
-                                DumperOptions.FlowStyle.AUTO);
-                    }
-                });
-        this.multiRepresenters.put(Bean.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        ObjectMapper mapper = new ObjectMapper();
-                        Map<String, Object> properties = mapper.convertValue(data,
-                                new TypeReference<Map<String, Object>>() {});
-                        return representMapping(getTag(data.getClass(), Tag.MAP),
-                                properties,
-                                DumperOptions.FlowStyle.AUTO);
-                    }
-                });
+        if (!StringUtil.isNullOrEmpty(flow.getId())
+                || !StringUtil.isNullOrEmpty(flow.getRouteConfigurationId())) {
+            var routeProperties = new LinkedHashMap<String, Object>();
+            //properties2 helps us maintain a good order
+            var properties2 = new LinkedHashMap<String, Object>();
+            if (flow.getId() != null) {
+                properties2.put("id", flow.getId());
+            }
+            if (flow.getRouteConfigurationId() != null) {
+                properties2.put("route-configuration-id", flow.getRouteConfigurationId());
+            }
+            if (flow.getDescription() != null) {
+                properties2.put("description", flow.getDescription());
+            }
+            properties2.putAll(properties);
+            routeProperties.put("route", properties2);
+            properties = routeProperties;
+        }
+        return properties;
     }
 
+    @JsonIgnoreProperties({FLOWS, "_flows"})
+    private abstract static class WithoutFlows {
+    }
 }
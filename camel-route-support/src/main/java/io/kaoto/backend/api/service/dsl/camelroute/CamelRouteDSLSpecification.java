@@ -3,8 +3,11 @@ package io.kaoto.backend.api.service.dsl.camelroute;
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
 import io.kaoto.backend.api.service.deployment.generator.camelroute.CamelRouteDeploymentGeneratorService;
 import io.kaoto.backend.api.service.dsl.DSLSpecification;
+import io.kaoto.backend.api.service.dsl.PlacementRules;
+import io.kaoto.backend.api.service.dsl.PlacementRules.Rule;
 import io.kaoto.backend.api.service.step.parser.camelroute.CamelRouteStepParserService;
 import io.kaoto.backend.metadata.parser.step.camelroute.CamelRestDSLParseCatalog;
+import io.kaoto.backend.model.step.Step;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import org.jboss.logging.Logger;
 
@@ -28,6 +31,14 @@ public class CamelRouteDSLSpecification extends DSLSpecification {
     private static final List<String> KINDS = Arrays.asList(
             CAMEL_CONNECTOR, EIP, EIP_BRANCHES, CAMEL_REST_DSL, CAMEL_REST_VERB, CAMEL_REST_ENDPOINT);
 
+    //The rest DSL goes rest, then verb, then the endpoint that consumes, then a normal flow
+    public static final PlacementRules PLACEMENT = PlacementRules.of(
+            Rule.ANY.except(CAMEL_REST_DSL, CAMEL_REST_VERB, CAMEL_REST_ENDPOINT),
+            Rule.after(CAMEL_REST_DSL).only(CAMEL_REST_VERB).asLast(),
+            Rule.after(CAMEL_REST_VERB).only(CAMEL_REST_ENDPOINT).asLast(),
+            Rule.after(CAMEL_REST_ENDPOINT).except(CAMEL_REST_DSL, CAMEL_REST_VERB, CAMEL_REST_ENDPOINT)
+                    .ofTypes(Step.END).asLast());
+
     private Logger log = Logger.getLogger(CamelRouteDSLSpecification.class);
 
     private DeploymentGeneratorService deploymentGeneratorService;
@@ -74,6 +85,11 @@ public class CamelRouteDSLSpecification extends DSLSpecification {
         return Map.of("stepsName", "Steps");
     }
 
+    @Override
+    public PlacementRules getPlacementRules() {
+        return PLACEMENT;
+    }
+
     @Override
     public DeploymentGeneratorService getDeploymentGeneratorService() {
         return deploymentGeneratorService;
@@ -1,20 +1,22 @@
 package io.kaoto.backend.api.service.step.parser.camelroute;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.kaoto.backend.api.service.step.parser.SourceDocument;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService;
 import io.kaoto.backend.model.deployment.camelroute.CamelRoute;
+import io.kaoto.backend.model.deployment.kamelet.Flow;
 import io.kaoto.backend.model.deployment.kamelet.FlowStep;
 import io.kaoto.backend.model.deployment.rest.Rest;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.runtime.util.StringUtil;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -29,6 +31,7 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
     private Logger log = Logger.getLogger(CamelRouteStepParserService.class);
 
     private KameletStepParserService ksps;
+    private ParallelFlows parallelFlows;
 
     @Override
     public ParseResult<Step> deepParse(final String input) {
@@ -38,7 +41,24 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
 
     @Override
     public List<ParseResult<Step>> getParsedFlows(final String input) {
-        if (!appliesTo(input)) {
+        return getParsedFlows(getCamelRoute(input));
+    }
+
+    @Override
+    public List<ParseResult<Step>> getParsedFlows(final SourceDocument document) {
+        if (!appliesTo(document)) {
+            throw new IllegalArgumentException(
+                    "Wrong format provided. This is not parseable by us.");
+        }
+        try {
+            return getParsedFlows(Mappers.lenientYamlReader(CamelRoute.class).<CamelRoute>readValue(document.tree()));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error trying to parse.", e);
+        }
+    }
+
+    private List<ParseResult<Step>> getParsedFlows(final CamelRoute route) {
+        if (route == null) {
             throw new IllegalArgumentException(
                     "Wrong format provided. This is not parseable by us.");
         }
@@ -46,8 +66,9 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
         List<ParseResult<Step>> resultList = new ArrayList<>();
 
         try {
-            CamelRoute route = getCamelRoute(input);
-            processFlows(route, resultList);
+            if (route.getFlows() != null) {
+                resultList.addAll(parallelFlows.map(route.getFlows(), this::processFlow));
+            }
             processBeans(route, resultList);
         } catch (Exception e) {
             throw new IllegalArgumentException("Error trying to parse.", e);
@@ -56,53 +77,46 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
         return resultList;
     }
 
-    private void processFlows(CamelRoute route, List<ParseResult<Step>> resultList) {
-        var flows = route.getFlows();
-        if (flows == null) {
-            return;
+    private ParseResult<Step> processFlow(final Flow flow) {
+        var from = flow.getFrom();
+        if (from == null) {
+            from = flow.getRest();
         }
 
-        for (var flow : flows) {
-            var from = flow.getFrom();
-            if (from == null) {
-                from = flow.getRest();
-            }
-
-            ParseResult<Step> res = new ParseResult<>();
-            List<Step> steps = new ArrayList<>();
-
-            if (from instanceof Rest rest) {
-                steps.add(rest.getStep(ksps, false, true));
-            } else if (from.getSteps() != null) {
-                steps.add(ksps.processStep(from, true, false));
-                if (from.getSteps() != null) {
-                    for (FlowStep step : from.getSteps()) {
-                        //end is always false in this case because we can always edit one step after it
-                        steps.add(ksps.processStep(step, false, false));
-                    }
+        ParseResult<Step> res = new ParseResult<>();
+        List<Step> steps = new ArrayList<>();
+
+        if (from instanceof Rest rest) {
+            steps.add(rest.getStep(ksps, false, true));
+        } else if (from.getSteps() != null) {
+            steps.add(ksps.processStep(from, true, false));
+            if (from.getSteps() != null) {
+                for (FlowStep step : from.getSteps()) {
+                    //end is always false in this case because we can always edit one step after it
+                    steps.add(ksps.processStep(step, false, false));
                 }
             }
-            res.setSteps(steps.stream().filter(Objects::nonNull).toList());
-            if (!StringUtil.isNullOrEmpty(flow.getId())) {
-                if (res.getMetadata() == null) {
-                    res.setMetadata(new LinkedHashMap<>());
-                }
-                res.getMetadata().put("name", flow.getId());
+        }
+        res.setSteps(steps.stream().filter(Objects::nonNull).toList());
+        if (!StringUtil.isNullOrEmpty(flow.getId())) {
+            if (res.getMetadata() == null) {
+                res.setMetadata(new LinkedHashMap<>());
             }
-            if (!StringUtil.isNullOrEmpty(flow.getRouteConfigurationId())) {
-                if (res.getMetadata() == null) {
-                    res.setMetadata(new LinkedHashMap<>());
-                }
-                res.getMetadata().put("route-configuration-id", flow.getRouteConfigurationId());
+            res.getMetadata().put("name", flow.getId());
+        }
+        if (!StringUtil.isNullOrEmpty(flow.getRouteConfigurationId())) {
+            if (res.getMetadata() == null) {
+                res.setMetadata(new LinkedHashMap<>());
             }
-            if (!StringUtil.isNullOrEmpty(flow.getDescription())) {
-                if (res.getMetadata() == null) {
-                    res.setMetadata(new LinkedHashMap<>());
-                }
-                res.getMetadata().put("description", flow.getDescription());
+            res.getMetadata().put("route-configuration-id", flow.getRouteConfigurationId());
+        }
+        if (!StringUtil.isNullOrEmpty(flow.getDescription())) {
+            if (res.getMetadata() == null) {
+                res.setMetadata(new LinkedHashMap<>());
             }
-            resultList.add(res);
+            res.getMetadata().put("description", flow.getDescription());
         }
+        return res;
     }
 
     private void processBeans(CamelRoute route, List<ParseResult<Step>> resultList) {
@@ -121,11 +135,24 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
         return getCamelRoute(input) != null;
     }
 
+    //Same shape CamelRouteDeserializer expects: a list of flows or beans, without binding them
+    @Override
+    public boolean appliesTo(final SourceDocument document) {
+        if (!document.isList()) {
+            return false;
+        }
+        for (JsonNode element : document.tree()) {
+            final var flow = element.has("route") ? element.get("route") : element;
+            if (!flow.has("from") && !flow.has("rest") && !flow.has("beans")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private CamelRoute getCamelRoute(final String input) {
         try {
-            ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory())
-                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            return yamlMapper.readValue(input, CamelRoute.class);
+            return Mappers.lenientYamlReader(CamelRoute.class).readValue(input);
         } catch (JsonProcessingException e) {
             //We don't care what happened, it is wrongly formatted and that's it
             log.trace("Error trying to parse camel route.", e);
@@ -137,4 +164,9 @@ public class CamelRouteStepParserService implements StepParserService<Step> {
     public void setKsps(final KameletStepParserService ksps) {
         this.ksps = ksps;
     }
+
+    @Inject
+    public void setParallelFlows(final ParallelFlows parallelFlows) {
+        this.parallelFlows = parallelFlows;
+    }
 }
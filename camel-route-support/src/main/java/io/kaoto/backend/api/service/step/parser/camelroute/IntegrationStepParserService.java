@@ -3,9 +3,9 @@ package io.kaoto.backend.api.service.step.parser.camelroute;
 import static io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService.DESCRIPTION_ANNO;
 import static io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService.DESCRIPTION;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.kaoto.backend.api.service.step.parser.SourceDocument;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService;
 import io.kaoto.backend.model.deployment.camelroute.Integration;
@@ -13,11 +13,13 @@ import io.kaoto.backend.model.deployment.kamelet.Bean;
 import io.kaoto.backend.model.deployment.kamelet.Flow;
 import io.kaoto.backend.model.deployment.kamelet.FlowStep;
 import io.kaoto.backend.model.deployment.rest.Rest;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -34,7 +36,13 @@ import java.util.regex.Pattern;
 @RegisterForReflection
 public class IntegrationStepParserService implements StepParserService<Step> {
 
+    //Flows have their own deserializer when parsing them one by one, so this can't be a shared reader
+    private static final ObjectReader FLOWS_READER = Mappers.yaml().copy()
+            .registerModule(new SimpleModule().addDeserializer(Flow.class, new FlowDeserializer()))
+            .readerFor(Integration.class);
+
     private KameletStepParserService ksps;
+    private ParallelFlows parallelFlows;
 
     @Override
     public ParseResult<Step> deepParse(final String input) {
@@ -46,8 +54,7 @@ public class IntegrationStepParserService implements StepParserService<Step> {
         ParseResult<Step> res = new ParseResult<>();
         List<Step> steps = new ArrayList<>();
         try {
-            ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
-            Integration integration = yamlMapper.readValue(input, Integration.class);
+            Integration integration = Mappers.yamlReader(Integration.class).readValue(input);
 
             ksps.processMetadata(res, integration.getMetadata());
             res.setParameters(new ArrayList<>());
@@ -88,28 +95,44 @@ public class IntegrationStepParserService implements StepParserService<Step> {
             throw new IllegalArgumentException(
                     "Wrong format provided. This is not parseable by us.");
         }
+        try {
+            return getParsedFlows(FLOWS_READER.<Integration>readValue(input));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error trying to parse.", e);
+        }
+    }
+
+    @Override
+    public List<ParseResult<Step>> getParsedFlows(final SourceDocument document) {
+        if (!appliesTo(document) || document.tree() == null) {
+            throw new IllegalArgumentException(
+                    "Wrong format provided. This is not parseable by us.");
+        }
+        try {
+            return getParsedFlows(FLOWS_READER.<Integration>readValue(document.tree()));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error trying to parse.", e);
+        }
+    }
 
+    private List<ParseResult<Step>> getParsedFlows(final Integration integration) {
         List<ParseResult<Step>> answer = new ArrayList<>();
         ParseResult<Step> metadata = new ParseResult<>();
         metadata.setParameters(new ArrayList<>());
         answer.add(metadata);
         try {
-            ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
-            var module = new SimpleModule();
-            module.addDeserializer(Flow.class, new FlowDeserializer());
-            yamlMapper.registerModule(module);
-            Integration integration = yamlMapper.readValue(input, Integration.class);
-
             ksps.processMetadata(metadata, integration.getMetadata());
 
             if (integration.getSpec().get_flows() != null) {
+                List<Flow> flows = new ArrayList<>();
                 integration.getSpec().get_flows().forEach(flow -> {
                     if (flow.getBeans() != null) {
                         processBeans(metadata, flow.getBeans());
                     } else {
-                        processFlows(answer, flow);
+                        flows.add(flow);
                     }
                 });
+                answer.addAll(parallelFlows.map(flows, this::processFlow));
                 integration.getSpec().get_flows().clear();
             }
 
@@ -130,7 +153,7 @@ public class IntegrationStepParserService implements StepParserService<Step> {
         return answer;
     }
 
-    private void processFlows(List<ParseResult<Step>> answer, Flow flow) {
+    private ParseResult<Step> processFlow(Flow flow) {
         ParseResult<Step> res = new ParseResult<>();
         res.setParameters(new ArrayList<>());
         List<Step> steps = new ArrayList<>();
@@ -172,7 +195,7 @@ public class IntegrationStepParserService implements StepParserService<Step> {
         if (flow.getDescription() != null) {
             res.getMetadata().put(DESCRIPTION, flow.getDescription());
         }
-        answer.add(res);
+        return res;
     }
 
     private void processBeans(ParseResult<Step> parsedMetadata, List<Bean> beans) {
@@ -196,8 +219,20 @@ public class IntegrationStepParserService implements StepParserService<Step> {
         return false;
     }
 
+    //Only the kind on the root counts; without one, we look for it on the text as before
+    @Override
+    public boolean appliesTo(final SourceDocument document) {
+        final var kind = document.kind();
+        return kind != null ? "Integration".equalsIgnoreCase(kind.trim()) : appliesTo(document.source());
+    }
+
     @Inject
     public void setKsps(final KameletStepParserService ksps) {
         this.ksps = ksps;
     }
+
+    @Inject
+    public void setParallelFlows(final ParallelFlows parallelFlows) {
+        this.parallelFlows = parallelFlows;
+    }
 }
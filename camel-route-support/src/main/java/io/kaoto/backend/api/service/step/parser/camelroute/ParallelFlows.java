@@ -0,0 +1,122 @@
+package io.kaoto.backend.api.service.step.parser.camelroute;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 🐱class ParallelFlows
+ *
+ * Processes the flows of a document on a pool of threads shared by the
+ * parsers, so documents with hundreds of flows resolve their steps on all
+ * the cores. Results are returned in the same order as the flows.
+ *
+ * Documents with fewer flows than `kaoto.parser.flows.parallel-threshold`,
+ * by default 16, are processed on the calling thread. The pool has
+ * `kaoto.parser.flows.threads` threads, by default one per core. It is
+ * created the first time it is needed and shut down with the application.
+ */
+@ApplicationScoped
+public class ParallelFlows {
+
+    public static final String THREADS = "kaoto.parser.flows.threads";
+    public static final String THRESHOLD = "kaoto.parser.flows.parallel-threshold";
+
+    @ConfigProperty(name = THREADS)
+    private Optional<Integer> threads = Optional.empty();
+
+    @ConfigProperty(name = THRESHOLD, defaultValue = "16")
+    private int threshold = 16;
+
+    private ExecutorService executor;
+    private int parallelism;
+
+    public ParallelFlows() {
+        //Empty for injection
+    }
+
+    public ParallelFlows(final int threads, final int threshold) {
+        this.threads = Optional.of(threads);
+        this.threshold = threshold;
+    }
+
+    /*
+     * 🐱method map : List
+     * 🐱param flows: List
+     * 🐱param processor: Function
+     *
+     * Applies the processor to every flow and returns what it returned, in
+     * the order of the flows. The calling thread processes its share too.
+     */
+    public <F, R> List<R> map(final List<F> flows, final Function<F, R> processor) {
+        final var pool = get();
+        final int chunks = Math.min(parallelism, flows.size());
+        if (flows.size() < threshold || chunks < 2) {
+            return process(flows, processor);
+        }
+
+        final int chunkSize = (flows.size() + chunks - 1) / chunks;
+        final List<CompletableFuture<List<R>>> pending = new ArrayList<>();
+        for (int start = chunkSize; start < flows.size(); start += chunkSize) {
+            final var chunk = flows.subList(start, Math.min(start + chunkSize, flows.size()));
+            pending.add(CompletableFuture.supplyAsync(() -> process(chunk, processor), pool));
+        }
+
+        final List<R> res = new ArrayList<>(flows.size());
+        res.addAll(process(flows.subList(0, chunkSize), processor));
+        try {
+            pending.forEach(chunk -> res.addAll(chunk.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return res;
+    }
+
+    private static <F, R> List<R> process(final List<F> flows, final Function<F, R> processor) {
+        final List<R> res = new ArrayList<>(flows.size());
+        for (F flow : flows) {
+            res.add(processor.apply(flow));
+        }
+        return res;
+    }
+
+    private synchronized ExecutorService get() {
+        if (executor == null) {
+            parallelism = Math.max(1, threads.orElse(Runtime.getRuntime().availableProcessors()));
+            final var count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "flow-parser-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /*
+     * 🐱method close
+     *
+     * Stops the threads of the pool. It is created again if it is needed
+     * afterwards.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package io.kaoto.backend.model.deployment.camelroute;
 
 import static io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService.DESCRIPTION_ANNO;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.fabric8.kubernetes.api.model.Namespaced;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
@@ -15,6 +14,7 @@ import io.kaoto.backend.KamelPopulator;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.model.deployment.kamelet.Bean;
 import io.kaoto.backend.model.deployment.kamelet.Flow;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import org.apache.camel.v1.IntegrationStatus;
 
@@ -68,8 +68,7 @@ public final class Integration extends CustomResource<IntegrationSpec, Integrati
         if (original_spec != null && original_spec instanceof IntegrationSpec ospec) {
             this.setSpec(ospec);
         } else if (original_spec != null && original_spec instanceof Map ospec) {
-            ObjectMapper mapper = new ObjectMapper();
-            this.setSpec(mapper.convertValue(original_spec, IntegrationSpec.class));
+            this.setSpec(Mappers.json().convertValue(original_spec, IntegrationSpec.class));
         } else {
             this.setSpec(new IntegrationSpec());
         }
@@ -0,0 +1,154 @@
+package io.kaoto.backend.api.service.deployment.generator.camelroute;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletDeploymentGeneratorService;
+import io.kaoto.backend.api.service.deployment.generator.kamelet.YamlEmitter;
+import io.kaoto.backend.api.service.step.parser.camelroute.CamelRouteStepParserService;
+import io.kaoto.backend.api.service.step.parser.camelroute.IntegrationStepParserService;
+import io.kaoto.backend.model.deployment.camelroute.CamelRoute;
+import io.kaoto.backend.model.deployment.camelroute.Integration;
+import io.kaoto.backend.model.deployment.camelroute.IntegrationFlow;
+import io.kaoto.backend.model.mapper.Mappers;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+//Both ways of writing must give back the sources that round trip, and the same as each other for the rest
+@QuarkusTest
+class YamlEmitterTest {
+
+    private static final String RESOURCES = "/io/kaoto/backend/api/service/step/parser/camelroute/";
+
+    @Inject
+    CamelRouteStepParserService camelRouteParser;
+    @Inject
+    CamelRouteDeploymentGeneratorService camelRouteGenerator;
+    @Inject
+    IntegrationStepParserService integrationParser;
+    @Inject
+    IntegrationDeploymentGeneratorService integrationGenerator;
+    @Inject
+    KameletDeploymentGeneratorService kameletGenerator;
+    @Inject
+    StepCatalog catalog;
+
+    @BeforeEach
+    void ensureCatalog() {
+        catalog.waitForWarmUp().join();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"route.yaml", "route-ids.yaml", "route-multi.yaml", "route-with-beans.yaml",
+            "route-with-id.yaml", "route2-complex-expressions.yaml", "route3-complex-expressions.yaml",
+            "route4-pathparams.yaml", "route5-placeholders.yaml", "route6-kamelet-extraparameters.yaml",
+            "route6-un-marshal.yaml", "rest-dsl.yaml"})
+    void camelRoutesMatchTheirSource(final String file) throws IOException {
+        final var source = resource(file);
+        final var flows = camelRouteParser.getParsedFlows(source);
+        try {
+            assertThat(camelRouteGenerator.parse(flows)).as(file).isEqualToNormalizingNewlines(source);
+            camelRouteGenerator.setDirectEmitter(true);
+            assertThat(camelRouteGenerator.parse(flows)).as(file).isEqualToNormalizingNewlines(source);
+        } finally {
+            camelRouteGenerator.setDirectEmitter(false);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"integration-multiroute.yaml", "integration-no-step.yaml"})
+    void integrationsMatchTheirSource(final String file) throws IOException {
+        final var source = resource(file);
+        final var flows = integrationParser.getParsedFlows(source);
+        try {
+            assertThat(integrationGenerator.parse(flows)).as(file).isEqualToNormalizingNewlines(source);
+            kameletGenerator.setDirectEmitter(true);
+            assertThat(integrationGenerator.parse(flows)).as(file).isEqualToNormalizingNewlines(source);
+        } finally {
+            kameletGenerator.setDirectEmitter(false);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"route.yaml", "route-ids.yaml", "route-logs.yaml", "route-multi.yaml",
+            "route-with-beans.yaml", "route-with-id.yaml", "route2-complex-expressions.yaml", "route2-logs.yaml",
+            "route2b.yaml", "route3-complex-expressions.yaml", "route3-logs.yaml", "route4-pathparams.yaml",
+            "route5-placeholders.yaml", "route6-kamelet-extraparameters.yaml", "route6-un-marshal.yaml",
+            "rest-dsl.yaml"})
+    void camelRoutes(final String file) throws IOException {
+        final var flows = camelRouteParser.getParsedFlows(resource(file));
+        final var yaml = Mappers.snakeYaml(CamelRoute.class, CamelRouteRepresenter.class,
+                CamelRouteRepresenter::new);
+        for (var flow : flows) {
+            final var route = new CamelRoute(
+                    flow.getSteps() != null ? new LinkedList<>(flow.getSteps()) : List.of(),
+                    flow.getMetadata() != null ? new LinkedHashMap<>(flow.getMetadata()) : Map.of(),
+                    catalog);
+            final var emitted = CamelRouteDeploymentGeneratorService.EMITTER.dump(route, Tag.SEQ);
+            assertNotNull(emitted, file);
+            assertEquals(yaml.dumpAs(route, Tag.SEQ, DumperOptions.FlowStyle.BLOCK), emitted, file);
+        }
+
+        final var expected = camelRouteGenerator.parse(flows);
+        try {
+            camelRouteGenerator.setDirectEmitter(true);
+            assertEquals(expected, camelRouteGenerator.parse(flows), file);
+        } finally {
+            camelRouteGenerator.setDirectEmitter(false);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"integration.yaml", "integration-multiroute.yaml", "integration-no-step.yaml",
+            "integration-with-beans.yaml"})
+    void integrations(final String file) throws IOException {
+        final var flows = integrationParser.getParsedFlows(resource(file));
+        final List<IntegrationFlow> integrationFlows = new LinkedList<>();
+        Map<String, Object> metadata = null;
+        for (var flow : flows) {
+            if (flow.getSteps() != null) {
+                var integrationFlow = new IntegrationFlow();
+                integrationFlow.setSteps(flow.getSteps());
+                integrationFlow.setMetadata(flow.getMetadata());
+                integrationFlow.setParameters(flow.getParameters());
+                integrationFlows.add(integrationFlow);
+            } else if (flow.getMetadata() != null) {
+                metadata = flow.getMetadata();
+            }
+        }
+        final var integration = new Integration(integrationFlows,
+                metadata != null ? new LinkedHashMap<>(metadata) : Map.of(), catalog);
+        final var emitted = new YamlEmitter(IntegrationRepresenter.representations()).dump(integration, Tag.MAP);
+        assertNotNull(emitted, file);
+        assertEquals(kameletGenerator.getYAML(integration, IntegrationRepresenter.class,
+                IntegrationRepresenter::new), emitted, file);
+
+        final var expected = integrationGenerator.parse(flows);
+        try {
+            kameletGenerator.setDirectEmitter(true);
+            assertEquals(expected, integrationGenerator.parse(flows), file);
+        } finally {
+            kameletGenerator.setDirectEmitter(false);
+        }
+    }
+
+    private String resource(final String file) throws IOException {
+        try (var stream = getClass().getResourceAsStream(RESOURCES + file)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.kaoto.backend.api.service.step.parser.camelroute;
 
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.api.service.dsl.camelroute.CamelRouteDSLSpecification;
+import io.kaoto.backend.api.service.step.parser.SourceDocument;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.test.junit.QuarkusTest;
@@ -125,6 +126,40 @@ class CamelRouteStepParserServiceTest {
                 .isEqualToNormalizingNewlines(camelRouteDSLSpecification.getDeploymentGeneratorService().parse(flows));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"route.yaml", "route-multi.yaml", "route-ids.yaml", "route-with-id.yaml",
+            "route-with-beans.yaml", "route4-pathparams.yaml"})
+    void parsedFlowsFromDocument(String file) throws IOException {
+        var route = new String(this.getClass().getResourceAsStream(file).readAllBytes(),
+                StandardCharsets.UTF_8);
+        var document = SourceDocument.of(route);
+        assertTrue(camelRouteDSLSpecification.appliesTo(document));
+        assertEquals(camelRouteDSLSpecification.getStepParserService().getParsedFlows(route),
+                camelRouteDSLSpecification.getStepParserService().getParsedFlows(document));
+    }
+
+    @Test
+    void manyFlowsKeepTheirOrder() {
+        StringBuilder route = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            route.append("- route:\n")
+                    .append("    id: route-").append(i).append('\n')
+                    .append("    from:\n")
+                    .append("      uri: timer:tick-").append(i).append('\n')
+                    .append("      steps:\n")
+                    .append("      - log:\n")
+                    .append("          message: message-").append(i).append('\n');
+        }
+        List<StepParserService.ParseResult<Step>> flows =
+                camelRouteDSLSpecification.getStepParserService().getParsedFlows(route.toString());
+
+        assertEquals(100, flows.size());
+        for (int i = 0; i < flows.size(); i++) {
+            assertEquals("route-" + i, flows.get(i).getMetadata().get("name"));
+            assertEquals(2, flows.get(i).getSteps().size());
+        }
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"route-with-id.yaml"})
     void parsedFlowsWithMetadata(String file) throws IOException {
@@ -194,5 +229,6 @@ class CamelRouteStepParserServiceTest {
         String input = new String(Objects.requireNonNull(this.getClass().getResourceAsStream(resourcePath))
                 .readAllBytes(), StandardCharsets.UTF_8);
         assertThat(camelRouteDSLSpecification.getStepParserService().appliesTo(input)).isFalse();
+        assertThat(camelRouteDSLSpecification.appliesTo(SourceDocument.of(input))).isFalse();
     }
 }
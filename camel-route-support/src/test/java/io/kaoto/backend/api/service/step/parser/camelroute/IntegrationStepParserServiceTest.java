@@ -2,6 +2,7 @@ package io.kaoto.backend.api.service.step.parser.camelroute;
 
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.api.service.deployment.generator.camelroute.IntegrationDeploymentGeneratorService;
+import io.kaoto.backend.api.service.step.parser.SourceDocument;
 import io.kaoto.backend.model.deployment.kamelet.Bean;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.test.junit.QuarkusTest;
@@ -154,6 +155,7 @@ class IntegrationStepParserServiceTest {
     @Test
     void appliesTo() {
         assertThat(service.appliesTo(integration)).isTrue();
+        assertThat(service.appliesTo(SourceDocument.of(integration))).isTrue();
     }
 
     @ParameterizedTest
@@ -163,5 +165,6 @@ class IntegrationStepParserServiceTest {
         String input = new String(Objects.requireNonNull(this.getClass().getResourceAsStream(resourcePath))
                 .readAllBytes(), StandardCharsets.UTF_8);
         assertThat(service.appliesTo(input)).isFalse();
+        assertThat(service.appliesTo(SourceDocument.of(input))).isFalse();
     }
 }
@@ -0,0 +1,49 @@
+package io.kaoto.backend.api.service.step.parser.camelroute;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+class ParallelFlowsTest {
+
+    private final ParallelFlows parallelFlows = new ParallelFlows(4, 16);
+
+    @AfterEach
+    void close() {
+        parallelFlows.close();
+    }
+
+    @Test
+    void keepsTheOrder() {
+        final List<Integer> flows = IntStream.range(0, 1000).boxed().toList();
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        final var res = parallelFlows.map(flows, flow -> {
+            threads.add(Thread.currentThread().getName());
+            return "flow-" + flow;
+        });
+
+        Assertions.assertEquals(flows.stream().map(flow -> "flow-" + flow).toList(), res);
+        //The calling thread always processes its share
+        Assertions.assertTrue(threads.contains(Thread.currentThread().getName()));
+        Assertions.assertEquals(List.of(), parallelFlows.map(List.<Integer>of(), flow -> flow));
+    }
+
+    @Test
+    void failuresReachTheCaller() {
+        final List<Integer> flows = IntStream.range(0, 1000).boxed().toList();
+        final var e = Assertions.assertThrows(IllegalStateException.class,
+                () -> parallelFlows.map(flows, flow -> {
+                    if (flow == 999) {
+                        throw new IllegalStateException("wrong flow");
+                    }
+                    return flow;
+                }));
+        Assertions.assertEquals("wrong flow", e.getMessage());
+    }
+}
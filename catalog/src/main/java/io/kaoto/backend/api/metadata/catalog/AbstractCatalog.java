@@ -1,17 +1,39 @@
 package io.kaoto.backend.api.metadata.catalog;
 
+import io.kaoto.backend.metadata.LiveParseCatalog;
 import io.kaoto.backend.metadata.MetadataCatalog;
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.ParseStatistics;
+import io.kaoto.backend.metadata.catalog.CatalogSnapshot;
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
 import io.kaoto.backend.metadata.catalog.InMemoryCatalog;
 import io.kaoto.backend.metadata.catalog.ReadOnlyCatalog;
+import io.kaoto.backend.metadata.parser.ArchiveCache;
+import io.kaoto.backend.metadata.parser.GitCache;
+import io.kaoto.backend.metadata.parser.GitParseCatalog;
+import io.kaoto.backend.metadata.parser.JarParseCatalog;
+import io.kaoto.backend.metadata.parser.ParserExecutor;
 import io.kaoto.backend.model.Metadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * 🐱class AbstractCatalog
@@ -19,6 +41,11 @@ import java.util.concurrent.CompletableFuture;
  * Abstract implementation of an ApplicationScoped catalog.
  * This will be the base of the beans
  * that can be injected in the different services and resources.
+ *
+ * When several sources have elements with the same identifier, the element
+ * of the source that comes first on loadParsers wins, and inside a source,
+ * the first one parsed. The same rule applies warming up, refreshing and
+ * patching, so the winner doesn't depend on which source finished first.
  */
 public abstract class AbstractCatalog<T extends Metadata> {
 
@@ -27,11 +54,32 @@ public abstract class AbstractCatalog<T extends Metadata> {
     private final MetadataCatalog<T> readOnlyCatalog = new ReadOnlyCatalog<>(c);
     private CompletableFuture<Void> waitingForWarmUp;
     private CompletableFuture<Void> initializing = new CompletableFuture<>();
+    private final Map<String, ParsedSource<T>> sources = new ConcurrentHashMap<>();
+    private final Map<String, LiveParseCatalog<T>> watched = new ConcurrentHashMap<>();
+    //Identifiers of the sources, in the order loadParsers returned them
+    private volatile List<String> order = List.of();
+    private volatile CatalogRefresh lastRefresh;
+    private CompletableFuture<CatalogRefresh> refreshing;
+    private MeterRegistry registry;
+    private ParserExecutor parserExecutor;
+    //Values behind the size gauges, by kind and by source
+    private final Map<String, AtomicInteger> kindSizes = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> sourceSizes = new ConcurrentHashMap<>();
 
     protected AbstractCatalog() {
         this.waitingForWarmUp = initializing;
     }
 
+    @Inject
+    public void setRegistry(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Inject
+    public void setParserExecutor(final ParserExecutor parserExecutor) {
+        this.parserExecutor = parserExecutor;
+    }
+
     public MetadataCatalog<T> getReadOnlyCatalog() {
         waitingForWarmUp.join();
         return readOnlyCatalog;
@@ -50,10 +98,86 @@ public abstract class AbstractCatalog<T extends Metadata> {
     /*
      * 🐱method loadParsers : List[ParseCatalog]
      *
-     * Loads all the catalogs into the bean
+     * Loads all the catalogs into the bean. The order matters: on duplicated
+     * identifiers, the sources that come first win.
      */
     abstract List<ParseCatalog<T>> loadParsers();
 
+    /*
+     * 🐱method prepare : List[Metadata]
+     * 🐱param elements: List[Metadata]
+     *
+     * Hook to adapt the elements returned by the parsers before storing
+     * them on the catalog. By default, does nothing.
+     */
+    protected List<T> prepare(final List<T> elements) {
+        return elements;
+    }
+
+    /*
+     * 🐱method published
+     * 🐱param snapshot: CatalogSnapshot
+     *
+     * Hook called every time the content of the catalog is replaced, with
+     * the new content. By default, does nothing.
+     */
+    protected void published(final CatalogSnapshot<T> snapshot) {
+        //Nothing to do
+    }
+
+    /*
+     * 🐱method withArchiveCache : ParseCatalog
+     * 🐱param parser: ParseCatalog
+     * 🐱param archiveCache: ArchiveCache
+     *
+     * Makes the parser keep its remote archive on the cache, if the parser
+     * downloads archives and there is a cache configured.
+     */
+    protected ParseCatalog<T> withArchiveCache(final ParseCatalog<T> parser, final ArchiveCache archiveCache) {
+        if (archiveCache != null && parser instanceof JarParseCatalog<T> jar) {
+            jar.setArchiveCache(archiveCache);
+        }
+        return parser;
+    }
+
+    /*
+     * 🐱method withGitCache : ParseCatalog
+     * 🐱param parser: ParseCatalog
+     * 🐱param gitCache: GitCache
+     *
+     * Makes the parser keep its working copy on the cache, if the parser
+     * clones repositories and there is a cache configured.
+     */
+    protected ParseCatalog<T> withGitCache(final ParseCatalog<T> parser, final GitCache gitCache) {
+        if (gitCache != null && parser instanceof GitParseCatalog<T> git) {
+            git.setGitCache(gitCache);
+        }
+        return parser;
+    }
+
+    /*
+     * 🐱method getSnapshotStore : CatalogSnapshotStore
+     *
+     * Where to keep the parsed elements between restarts, if anywhere.
+     * By default, catalogs are always parsed from their sources.
+     */
+    protected CatalogSnapshotStore<T> getSnapshotStore() {
+        return null;
+    }
+
+    /*
+     * 🐱method detailsOnDemand : List[Metadata]
+     * 🐱param elements: List[Metadata]
+     * 🐱param snapshot: Supplier[List[Metadata]]
+     *
+     * Hook to keep only summaries of the elements of a snapshot, taking
+     * their details from the snapshot again when they are needed. By
+     * default, elements are kept complete.
+     */
+    protected List<T> detailsOnDemand(final List<T> elements, final Supplier<List<T>> snapshot) {
+        return elements;
+    }
+
     /*
      * 🐱method warmUpCatalog
      *
@@ -66,46 +190,456 @@ public abstract class AbstractCatalog<T extends Metadata> {
         log.debug("Warming up catalog.");
         final var time = System.currentTimeMillis();
         final List<CompletableFuture<Boolean>> futureSteps = new ArrayList<>();
-        loadParsers().stream().parallel().forEach(parser -> futureSteps.add(addCatalog(parser)));
+        final var parsers = identify(loadParsers());
+        order = List.copyOf(parsers.keySet());
+        parsers.forEach((identifier, parser) -> futureSteps.add(addCatalog(identifier, parser)));
 
         waitingForWarmUp = CompletableFuture.allOf(futureSteps.toArray(new CompletableFuture[0]));
         waitingForWarmUp
                 .thenAccept(complete -> initializing.complete(null))
+                .thenRun(() -> watch(parsers))
+                .thenRun(this::pruneSnapshots)
                 .thenRun(() ->
                         log.info("Catalog " + this.getClass() + " warmed up in "
                                 + (System.currentTimeMillis() - time) + "ms."));
     }
 
-    private CompletableFuture<Boolean> addCatalog(final ParseCatalog<T> catalog) {
+    private CompletableFuture<Boolean> addCatalog(final String identifier, final ParseCatalog<T> catalog) {
         CompletableFuture<Boolean> res = new CompletableFuture<>();
         final var time = System.currentTimeMillis();
-        catalog.parse()
-                .thenApply(md -> c.store(md))
+        load(identifier, catalog, null)
+                .thenAccept(source -> publish(identifier, source))
                 .thenRun(() -> log.info("Parser " + catalog.getClass() + " processed in "
                         + (System.currentTimeMillis() - time) + "ms."))
-                .thenAccept(md -> res.complete(true));
+                .whenComplete((md, error) -> {
+                    if (error != null) {
+                        //A broken source shouldn't keep the catalog warming up forever
+                        log.error("Parser " + catalog.getClass() + " failed, skipping it.", error);
+                    }
+                    measure();
+                    res.complete(error == null);
+                });
         return res;
     }
 
+    //Adds a source while warming up, keeping the elements of the sources that come first
+    private synchronized void publish(final String identifier, final ParsedSource<T> source) {
+        sources.put(identifier, source);
+        final List<ParsedSource<T>> loaded = new ArrayList<>();
+        for (var id : order) {
+            final var parsed = sources.get(id);
+            if (parsed != null) {
+                loaded.add(parsed);
+            }
+        }
+        published(c.replace(collect(loaded).values()));
+    }
+
+    //Elements of the sources by identifier. On duplicated identifiers, the first one found wins
+    private Map<String, T> collect(final Collection<ParsedSource<T>> loaded) {
+        final Map<String, T> elements = new LinkedHashMap<>();
+        for (var source : loaded) {
+            for (T element : source.elements()) {
+                if (element != null) {
+                    elements.putIfAbsent(element.getId(), element);
+                }
+            }
+        }
+        return elements;
+    }
+
+    private Map<String, ParseCatalog<T>> identify(final List<ParseCatalog<T>> catalogs) {
+        final Map<String, ParseCatalog<T>> res = new LinkedHashMap<>();
+        for (var catalog : catalogs) {
+            var identifier = catalog.identifier();
+            //Different parsers may not be able to tell their sources apart
+            for (int i = 1; res.containsKey(identifier); i++) {
+                identifier = catalog.identifier() + "#" + i;
+            }
+            res.put(identifier, catalog);
+        }
+        return res;
+    }
+
+    //Parse the source, unless it didn't change since the previous time, and time it
+    private CompletableFuture<ParsedSource<T>> load(final String identifier, final ParseCatalog<T> catalog,
+                                                    final ParsedSource<T> previous) {
+        catalog.setStatistics(statistics(identifier));
+        if (parserExecutor != null) {
+            catalog.setParserExecutor(parserExecutor);
+        }
+        final var start = System.nanoTime();
+        return loadSource(identifier, catalog, previous).whenComplete((source, error) -> {
+            if (registry == null) {
+                return;
+            }
+            final String result;
+            if (error != null) {
+                result = "failed";
+            } else {
+                result = source.parsed() ? "parsed" : "reused";
+            }
+            registry.timer("kaoto.catalog.source.load", "catalog", getCatalogName(), "source", identifier,
+                    "result", result).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    private CompletableFuture<ParsedSource<T>> loadSource(final String identifier, final ParseCatalog<T> catalog,
+                                                          final ParsedSource<T> previous) {
+        if (catalog instanceof LiveParseCatalog<T>) {
+            if (previous != null && watched.containsKey(identifier)) {
+                //Its watcher keeps it up to date
+                return CompletableFuture.completedFuture(new ParsedSource<>(null, previous.elements(), false));
+            }
+            //Snapshots are pointless for sources we follow live
+            return catalog.parse().thenApply(md -> new ParsedSource<>(null, prepare(md), true));
+        }
+        final var store = getSnapshotStore();
+        if (store == null && previous == null) {
+            //Nothing to compare with, don't waste time calculating the fingerprint
+            return catalog.parse().thenApply(md -> new ParsedSource<>(null, prepare(md), true));
+        }
+        return CompletableFuture.supplyAsync(catalog::fingerprint)
+                .thenCompose(fingerprint -> {
+                    if (fingerprint != null && previous != null && fingerprint.equals(previous.fingerprint())) {
+                        return CompletableFuture.completedFuture(new ParsedSource<>(fingerprint,
+                                previous.elements(), false));
+                    }
+                    return parse(catalog, fingerprint, store)
+                            .thenApply(md -> new ParsedSource<>(fingerprint, prepare(md), true));
+                });
+    }
+
+    //Reuse what we parsed last time if the source didn't change
+    private CompletableFuture<List<T>> parse(final ParseCatalog<T> catalog, final String fingerprint,
+                                             final CatalogSnapshotStore<T> store) {
+        if (store == null || fingerprint == null) {
+            return catalog.parse();
+        }
+        //Snapshots are saved complete, details are read from them again if needed
+        final Supplier<List<T>> snapshot = () -> store.load(fingerprint).orElseGet(() -> catalog.parse().join());
+        final var stored = store.load(fingerprint);
+        if (stored.isPresent()) {
+            log.debug("Parser " + catalog.getClass() + " loaded from snapshot.");
+            return CompletableFuture.completedFuture(detailsOnDemand(stored.get(), snapshot));
+        }
+        return catalog.parse().thenApply(md -> {
+            store.save(fingerprint, md);
+            return detailsOnDemand(md, snapshot);
+        });
+    }
+
+    //Per file metrics of a source, filled in by its parser
+    private ParseStatistics statistics(final String identifier) {
+        if (registry == null) {
+            return ParseStatistics.NONE;
+        }
+        final var catalog = getCatalogName();
+        final var parse = Timer.builder("kaoto.catalog.file.parse")
+                .description("Time spent parsing each file of a catalog source")
+                .tags("catalog", catalog, "source", identifier)
+                .publishPercentileHistogram()
+                .register(registry);
+        final var bytes = Counter.builder("kaoto.catalog.source.bytes")
+                .description("Bytes read from a catalog source")
+                .baseUnit("bytes")
+                .tags("catalog", catalog, "source", identifier)
+                .register(registry);
+        final var failures = Counter.builder("kaoto.catalog.file.failures")
+                .description("Files of a catalog source that couldn't be parsed")
+                .tags("catalog", catalog, "source", identifier)
+                .register(registry);
+        return (read, nanos, failed) -> {
+            parse.record(nanos, TimeUnit.NANOSECONDS);
+            bytes.increment(read);
+            if (failed) {
+                failures.increment();
+            }
+        };
+    }
+
+    //Updates the gauges with the size of the catalog, by kind and by source
+    private void measure() {
+        if (registry == null) {
+            return;
+        }
+        final var catalog = getCatalogName();
+        final Map<String, Integer> kinds = new LinkedHashMap<>();
+        for (T element : c.getSnapshot().getAll()) {
+            kinds.merge(String.valueOf(kindOf(element)), 1, Integer::sum);
+        }
+        kindSizes.forEach((kind, size) -> size.set(kinds.getOrDefault(kind, 0)));
+        kinds.forEach((kind, size) -> kindSizes.computeIfAbsent(kind, key ->
+                registry.gauge("kaoto.catalog.elements", Tags.of("catalog", catalog, "kind", key),
+                        new AtomicInteger()))
+                .set(size));
+        sourceSizes.forEach((identifier, size) -> {
+            final var source = sources.get(identifier);
+            size.set(source != null ? source.elements().size() : 0);
+        });
+        sources.forEach((identifier, source) -> sourceSizes.computeIfAbsent(identifier, key ->
+                registry.gauge("kaoto.catalog.source.elements", Tags.of("catalog", catalog, "source", key),
+                        new AtomicInteger()))
+                .set(source.elements().size()));
+    }
+
+    /*
+     * 🐱method kindOf : String
+     * 🐱param element: Metadata
+     *
+     * Kind the element is counted as on the catalog size metrics.
+     */
+    protected String kindOf(final T element) {
+        return element.getType();
+    }
+
+    private void pruneSnapshots() {
+        final var store = getSnapshotStore();
+        if (store != null) {
+            store.prune();
+        }
+    }
+
     /*
      * 🐱method refresh
      *
      * Function to be called periodically that refreshes the elements of the
-     * catalog, considering the catalog is dynamic. It prevents any
-     * synchronization error that would show an empty catalog during the
-     * refreshing.
+     * catalog, considering the catalog is dynamic.
+     *
+     * Only the sources that changed since the previous time are parsed
+     * again. Once all of them are ready, the content of the catalog is
+     * replaced at once, so readers never see an empty or half refreshed
+     * catalog. Elements from sources that are gone are removed.
      *
      */
     public void refresh() {
-        List<CompletableFuture<Boolean>> futureSteps = new ArrayList<>();
-        for (var catalog : loadParsers()) {
-            futureSteps.add(addCatalog(catalog));
+        reload();
+    }
+
+    /*
+     * 🐱method reload : CompletableFuture[CatalogRefresh]
+     *
+     * Same as refresh, but lets you know when it finishes and what changed.
+     * If there is a refresh already running, returns that one.
+     *
+     */
+    public synchronized CompletableFuture<CatalogRefresh> reload() {
+        if (refreshing != null && !refreshing.isDone()) {
+            return refreshing;
+        }
+        final var time = System.currentTimeMillis();
+        final Map<String, CompletableFuture<ParsedSource<T>>> loading = new LinkedHashMap<>();
+        final var parsers = identify(loadParsers());
+        parsers.forEach((identifier, catalog) ->
+                loading.put(identifier, load(identifier, catalog, sources.get(identifier))));
+
+        refreshing = CompletableFuture.allOf(loading.values().toArray(new CompletableFuture[0]))
+                .thenApply(complete -> replace(loading, System.currentTimeMillis() - time))
+                .whenComplete((refresh, error) -> {
+                    if (error != null) {
+                        log.error("Error refreshing catalog " + this.getClass() + ", keeping the previous one.",
+                                error);
+                    } else {
+                        applied(refresh);
+                        watch(parsers);
+                        log.info("Catalog " + this.getClass() + " refreshed: " + refresh);
+                    }
+                });
+        return refreshing;
+    }
+
+    private synchronized CatalogRefresh replace(final Map<String, CompletableFuture<ParsedSource<T>>> loading,
+                                                final long duration) {
+        final Map<String, ParsedSource<T>> refreshed = new LinkedHashMap<>();
+        int parsed = 0;
+        for (var entry : loading.entrySet()) {
+            var source = entry.getValue().join();
+            if (!source.parsed() && watched.containsKey(entry.getKey()) && sources.containsKey(entry.getKey())) {
+                //It may have changed while we were refreshing the rest
+                source = sources.get(entry.getKey());
+            }
+            refreshed.put(entry.getKey(), source);
+            if (source.parsed()) {
+                parsed++;
+            }
+        }
+        return apply(refreshed, parsed, duration);
+    }
+
+    //Replaces the content of the catalog with the elements of these sources, if any of them changed
+    private synchronized CatalogRefresh apply(final Map<String, ParsedSource<T>> refreshed, final int parsed,
+                                              final long duration) {
+        if (!changed(refreshed)) {
+            //Keep the generation, so whatever was built from it is still valid
+            sources.clear();
+            sources.putAll(refreshed);
+            return new CatalogRefresh(refreshed.size(), parsed, 0, 0, 0, duration);
+        }
+        final Map<String, T> elements = collect(refreshed.values());
+
+        final var previous = c.getSnapshot();
+        int added = 0;
+        int updated = 0;
+        for (T element : elements.values()) {
+            final var old = previous.searchByID(element.getId());
+            if (old == null) {
+                added++;
+            } else if (!unchanged(old, element)) {
+                updated++;
+            }
+        }
+        int removed = 0;
+        for (T old : previous.getAll()) {
+            if (old.getId() != null && !elements.containsKey(old.getId())) {
+                removed++;
+            }
         }
 
-        var waitingForWarmUp = CompletableFuture.allOf(
-                futureSteps.toArray(new CompletableFuture[0]));
-        waitingForWarmUp.thenAccept(complete ->
-                        ((ReadOnlyCatalog) getReadOnlyCatalog()).addCatalog(c))
-                .thenRun(() -> log.info("Catalog refreshed."));
+        published(c.replace(elements.values()));
+        sources.clear();
+        sources.putAll(refreshed);
+        order = List.copyOf(refreshed.keySet());
+        return new CatalogRefresh(refreshed.size(), parsed, added, updated, removed, duration);
+    }
+
+    //If the sources or their elements are not the ones already published
+    private boolean changed(final Map<String, ParsedSource<T>> refreshed) {
+        if (!List.copyOf(refreshed.keySet()).equals(order)) {
+            return true;
+        }
+        for (var entry : refreshed.entrySet()) {
+            final var previous = sources.get(entry.getKey());
+            final var elements = entry.getValue().elements();
+            if (previous == null || previous.elements().size() != elements.size()) {
+                return true;
+            }
+            for (int i = 0; i < elements.size(); i++) {
+                if (!unchanged(previous.elements().get(i), elements.get(i))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /*
+     * 🐱method unchanged : boolean
+     * 🐱param old: Metadata
+     * 🐱param element: Metadata
+     *
+     * If the element parsed again is the same as the one we already had.
+     */
+    protected boolean unchanged(final T old, final T element) {
+        return old == element || old != null && old.equals(element);
+    }
+
+    //Replaces the elements of a single source, as told by its watcher
+    private synchronized void patch(final String identifier, final List<T> elements) {
+        if (!sources.containsKey(identifier)) {
+            //Not part of the catalog anymore
+            return;
+        }
+        final var time = System.currentTimeMillis();
+        final Map<String, ParsedSource<T>> patched = new LinkedHashMap<>();
+        for (var id : order) {
+            if (sources.containsKey(id)) {
+                patched.put(id, id.equals(identifier) ? new ParsedSource<>(null, prepare(elements), true)
+                        : sources.get(id));
+            }
+        }
+        final var refresh = apply(patched, 1, System.currentTimeMillis() - time);
+        applied(refresh);
+        log.info("Catalog " + this.getClass() + " patched from " + identifier + ": " + refresh);
+    }
+
+    //Start watching the new live sources, stop watching the ones that are gone
+    private synchronized void watch(final Map<String, ParseCatalog<T>> parsers) {
+        watched.entrySet().removeIf(entry -> {
+            if (parsers.get(entry.getKey()) instanceof LiveParseCatalog<T>) {
+                return false;
+            }
+            entry.getValue().close();
+            return true;
+        });
+        parsers.forEach((identifier, parser) -> {
+            if (parser instanceof LiveParseCatalog<T> live && !watched.containsKey(identifier)
+                    && sources.containsKey(identifier)
+                    && live.watch(elements -> patch(identifier, elements))) {
+                watched.put(identifier, live);
+            }
+        });
+    }
+
+    /*
+     * 🐱method close
+     *
+     * Stops watching the sources of the catalog.
+     *
+     */
+    @PreDestroy
+    public synchronized void close() {
+        watched.values().forEach(LiveParseCatalog::close);
+        watched.clear();
+    }
+
+    private void applied(final CatalogRefresh refresh) {
+        lastRefresh = refresh;
+        record(refresh);
+        measure();
+    }
+
+    private void record(final CatalogRefresh refresh) {
+        if (registry == null) {
+            return;
+        }
+        final var catalog = getCatalogName();
+        registry.counter("kaoto.catalog.refresh.elements", "catalog", catalog, "change", "added")
+                .increment(refresh.added());
+        registry.counter("kaoto.catalog.refresh.elements", "catalog", catalog, "change", "updated")
+                .increment(refresh.updated());
+        registry.counter("kaoto.catalog.refresh.elements", "catalog", catalog, "change", "removed")
+                .increment(refresh.removed());
+        registry.counter("kaoto.catalog.refresh.sources", "catalog", catalog, "parsed", "true")
+                .increment(refresh.parsedSources());
+        registry.counter("kaoto.catalog.refresh.sources", "catalog", catalog, "parsed", "false")
+                .increment((double) refresh.sources() - refresh.parsedSources());
+        registry.timer("kaoto.catalog.refresh", "catalog", catalog)
+                .record(refresh.duration(), TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * 🐱method getCatalogName : String
+     *
+     * Name used to identify this catalog on logs and metrics.
+     */
+    protected String getCatalogName() {
+        return getClass().getSimpleName();
+    }
+
+    /*
+     * 🐱method getLastRefresh : CatalogRefresh
+     *
+     * Summary of the changes applied by the latest refresh, if any.
+     */
+    public CatalogRefresh getLastRefresh() {
+        return lastRefresh;
+    }
+
+    /*
+     * 🐱miniclass CatalogRefresh (AbstractCatalog)
+     *
+     * What changed on a refresh: how many sources there are, how many of
+     * them had to be parsed again, and how many elements were added,
+     * updated and removed.
+     */
+    public record CatalogRefresh(int sources, int parsedSources, int added, int updated, int removed,
+                                 long duration) {
+    }
+
+    //Elements of a source, with the fingerprint they were parsed from
+    private record ParsedSource<T>(String fingerprint, List<T> elements, boolean parsed) {
+        private ParsedSource {
+            elements = elements != null ? elements : List.of();
+        }
     }
 }
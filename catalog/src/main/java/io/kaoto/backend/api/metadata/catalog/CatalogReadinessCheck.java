@@ -0,0 +1,55 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.util.List;
+
+/**
+ * 🐱class CatalogReadinessCheck
+ * 🐱relationship dependsOn AbstractCatalog
+ *
+ * The backend is not ready to serve requests until all the catalogs have
+ * warmed up. Until then, anything asking for steps or view definitions
+ * would be blocked waiting for them.
+ */
+@Readiness
+@ApplicationScoped
+public class CatalogReadinessCheck implements HealthCheck {
+
+    private StepCatalog stepCatalog;
+    private ViewDefinitionCatalog viewCatalog;
+
+    @Override
+    public HealthCheckResponse call() {
+        final var builder = HealthCheckResponse.named("catalogs");
+        boolean up = true;
+        for (AbstractCatalog<?> catalog : List.of(stepCatalog, viewCatalog)) {
+            final var warmUp = catalog.waitForWarmUp();
+            final String state;
+            if (!warmUp.isDone()) {
+                state = "warming up";
+            } else if (warmUp.isCompletedExceptionally()) {
+                state = "failed";
+            } else {
+                state = "ready";
+            }
+            up &= "ready".equals(state);
+            builder.withData(catalog.getCatalogName(), state);
+        }
+        return builder.status(up).build();
+    }
+
+    @Inject
+    public void setStepCatalog(final StepCatalog stepCatalog) {
+        this.stepCatalog = stepCatalog;
+    }
+
+    @Inject
+    public void setViewCatalog(final ViewDefinitionCatalog viewCatalog) {
+        this.viewCatalog = viewCatalog;
+    }
+}
@@ -0,0 +1,73 @@
+package io.kaoto.backend.api.metadata.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🐱class IconRegistry
+ *
+ * Content-addressed store of icons. Each different icon is kept only once,
+ * identified by a hash of its content, so all the steps sharing an icon can
+ * point to the same instance and clients can retrieve it only once.
+ */
+public class IconRegistry {
+
+    private final Map<String, String> icons = new ConcurrentHashMap<>();
+
+    /*
+     * 🐱method register : String
+     * 🐱param icon: String
+     *
+     * Stores the icon if it wasn't already there and returns its reference.
+     */
+    public String register(final String icon) {
+        if (icon == null) {
+            return null;
+        }
+        final var reference = reference(icon);
+        icons.putIfAbsent(reference, icon);
+        return reference;
+    }
+
+    /*
+     * 🐱method get : String
+     * 🐱param reference: String
+     *
+     * Returns the icon identified by the reference, if any.
+     */
+    public String get(final String reference) {
+        if (reference == null) {
+            return null;
+        }
+        return icons.get(reference);
+    }
+
+    /*
+     * 🐱method retain
+     * 🐱param live: Map[String, String]
+     *
+     * Keeps only these icons, by reference, adding the ones missing. Icons
+     * kept are never missing in between.
+     */
+    public void retain(final Map<String, String> live) {
+        live.forEach(icons::putIfAbsent);
+        icons.keySet().retainAll(live.keySet());
+    }
+
+    public int size() {
+        return icons.size();
+    }
+
+    private static String reference(final String icon) {
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256").digest(icon.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to identify icons.", e);
+        }
+    }
+}
@@ -2,21 +2,34 @@ package io.kaoto.backend.api.metadata.catalog;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.kaoto.backend.metadata.LiveParseCatalog;
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.catalog.CatalogSnapshot;
+import io.kaoto.backend.metadata.catalog.CatalogSnapshotStore;
+import io.kaoto.backend.metadata.parser.ArchiveCache;
+import io.kaoto.backend.metadata.parser.GitCache;
+import io.kaoto.backend.metadata.parser.LocalFolderParseCatalog;
+import io.kaoto.backend.metadata.parser.StepDetailsCache;
 import io.kaoto.backend.model.configuration.Repository;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.runtime.Startup;
 import io.quarkus.scheduler.Scheduled;
 import io.smallrye.config.ConfigMapping;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * 🐱class StepCatalog
@@ -30,12 +43,38 @@ import java.util.concurrent.TimeUnit;
 public class StepCatalog extends AbstractCatalog<Step> {
 
     public static final String ALL = "all";
+
+    //Where the catalog precompiled at build time is found on the classpath
+    public static final String PRECOMPILED = "META-INF/kaoto/catalog";
+    public static final String INDEX = "index";
     private StepRepository repository;
 
     private Instance<StepCatalogParser> stepCatalogParsers;
 
     private KubernetesClient kclient;
 
+    private final IconRegistry icons = new IconRegistry();
+
+    @ConfigProperty(name = "quarkus.application.version", defaultValue = "unknown")
+    private String version;
+
+    private CatalogSnapshotStore<Step> snapshotStore;
+
+    private GitCache gitCache;
+
+    private StepDetailsCache detailsCache;
+
+    @Override
+    protected String getCatalogName() {
+        return "step";
+    }
+
+    @Override
+    protected String kindOf(final Step element) {
+        return element.getKind();
+    }
+
+    //Cluster first, then jars, local folders and git, each in the order they are configured
     @Override
     protected List<ParseCatalog<Step>> loadParsers() {
         List<ParseCatalog<Step>> catalogs = new ArrayList<>();
@@ -46,9 +85,118 @@ public class StepCatalog extends AbstractCatalog<Step> {
         addLocalFolder(catalogs, clusterAvailable);
         addGit(catalogs, clusterAvailable);
 
+        //Snapshots are saved complete, sources restored from them are summarized in detailsOnDemand instead.
+        //Live sources skip snapshots, so they are always summarized while parsing.
+        if (repository.lazyDetails() && detailsCache != null) {
+            final var store = getSnapshotStore();
+            catalogs.stream()
+                    .filter(catalog -> store == null || catalog instanceof LiveParseCatalog<Step>)
+                    .forEach(catalog -> catalog.setDetailsCache(detailsCache));
+        }
+
         return catalogs;
     }
 
+    /*
+     * 🐱method prepare : List[Step]
+     * 🐱param elements: List[Step]
+     *
+     * Moves the icons of the steps to the icon registry, so steps with
+     * the same icon share it and carry its reference.
+     */
+    @Override
+    protected List<Step> prepare(final List<Step> elements) {
+        if (elements != null) {
+            for (Step step : elements) {
+                if (step == null) {
+                    continue;
+                }
+                final var reference = icons.register(step.getIcon());
+                step.setIcon(icons.get(reference));
+                step.setIconReference(reference);
+            }
+        }
+        return elements;
+    }
+
+    /*
+     * 🐱method detailsOnDemand : List[Step]
+     * 🐱param elements: List[Step]
+     * 🐱param snapshot: Supplier[List[Step]]
+     *
+     * Summarizes the steps of a snapshot, unless lazy details are disabled.
+     */
+    @Override
+    protected List<Step> detailsOnDemand(final List<Step> elements, final Supplier<List<Step>> snapshot) {
+        if (repository.lazyDetails() && detailsCache != null) {
+            return detailsCache.summarize(elements, snapshot);
+        }
+        return elements;
+    }
+
+    /*
+     * 🐱method unchanged : boolean
+     * 🐱param old: Step
+     * 🐱param step: Step
+     *
+     * Summaries can't be compared without loading their details, so they
+     * are only the same step if they are the same instance.
+     */
+    @Override
+    protected boolean unchanged(final Step old, final Step step) {
+        if (old != null && old.isSummary() || step != null && step.isSummary()) {
+            return old == step;
+        }
+        return super.unchanged(old, step);
+    }
+
+    /*
+     * 🐱method published
+     * 🐱param snapshot: CatalogSnapshot[Step]
+     *
+     * Drops the icons no step of the catalog uses anymore.
+     */
+    @Override
+    protected void published(final CatalogSnapshot<Step> snapshot) {
+        final Map<String, String> live = new HashMap<>();
+        for (Step step : snapshot.getAll()) {
+            if (step.getIconReference() != null && step.getIcon() != null) {
+                live.putIfAbsent(step.getIconReference(), step.getIcon());
+            }
+        }
+        icons.retain(live);
+    }
+
+    @Override
+    protected synchronized CatalogSnapshotStore<Step> getSnapshotStore() {
+        if (snapshotStore == null) {
+            final var folder = repository.snapshotFolder().map(Path::of).orElse(null);
+            final var precompiled = StepCatalog.class.getClassLoader().getResource(PRECOMPILED + "/" + INDEX) != null
+                    ? PRECOMPILED : null;
+            if (folder != null || precompiled != null) {
+                snapshotStore = new CatalogSnapshotStore<>(folder, precompiled, Step.class, version);
+            }
+        }
+        return snapshotStore;
+    }
+
+    //Shared by all refreshes, it remembers what was parsed from each commit
+    private synchronized GitCache getGitCache() {
+        if (gitCache == null) {
+            gitCache = repository.gitFolder().map(Path::of).map(GitCache::new).orElse(null);
+        }
+        return gitCache;
+    }
+
+    /*
+     * 🐱method getIcons : IconRegistry
+     *
+     * Icons of the steps of this catalog.
+     */
+    public IconRegistry getIcons() {
+        return icons;
+    }
+
     private boolean isClusterAvailable() {
         boolean clusterAvailable = kclient != null;
         try {
@@ -61,23 +209,30 @@ public class StepCatalog extends AbstractCatalog<Step> {
         return clusterAvailable;
     }
 
+    //Always in the same order, so duplicated steps resolve the same way on every refresh
+    private List<StepCatalogParser> parsers() {
+        return stepCatalogParsers.stream()
+                .sorted(Comparator.comparing(parser -> parser.getClass().getName()))
+                .toList();
+    }
+
     private void addCluster(final List<ParseCatalog<Step>> catalogs,
                             final boolean clusterAvailable) {
         if (clusterAvailable) {
-            stepCatalogParsers.stream().parallel().forEach(parser -> catalogs.add(parser.getParserFromCluster()));
+            parsers().forEach(parser -> catalogs.add(parser.getParserFromCluster()));
         }
     }
 
     private void addGit(final List<ParseCatalog<Step>> catalogs, final boolean clusterAvailable) {
         //For all git in the configuration
-        repository.git().orElse(Collections.emptyList()).stream().parallel()
+        repository.git().orElse(Collections.emptyList()).stream()
                 //Filter depending on the cluster
                 .filter(git -> !git.ifNoCluster() || !clusterAvailable)
                 //And call only the parsers that apply
-                .forEach(git -> stepCatalogParsers.stream().parallel()
+                .forEach(git -> parsers()
                         .forEach(parser -> {
                             if (ALL.equalsIgnoreCase(git.kind()) || parser.generatesKind(git.kind())) {
-                                catalogs.add(parser.getParser(git.url(), git.tag()));
+                                catalogs.add(withGitCache(parser.getParser(git.url(), git.tag()), getGitCache()));
                             }
                         }));
 
@@ -85,29 +240,34 @@ public class StepCatalog extends AbstractCatalog<Step> {
 
     private void addLocalFolder(final List<ParseCatalog<Step>> catalogs, final boolean clusterAvailable) {
         //For all folders in the configuration
-        repository.localFolder().orElse(Collections.emptyList()).stream().parallel()
+        repository.localFolder().orElse(Collections.emptyList()).stream()
                 //Filter depending on the cluster
                 .filter(folder -> !folder.ifNoCluster() || !clusterAvailable)
                 //And call only the parsers that apply
-                .forEach(folder -> stepCatalogParsers.stream().parallel()
+                .forEach(folder -> parsers()
                         .forEach(parser -> {
                             if (ALL.equalsIgnoreCase(folder.kind()) || parser.generatesKind(folder.kind())) {
                                 File dir = new File(folder.url());
-                                catalogs.add(parser.getLocalFolder(dir.toPath()));
+                                var parseCatalog = parser.getLocalFolder(dir.toPath());
+                                if (folder.watch() && parseCatalog instanceof LocalFolderParseCatalog<Step> local) {
+                                    parseCatalog = local.watching(repository.watchDebounce());
+                                }
+                                catalogs.add(parseCatalog);
                             }
                         }));
     }
 
     private void addZipJar(final List<ParseCatalog<Step>> catalogs, final boolean clusterAvailable) {
+        final var archiveCache = repository.archiveFolder().map(Path::of).map(ArchiveCache::new).orElse(null);
         //For all jars in the configuration
-        repository.jar().orElse(Collections.emptyList()).stream().parallel()
+        repository.jar().orElse(Collections.emptyList()).stream()
                 //Filter depending on the cluster
                 .filter(jar -> !jar.ifNoCluster() || !clusterAvailable)
                 //And call only the parsers that apply
-                .forEach(jar -> stepCatalogParsers.stream().parallel()
+                .forEach(jar -> parsers()
                         .forEach(parser -> {
                             if (ALL.equalsIgnoreCase(jar.kind()) || parser.generatesKind(jar.kind())) {
-                                catalogs.add(parser.getParser(jar.url()));
+                                catalogs.add(withArchiveCache(parser.getParser(jar.url()), archiveCache));
                             }
                         }));
     }
@@ -126,6 +286,11 @@ public class StepCatalog extends AbstractCatalog<Step> {
         this.stepCatalogParsers = stepCatalogParsers;
     }
 
+    @Inject
+    public void setDetailsCache(final StepDetailsCache detailsCache) {
+        this.detailsCache = detailsCache;
+    }
+
     @Inject
     public void setKclient(final KubernetesClient kclient) {
         this.kclient = kclient;
@@ -3,6 +3,8 @@ package io.kaoto.backend.api.metadata.catalog;
 import io.quarkus.runtime.Startup;
 import io.smallrye.config.ConfigMapping;
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.parser.ArchiveCache;
+import io.kaoto.backend.metadata.parser.GitCache;
 import io.kaoto.backend.metadata.parser.view.ViewDefinitionParseCatalog;
 import io.kaoto.backend.model.configuration.Repository;
 import io.kaoto.backend.model.view.ViewDefinition;
@@ -10,6 +12,7 @@ import io.kaoto.backend.model.view.ViewDefinition;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -27,25 +30,43 @@ public class ViewDefinitionCatalog extends AbstractCatalog<ViewDefinition> {
 
     private ViewDefinitionCatalog.ViewDefinitionRepository repository;
 
+    private GitCache gitCache;
+
+    @Override
+    protected String getCatalogName() {
+        return "viewdefinition";
+    }
+
     @Override
     protected List<ParseCatalog<ViewDefinition>> loadParsers() {
         List<ParseCatalog<ViewDefinition>> catalogs = new ArrayList<>();
 
         //For all jars in the configuration
-        repository.jar().orElse(Collections.emptyList()).stream().parallel()
-                .forEach(jar -> catalogs.add(ViewDefinitionParseCatalog.getParser(jar.url())));
+        final var archiveCache = repository.archiveFolder().map(Path::of).map(ArchiveCache::new).orElse(null);
+        repository.jar().orElse(Collections.emptyList()).stream()
+                .forEach(jar -> catalogs.add(withArchiveCache(ViewDefinitionParseCatalog.getParser(jar.url()),
+                        archiveCache)));
 
         //For all git in the configuration
-        repository.git().orElse(Collections.emptyList()).stream().parallel()
-                .forEach(git -> catalogs.add(ViewDefinitionParseCatalog.getParser(git.url(), git.tag())));
+        repository.git().orElse(Collections.emptyList()).stream()
+                .forEach(git -> catalogs.add(withGitCache(ViewDefinitionParseCatalog.getParser(git.url(), git.tag()),
+                        getGitCache())));
 
         //For all folders in the configuration
-        repository.localFolder().orElse(Collections.emptyList()).stream().parallel()
+        repository.localFolder().orElse(Collections.emptyList()).stream()
                 .forEach(folder -> catalogs.add(ViewDefinitionParseCatalog.getParser(new File(folder.url()).toPath())));
 
         return catalogs;
     }
 
+    //Shared by all refreshes, it remembers what was parsed from each commit
+    private synchronized GitCache getGitCache() {
+        if (gitCache == null) {
+            gitCache = repository.gitFolder().map(Path::of).map(GitCache::new).orElse(null);
+        }
+        return gitCache;
+    }
+
     @Inject
     public void setRepository(
             final ViewDefinitionCatalog.ViewDefinitionRepository repo) {
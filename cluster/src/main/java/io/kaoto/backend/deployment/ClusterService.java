@@ -11,6 +11,7 @@ import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
 import io.kaoto.backend.api.service.deployment.generator.camelroute.IntegrationRepresenter;
 import io.kaoto.backend.api.service.dsl.DSLSpecification;
 import io.kaoto.backend.model.deployment.Deployment;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import io.smallrye.common.annotation.Blocking;
@@ -18,9 +19,7 @@ import io.smallrye.mutiny.Multi;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.logging.Logger;
-import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
@@ -176,8 +175,7 @@ public class ClusterService {
                         .withVersion(binding.getVersion())
                         .build();
 
-        var constructor = new Constructor(binding.getClass(), new LoaderOptions());
-        Yaml yaml = new Yaml(constructor, new IntegrationRepresenter());
+        Yaml yaml = Mappers.snakeYaml(binding.getClass(), IntegrationRepresenter.class, IntegrationRepresenter::new);
         kubernetesClient.genericKubernetesResources(context)
                 .inNamespace(getNamespace(namespace))
                 .load(new ByteArrayInputStream(yaml.dumpAsMap(binding).getBytes(StandardCharsets.UTF_8)))
@@ -1,6 +1,5 @@
 package io.kaoto.backend;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.fabric8.kubernetes.api.model.AnyType;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
@@ -66,6 +65,7 @@ import io.kaoto.backend.model.deployment.kamelet.step.ValidateFlowStep;
 import io.kaoto.backend.model.deployment.kamelet.step.WireTapFlowStep;
 import io.kaoto.backend.model.deployment.kamelet.step.dataformat.DataFormat;
 import io.kaoto.backend.model.deployment.rest.Rest;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.parameter.StringParameter;
 import io.kaoto.backend.model.step.Branch;
@@ -191,8 +191,7 @@ public class KamelPopulator {
             if (original_spec != null && original_spec instanceof KameletSpec ospec) {
                 spec = ospec;
             } else if (original_spec != null && original_spec instanceof Map ospec) {
-                ObjectMapper mapper = new ObjectMapper();
-                spec = mapper.convertValue(ospec, KameletSpec.class);
+                spec = Mappers.json().convertValue(ospec, KameletSpec.class);
             } else {
                 spec = new KameletSpec();
             }
@@ -215,8 +214,7 @@ public class KamelPopulator {
             if (metadata.get("definition") instanceof Definition def) {
                 kamelet.getSpec().setDefinition(def);
             } else if (metadata.get("definition") instanceof Map map) {
-                ObjectMapper objectMapper = new ObjectMapper();
-                Definition def = objectMapper.convertValue(map, Definition.class);
+                Definition def = Mappers.json().convertValue(map, Definition.class);
                 kamelet.getSpec().setDefinition(def);
             }
         }
@@ -3,8 +3,6 @@ package io.kaoto.backend.api.service.deployment.generator.kamelet;
 
 import static io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService.DESCRIPTION_ANNO;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
@@ -16,14 +14,15 @@ import io.kaoto.backend.model.deployment.Deployment;
 import io.kaoto.backend.model.deployment.kamelet.KameletBinding;
 import io.kaoto.backend.model.deployment.kamelet.KameletBindingStep;
 import io.kaoto.backend.model.deployment.kamelet.KameletBindingStepRef;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.api.trace.Span;
 import org.apache.camel.v1alpha1.KameletBindingSpec;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
-import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.nodes.Tag;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -45,6 +44,10 @@ public class KameletBindingDeploymentGeneratorService implements DeploymentGener
     private static final String KNATIVE = "KNATIVE";
     private static final List<String> KINDS = Arrays.asList(KAMELET, KNATIVE);
     private static final boolean IGNORE_CAMEL_COMPONENTS = true;
+    private static final YamlEmitter EMITTER = new YamlEmitter(KameletRepresenter.representations());
+
+    @ConfigProperty(name = YamlEmitter.DIRECT_EMITTER, defaultValue = "false")
+    private boolean directEmitter;
 
     @Inject
     private KameletBindingStepParserService stepParserService;
@@ -75,8 +78,7 @@ public class KameletBindingDeploymentGeneratorService implements DeploymentGener
             if (original_spec != null && original_spec instanceof KameletBindingSpec ospec) {
                 spec = ospec;
             } else if (original_spec != null && original_spec instanceof Map ospec) {
-                ObjectMapper mapper = new ObjectMapper();
-                spec = mapper.convertValue(ospec, KameletBindingSpec.class);
+                spec = Mappers.json().convertValue(ospec, KameletBindingSpec.class);
             } else {
                 spec = new KameletBindingSpec();
             }
@@ -106,7 +108,13 @@ public class KameletBindingDeploymentGeneratorService implements DeploymentGener
 
         KameletBinding binding = new KameletBinding(spec, metaObject);
 
-        Yaml yaml = new Yaml(new Constructor(KameletBinding.class, new LoaderOptions()), new KameletRepresenter());
+        if (directEmitter) {
+            final var direct = EMITTER.dump(binding, Tag.MAP);
+            if (direct != null) {
+                return direct;
+            }
+        }
+        Yaml yaml = Mappers.snakeYaml(KameletBinding.class, KameletRepresenter.class, KameletRepresenter::new);
         return yaml.dumpAsMap(binding);
     }
 
@@ -227,8 +235,7 @@ public class KameletBindingDeploymentGeneratorService implements DeploymentGener
     public CustomResource parse(final String input) {
         if (stepParserService.appliesTo(input)) {
             try {
-                ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
-                return yamlMapper.readValue(input, KameletBinding.class);
+                return Mappers.yamlReader(KameletBinding.class).readValue(input);
             } catch (Exception e) {
                 log.trace("Tried creating a kamelet binding and it didn't work.");
             }
@@ -286,4 +293,8 @@ public class KameletBindingDeploymentGeneratorService implements DeploymentGener
     public Stream<Step> filterCatalog(Step previousStep, Step followingStep, Stream<Step> steps) {
         return steps;
     }
+
+    public void setDirectEmitter(final boolean directEmitter) {
+        this.directEmitter = directEmitter;
+    }
 }
@@ -1,7 +1,5 @@
 package io.kaoto.backend.api.service.deployment.generator.kamelet;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -11,13 +9,13 @@ import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService;
 import io.kaoto.backend.model.deployment.Deployment;
 import io.kaoto.backend.model.deployment.kamelet.Kamelet;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.api.trace.Span;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.representer.Representer;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -28,11 +26,17 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 @ApplicationScoped
 public class KameletDeploymentGeneratorService implements DeploymentGeneratorService {
 
+    private static final YamlEmitter EMITTER = new YamlEmitter(KameletRepresenter.representations());
+
+    @ConfigProperty(name = YamlEmitter.DIRECT_EMITTER, defaultValue = "false")
+    private boolean directEmitter;
+
     private KameletStepParserService stepParserService;
 
     private StepCatalog catalog;
@@ -52,7 +56,7 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
                         metadata != null ? new LinkedHashMap<>(metadata) : Map.of(),
                         parameters != null ? new LinkedList<>(parameters) : List.of(),
                         catalog),
-                new KameletRepresenter());
+                EMITTER, KameletRepresenter.class, KameletRepresenter::new);
     }
 
     @Override
@@ -76,12 +80,34 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
         return parse(route.getSteps(), route.getMetadata(), route.getParameters());
     }
 
-    public String getYAML(final CustomResource kamelet,
-                          final Representer representer) {
-    Yaml yaml = new Yaml(
-                new Constructor(Kamelet.class, new LoaderOptions()),
-                representer);
-        return yaml.dumpAsMap(kamelet);
+    public <R extends Representer> String getYAML(final CustomResource kamelet,
+                                                  final Class<R> representer,
+                                                  final Supplier<R> factory) {
+        return Mappers.snakeYaml(Kamelet.class, representer, factory).dumpAsMap(kamelet);
+    }
+
+    /*
+     * 🐱method getYAML: String
+     * 🐱param kamelet: CustomResource
+     * 🐱param emitter: YamlEmitter
+     * 🐱param representer: Class
+     * 🐱param factory: Supplier
+     *
+     * Same as the YAML from the representer, but written directly by the
+     * emitter when `kaoto.generator.direct-emitter` is enabled and the
+     * emitter can write it.
+     */
+    public <R extends Representer> String getYAML(final CustomResource kamelet,
+                                                  final YamlEmitter emitter,
+                                                  final Class<R> representer,
+                                                  final Supplier<R> factory) {
+        if (directEmitter) {
+            final var yaml = emitter.dump(kamelet, Tag.MAP);
+            if (yaml != null) {
+                return yaml;
+            }
+        }
+        return getYAML(kamelet, representer, factory);
     }
 
     @Override
@@ -109,8 +135,7 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
     public CustomResource parse(final String input) {
         if (stepParserService.appliesTo(input)) {
             try {
-                ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
-                return yamlMapper.readValue(input, Kamelet.class);
+                return Mappers.yamlReader(Kamelet.class).readValue(input);
             } catch (Exception e) {
                 log.trace("Tried creating a kamelet and it didn't work.");
             }
@@ -148,6 +173,10 @@ public class KameletDeploymentGeneratorService implements DeploymentGeneratorSer
         return steps;
     }
 
+    public void setDirectEmitter(final boolean directEmitter) {
+        this.directEmitter = directEmitter;
+    }
+
     @Inject
     public void setStepParserService(final KameletStepParserService stepParserService, final StepCatalog catalog) {
         this.stepParserService = stepParserService;
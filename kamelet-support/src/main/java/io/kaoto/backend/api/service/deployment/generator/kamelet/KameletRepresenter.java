@@ -1,8 +1,6 @@
 package io.kaoto.backend.api.service.deployment.generator.kamelet;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.kaoto.backend.model.deployment.kamelet.Bean;
 import io.kaoto.backend.model.deployment.kamelet.Flow;
@@ -66,6 +64,7 @@ import io.kaoto.backend.model.deployment.kamelet.step.WireTapFlowStep;
 import io.kaoto.backend.model.deployment.kamelet.step.choice.Choice;
 import io.kaoto.backend.model.deployment.kamelet.step.choice.Otherwise;
 import io.kaoto.backend.model.deployment.kamelet.step.choice.SuperChoice;
+import io.kaoto.backend.model.mapper.Mappers;
 import org.apache.camel.v1alpha1.KameletBindingSpec;
 import org.apache.camel.v1alpha1.KameletSpec;
 import org.yaml.snakeyaml.DumperOptions;
@@ -76,10 +75,28 @@ import org.yaml.snakeyaml.nodes.NodeTuple;
 import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.representer.Representer;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-
+import java.util.function.Function;
+
+/**
+ * 🐱class KameletRepresenter
+ *
+ * Represents Kamelets and their steps on the order the Camel YAML DSL
+ * expects.
+ *
+ * How each class is represented is kept on a table, checked on order, that
+ * is built once and shared: the representers and the YamlEmitter both use
+ * it, so they always write the same document.
+ *
+ * Representers keep state while they dump a document, so they can't be
+ * shared between threads: use the one of the current thread from
+ * `Mappers.snakeYaml`. Everything they need is configured once, when they
+ * are built, and reused for every document afterwards.
+ */
 public class KameletRepresenter extends Representer {
 
     public static final String SIMPLE = "simple";
@@ -93,302 +110,261 @@ public class KameletRepresenter extends Representer {
     public static final String PARAMETERS = "parameters";
     public static final String URI = "uri";
     public static final String NAME = "name";
+    protected static final TypeReference<Map<String, Object>> PROPERTIES = new TypeReference<>() {
+    };
+
+    //Can we dynamically add this without Quarkus removing the classes
+    // and making a mess?
+    private static final List<Class<?>> EIPS = List.of(
+            AggregateFlowStep.class,
+            ClaimCheckFlowStep.class,
+            CircuitBreakerFlowStep.class,
+            ChoiceFlowStep.class,
+            ConvertBodyToFlowStep.class,
+            DelayFlowStep.class,
+            DynamicRouterFlowStep.class,
+            EnrichFlowStep.class,
+            Expression.class,
+            FilterFlowStep.class,
+            From.class,
+            IdempotentConsumerFlowStep.class,
+            LoadBalanceFlowStep.class,
+            LogFlowStep.class,
+            LoopFlowStep.class,
+            MarshalFlowStep.class,
+            MulticastFlowStep.class,
+            RemoveHeaderFlowStep.class,
+            RemoveHeadersFlowStep.class,
+            RemovePropertiesFlowStep.class,
+            RemovePropertyFlowStep.class,
+            ResequenceFlowStep.class,
+            RollbackFlowStep.class,
+            RoutingSlipFlowStep.class,
+            SetBodyFlowStep.class,
+            SetHeaderFlowStep.class,
+            SetPropertyFlowStep.class,
+            SplitFlowStep.class,
+            PipelineFlowStep.class,
+            PollEnrichFlowStep.class,
+            ProcessFlowStep.class,
+            RecipientListFlowStep.class,
+            SagaFlowStep.class,
+            SampleFlowStep.class,
+            ScriptFlowStep.class,
+            ServiceCallFlowStep.class,
+            SortFlowStep.class,
+            StopFlowStep.class,
+            SetExchangePatternFlowStep.class,
+            ThreadsFlowStep.class,
+            ThrottleFlowStep.class,
+            ThrowExceptionFlowStep.class,
+            ToFlowStep.class,
+            ToDynamicFlowStep.class,
+            TransactedFlowStep.class,
+            TransformFlowStep.class,
+            TryCatchFlowStep.class,
+            UnmarshalFlowStep.class,
+            UriFlowStep.class,
+            ValidateFlowStep.class,
+            WireTapFlowStep.class);
+
+    private static final Map<Class<?>, Representation> REPRESENTATIONS = Collections.unmodifiableMap(kamelet());
 
     public KameletRepresenter() {
+        this(representations());
+    }
+
+    protected KameletRepresenter(final Map<Class<?>, Representation> representations) {
         super(new DumperOptions());
         this.getPropertyUtils().setSkipMissingProperties(true);
         this.getPropertyUtils().setAllowReadOnlyProperties(true);
         this.getPropertyUtils().setBeanAccess(BeanAccess.FIELD);
 
-        customResource();
-
-        //proper order sink steps and source
-        spec();
-
-        //For each type of FlowStep or custom classes, create a representer
-        addEIP();
+        representations.forEach(this::represent);
     }
 
-    private void customResource() {
-        this.multiRepresenters.put(CustomResource.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        ObjectMapper objectMapper = new ObjectMapper();
-                        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-                        Map<String, Object> properties = objectMapper.convertValue(data,
-                                new TypeReference<Map<String, Object>>() {});
-                        CustomResource cr = (CustomResource) data;
-
-                        final var objectMeta = cr.getMetadata();
-                        final var metadata = (Map<String, Object>) properties.get("metadata");
-
-                        if (objectMeta.getAdditionalProperties() != null
-                                && !objectMeta.getAdditionalProperties().isEmpty()) {
-                            metadata.put("additionalProperties", new LinkedHashMap<String, Object>());
-                            ((Map<String, Object>) metadata.get("additionalProperties"))
-                                    .putAll(objectMeta.getAdditionalProperties());
-                            for (var key : objectMeta.getAdditionalProperties().keySet()) {
-                                metadata.remove(key);
-                            }
-                        } else {
-                            metadata.remove("additionalProperties");
-                        }
-
-                        if (objectMeta.getAnnotations() != null && !objectMeta.getAnnotations().isEmpty()) {
-                            metadata.put("annotations", new LinkedHashMap<String, Object>());
-                            ((Map<String, Object>) metadata.get("annotations")).putAll(objectMeta.getAnnotations());
-                            for (var key : objectMeta.getAnnotations().keySet()) {
-                                metadata.remove(key);
-                            }
-                        } else {
-                            metadata.remove("annotations");
-                        }
-
-                        if (objectMeta.getLabels() != null && !objectMeta.getLabels().isEmpty()) {
-                            metadata.put("labels", new LinkedHashMap<String, String>());
-                            ((Map<String, String>) metadata.get("labels")).putAll(objectMeta.getLabels());
-                            for (var key : objectMeta.getLabels().keySet()) {
-                                metadata.remove(key);
-                            }
-                        } else {
-                            metadata.remove("labels");
-                        }
-
-                        properties.put("spec", cr.getSpec());
-
-                        return representMapping(getTag(data.getClass(), Tag.MAP), properties,
-                                DumperOptions.FlowStyle.AUTO);
-                    }
-                });
+    /*
+     * 🐱method representations: Map
+     *
+     * How each class of a Kamelet or a Kamelet Binding is represented, on
+     * the order they are checked.
+     */
+    public static Map<Class<?>, Representation> representations() {
+        return REPRESENTATIONS;
     }
 
-    private void spec() {
-        //spec does not have the right order
-        final var objectMapper = new ObjectMapper();
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        this.multiRepresenters.put(KameletBindingSpec.class,
-            new RepresentMap() {
-                @Override
-                public Node representData(final Object data) {
-                    Map<String, Object> properties = new LinkedHashMap<>();
-                    KameletBindingSpec spec = (KameletBindingSpec) data;
-                    //Ordering
-                    properties.put("source", null);
-                    if (spec.getSteps() != null) {
-                        properties.put(STEPS, null);
-                    }
-                    properties.put("sink", null);
-                    properties.putAll(
-                            objectMapper.convertValue(data, new TypeReference<Map<String, Object>>() {}));
-                    return representMapping(getTag(data.getClass(), Tag.MAP), properties, DumperOptions.FlowStyle.AUTO);
+    private void represent(final Class<?> type, final Representation representation) {
+        this.multiRepresenters.put(type, new RepresentMap() {
+            @Override
+            public Node representData(final Object data) {
+                final var properties = representation.properties().apply(data);
+                if (properties instanceof List<?> items) {
+                    return representSequence(getTag(Object.class, Tag.SEQ), items, representation.flowStyle());
                 }
-            });
+                return representMapping(getTag(data.getClass(), Tag.MAP), (Map<?, ?>) properties,
+                        representation.flowStyle());
+            }
+        });
+    }
 
-        this.multiRepresenters.put(KameletSpec.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        Map<String, Object> properties = new LinkedHashMap<>();
-                        KameletSpec spec = (KameletSpec) data;
-                        properties.putAll(
-                                new ObjectMapper().convertValue(data, new TypeReference<Map<String, Object>>() {}));
-                        properties.put("template", spec.getTemplate());
-                        return representMapping(
-                                getTag(data.getClass(), Tag.MAP), properties, DumperOptions.FlowStyle.AUTO);
-                    }
-                });
+    private static Map<Class<?>, Representation> kamelet() {
+        Map<Class<?>, Representation> representations = new LinkedHashMap<>();
+        representations.put(CustomResource.class, auto(data -> resourceProperties((CustomResource<?, ?>) data)));
 
-        this.multiRepresenters.put(KameletTemplate.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        Map<String, Object> properties = new LinkedHashMap<>();
-                        KameletTemplate template = (KameletTemplate) data;
-                        if (template.getId() != null) {
-                            properties.put("id", template.getId());
-                        }
-                        if (template.getDescription() != null) {
-                            properties.put("description", template.getDescription());
-                        }
-                        if (template.getBeans() != null) {
-                            properties.put("beans", template.getBeans());
-                        }
-                        if (template.getRoute() != null) {
-                            properties.put("route", template.getRoute());
-                        } else {
-                            properties.put("from", template.getFrom());
-                        }
-                        return representMapping(getTag(data.getClass(), Tag.MAP), properties,
-                                DumperOptions.FlowStyle.BLOCK);
-                    }
-                });
-        this.multiRepresenters.put(Bean.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        ObjectMapper mapper = new ObjectMapper();
-                        Map<String, Object> properties = mapper.convertValue(data,
-                                new TypeReference<Map<String, Object>>() {});
-                        return representMapping(getTag(data.getClass(), Tag.MAP),
-                                properties,
-                                DumperOptions.FlowStyle.AUTO);
-                    }
-                });
-        this.multiRepresenters.put(Flow.class,
-                new RepresentMap() {
-                    @Override
-                    public Node representData(final Object data) {
-                        Map<String, Object> properties = new LinkedHashMap<>();
-                        Flow flow = (Flow) data;
-                        if (flow.getId() != null) {
-                            properties.put("id", flow.getId());
-                        }
-                        if (flow.getDescription() != null) {
-                            properties.put("description", flow.getDescription());
-                        }
-                        if (flow.getFrom() != null) {
-                            properties.put("from", flow.getFrom());
-                        }
-                        return representMapping(getTag(data.getClass(), Tag.MAP),
-                                properties,
-                                DumperOptions.FlowStyle.AUTO);
-                    }
-                });
+        //proper order sink steps and source
+        representations.put(KameletBindingSpec.class, auto(data -> bindingSpecProperties((KameletBindingSpec) data)));
+        representations.put(KameletSpec.class, auto(data -> kameletSpecProperties((KameletSpec) data)));
+        representations.put(KameletTemplate.class, new Representation(
+                data -> templateProperties((KameletTemplate) data), DumperOptions.FlowStyle.BLOCK));
+        representations.put(Bean.class, auto(data -> Mappers.json().convertValue(data, PROPERTIES)));
+        representations.put(Flow.class, auto(data -> flowProperties((Flow) data)));
+
+        //For each type of FlowStep or custom classes, create a representer
+        for (var eip : EIPS) {
+            representations.put(eip, auto(data -> ((FlowStep) data).getRepresenterProperties()));
+        }
+        representations.put(Expression.class, auto(data -> ((Expression) data).getRepresenterProperties()));
+        representations.put(Script.class, auto(data -> ((Script) data).getRepresenterProperties()));
+        representations.put(ScriptExpression.class,
+                auto(data -> ((ScriptExpression) data).getRepresenterProperties()));
+
+        representations.put(Choice.class, auto(data -> conditionBlockProperties((ConditionBlock) data)));
+        representations.put(Otherwise.class, auto(data -> {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put(STEPS, ((Otherwise) data).getSteps());
+            return properties;
+        }));
+        representations.put(SuperChoice.class, auto(data -> superChoiceProperties((SuperChoice) data)));
+        representations.put(Filter.class, auto(data -> conditionBlockProperties((ConditionBlock) data)));
+        return representations;
     }
 
-    private void addEIP() {
-        //Can we dynamically add this without Quarkus removing the classes
-        // and making a mess?
-        var eips = new Class[] {
-                AggregateFlowStep.class,
-                ClaimCheckFlowStep.class,
-                CircuitBreakerFlowStep.class,
-                ChoiceFlowStep.class,
-                ConvertBodyToFlowStep.class,
-                DelayFlowStep.class,
-                DynamicRouterFlowStep.class,
-                EnrichFlowStep.class,
-                Expression.class,
-                FilterFlowStep.class,
-                From.class,
-                IdempotentConsumerFlowStep.class,
-                LoadBalanceFlowStep.class,
-                LogFlowStep.class,
-                LoopFlowStep.class,
-                MarshalFlowStep.class,
-                MulticastFlowStep.class,
-                RemoveHeaderFlowStep.class,
-                RemoveHeadersFlowStep.class,
-                RemovePropertiesFlowStep.class,
-                RemovePropertyFlowStep.class,
-                ResequenceFlowStep.class,
-                RollbackFlowStep.class,
-                RoutingSlipFlowStep.class,
-                SetBodyFlowStep.class,
-                SetHeaderFlowStep.class,
-                SetPropertyFlowStep.class,
-                SplitFlowStep.class,
-                PipelineFlowStep.class,
-                PollEnrichFlowStep.class,
-                ProcessFlowStep.class,
-                RecipientListFlowStep.class,
-                SagaFlowStep.class,
-                SampleFlowStep.class,
-                ScriptFlowStep.class,
-                ServiceCallFlowStep.class,
-                SortFlowStep.class,
-                StopFlowStep.class,
-                SetExchangePatternFlowStep.class,
-                ThreadsFlowStep.class,
-                ThrottleFlowStep.class,
-                ThrowExceptionFlowStep.class,
-                ToFlowStep.class,
-                ToDynamicFlowStep.class,
-                TransactedFlowStep.class,
-                TransformFlowStep.class,
-                TryCatchFlowStep.class,
-                UnmarshalFlowStep.class,
-                UriFlowStep.class,
-                ValidateFlowStep.class,
-                WireTapFlowStep.class
-        };
+    /*
+     * 🐱method auto: Representation
+     * 🐱param properties: Function
+     *
+     * Representation with the properties returned by the function, on the
+     * default flow style.
+     */
+    protected static Representation auto(final Function<Object, Object> properties) {
+        return new Representation(properties, DumperOptions.FlowStyle.AUTO);
+    }
 
-        for (var eip : eips) {
-            this.multiRepresenters.put(eip, new RepresentMap() {
-                @Override
-                public Node representData(final Object data) {
-                    return representMapping(getTag(data.getClass(), Tag.MAP),
-                            ((FlowStep) data).getRepresenterProperties(), DumperOptions.FlowStyle.AUTO);
-                }
-            });
+    //What Jackson writes for the resource, without converting the spec: it is represented on its own
+    private static Map<String, Object> resourceProperties(final CustomResource<?, ?> cr) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        if (cr.getApiVersion() != null) {
+            properties.put("apiVersion", cr.getApiVersion());
+        }
+        if (cr.getKind() != null) {
+            properties.put("kind", cr.getKind());
+        }
+        final var objectMeta = cr.getMetadata();
+        final Map<String, Object> metadata = Mappers.jsonWithoutNulls().convertValue(objectMeta, PROPERTIES);
+        properties.put("metadata", metadata);
+        properties.put("spec", cr.getSpec());
+        if (cr.getStatus() != null) {
+            properties.put("status", Mappers.jsonWithoutNulls().convertValue(cr.getStatus(), PROPERTIES));
         }
 
-        this.multiRepresenters.put(Expression.class, new RepresentMap() {
-            @Override
-            public Node representData(final Object data) {
-                return representMapping(getTag(data.getClass(), Tag.MAP),
-                        ((Expression) data).getRepresenterProperties(), DumperOptions.FlowStyle.AUTO);
+        if (objectMeta.getAdditionalProperties() != null
+                && !objectMeta.getAdditionalProperties().isEmpty()) {
+            metadata.put("additionalProperties", new LinkedHashMap<String, Object>());
+            ((Map<String, Object>) metadata.get("additionalProperties"))
+                    .putAll(objectMeta.getAdditionalProperties());
+            for (var key : objectMeta.getAdditionalProperties().keySet()) {
+                metadata.remove(key);
             }
-        });
+        } else {
+            metadata.remove("additionalProperties");
+        }
 
-        this.multiRepresenters.put(Script.class, new RepresentMap() {
-            @Override
-            public Node representData(final Object data) {
-                return representMapping(getTag(data.getClass(), Tag.MAP),
-                        ((Script) data).getRepresenterProperties(), DumperOptions.FlowStyle.AUTO);
+        if (objectMeta.getAnnotations() != null && !objectMeta.getAnnotations().isEmpty()) {
+            metadata.put("annotations", new LinkedHashMap<String, Object>());
+            ((Map<String, Object>) metadata.get("annotations")).putAll(objectMeta.getAnnotations());
+            for (var key : objectMeta.getAnnotations().keySet()) {
+                metadata.remove(key);
             }
-        });
+        } else {
+            metadata.remove("annotations");
+        }
 
-        this.multiRepresenters.put(ScriptExpression.class, new RepresentMap() {
-            @Override
-            public Node representData(final Object data) {
-                return representMapping(getTag(data.getClass(), Tag.MAP),
-                        ((ScriptExpression) data).getRepresenterProperties(), DumperOptions.FlowStyle.AUTO);
+        if (objectMeta.getLabels() != null && !objectMeta.getLabels().isEmpty()) {
+            metadata.put("labels", new LinkedHashMap<String, String>());
+            ((Map<String, String>) metadata.get("labels")).putAll(objectMeta.getLabels());
+            for (var key : objectMeta.getLabels().keySet()) {
+                metadata.remove(key);
             }
-        });
+        } else {
+            metadata.remove("labels");
+        }
+        return properties;
+    }
 
-        choice();
-        filter();
+    //spec does not have the right order
+    private static Map<String, Object> bindingSpecProperties(final KameletBindingSpec spec) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        //Ordering
+        properties.put("source", null);
+        if (spec.getSteps() != null) {
+            properties.put(STEPS, null);
+        }
+        properties.put("sink", null);
+        properties.putAll(Mappers.jsonWithoutNulls().convertValue(spec, PROPERTIES));
+        return properties;
     }
 
-    private void choice() {
-        this.multiRepresenters.put(Choice.class, new RepresentMap() {
-            @Override
-            public Node representData(final Object data) {
-                return representConditionBlock(data);
-            }
-        });
+    private static Map<String, Object> kameletSpecProperties(final KameletSpec spec) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.putAll(Mappers.json().convertValue(spec, PROPERTIES));
+        properties.put("template", spec.getTemplate());
+        return properties;
+    }
 
-        this.multiRepresenters.put(Otherwise.class, new RepresentMap() {
-            @Override
-            public Node representData(final Object data) {
-                Map<String, Object> properties = new HashMap<>();
-                Otherwise step = (Otherwise) data;
-                properties.put(STEPS, step.getSteps());
-                return representMapping(getTag(data.getClass(), Tag.MAP), properties,
-                        DumperOptions.FlowStyle.AUTO);
-            }
-        });
+    private static Map<String, Object> templateProperties(final KameletTemplate template) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        if (template.getId() != null) {
+            properties.put("id", template.getId());
+        }
+        if (template.getDescription() != null) {
+            properties.put("description", template.getDescription());
+        }
+        if (template.getBeans() != null) {
+            properties.put("beans", template.getBeans());
+        }
+        if (template.getRoute() != null) {
+            properties.put("route", template.getRoute());
+        } else {
+            properties.put("from", template.getFrom());
+        }
+        return properties;
+    }
 
-        this.multiRepresenters.put(SuperChoice.class, new RepresentMap() {
-            @Override
-            public Node representData(final Object data) {
-                Map<String, Object> properties = new LinkedHashMap<>();
-                SuperChoice step = (SuperChoice) data;
-                properties.put("when", step.getChoice());
-                if (step.getOtherwise() != null) {
-                    properties.put("otherwise", step.getOtherwise());
-                }
-                return representMapping(getTag(data.getClass(), Tag.MAP), properties,
-                        DumperOptions.FlowStyle.AUTO);
-            }
-        });
+    private static Map<String, Object> flowProperties(final Flow flow) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        if (flow.getId() != null) {
+            properties.put("id", flow.getId());
+        }
+        if (flow.getDescription() != null) {
+            properties.put("description", flow.getDescription());
+        }
+        if (flow.getFrom() != null) {
+            properties.put("from", flow.getFrom());
+        }
+        return properties;
+    }
+
+    private static Map<String, Object> superChoiceProperties(final SuperChoice step) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("when", step.getChoice());
+        if (step.getOtherwise() != null) {
+            properties.put("otherwise", step.getOtherwise());
+        }
+        return properties;
     }
 
-    private Node representConditionBlock(final Object data) {
+    private static Map<String, Object> conditionBlockProperties(final ConditionBlock step) {
         Map<String, Object> properties = new HashMap<>();
-        ConditionBlock step = (ConditionBlock) data;
         properties.put(STEPS, step.getSteps());
         if (step.getSimple() != null && !step.getSimple().isEmpty()) {
             properties.put(SIMPLE, step.getSimple());
@@ -399,17 +375,7 @@ public class KameletRepresenter extends Representer {
         } else if (step.getExpression() != null) {
             properties.put(EXPRESSION, step.getExpression());
         }
-        return representMapping(getTag(data.getClass(), Tag.MAP), properties,
-                DumperOptions.FlowStyle.AUTO);
-    }
-
-    private void filter() {
-        this.multiRepresenters.put(Filter.class, new RepresentMap() {
-            @Override
-            public Node representData(final Object data) {
-                return representConditionBlock(data);
-            }
-        });
+        return properties;
     }
 
     @Override
@@ -429,4 +395,13 @@ public class KameletRepresenter extends Representer {
 
         return super.representJavaBeanProperty(javaBean, property, propertyValue, customTag);
     }
+
+    /**
+     * 🐱miniclass Representation (KameletRepresenter)
+     *
+     * How instances of a class are represented: the properties of the
+     * mapping, or the items of the sequence, and its flow style.
+     */
+    public record Representation(Function<Object, Object> properties, DumperOptions.FlowStyle flowStyle) {
+    }
 }
@@ -0,0 +1,208 @@
+package io.kaoto.backend.api.service.deployment.generator.kamelet;
+
+import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter.Representation;
+import org.jboss.logging.Logger;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 🐱class YamlEmitter
+ * 🐱relationship dependsOn KameletRepresenter
+ *
+ * Writes documents straight to the SnakeYAML emitter, with the same
+ * representations the representers use, but without converting the
+ * document to a tree of nodes first.
+ *
+ * The result is the same, byte by byte, as dumping the document in block
+ * style with the representer. Documents with something the representations
+ * don't cover, like plain beans, or with the same object twice, which
+ * SnakeYAML writes as an alias, can't be emitted here: dump them with the
+ * representer instead.
+ *
+ * Emitters don't keep any state between documents, they can be shared.
+ * Generators use them when `kaoto.generator.direct-emitter` is enabled.
+ */
+public final class YamlEmitter {
+
+    public static final String DIRECT_EMITTER = "kaoto.generator.direct-emitter";
+
+    private static final Logger LOG = Logger.getLogger(YamlEmitter.class);
+    private static final Resolver RESOLVER = new Resolver();
+    private static final Pattern MULTILINE = Pattern.compile("\n|\\u0085|\\u2028|\\u2029");
+
+    private final Map<Class<?>, Representation> representations;
+
+    public YamlEmitter(final Map<Class<?>, Representation> representations) {
+        this.representations = representations;
+    }
+
+    /*
+     * 🐱method dump: String
+     * 🐱param document: Object
+     * 🐱param rootTag: Tag
+     *
+     * The document in YAML, with the root tag provided. Null if the
+     * document can't be emitted directly.
+     */
+    public String dump(final Object document, final Tag rootTag) {
+        final var writer = new StringWriter();
+        try {
+            new Document(new Emitter(writer, new DumperOptions())).write(document, rootTag);
+        } catch (Unsupported e) {
+            LOG.debug("Can't emit " + document.getClass() + " directly: " + e.getMessage());
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    private Representation representation(final Object data) {
+        for (var representation : representations.entrySet()) {
+            if (representation.getKey().isInstance(data)) {
+                return representation.getValue();
+            }
+        }
+        return null;
+    }
+
+    //Same events the SnakeYAML serializer sends for the nodes the representer would build
+    private final class Document {
+
+        private final Emitter emitter;
+        private final Map<Object, Boolean> represented = new IdentityHashMap<>();
+
+        private Document(final Emitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void write(final Object document, final Tag rootTag) throws IOException {
+            emitter.emit(new StreamStartEvent(null, null));
+            emitter.emit(new DocumentStartEvent(null, null, false, null, null));
+            node(document, rootTag);
+            emitter.emit(new DocumentEndEvent(null, null, false));
+            emitter.emit(new StreamEndEvent(null, null));
+        }
+
+        private void node(final Object data, final Tag root) throws IOException {
+            if (data == null) {
+                scalar(Tag.NULL, "null", DumperOptions.ScalarStyle.PLAIN, root);
+            } else if (data instanceof String value) {
+                string(value, root);
+            } else if (data instanceof Boolean value) {
+                scalar(Tag.BOOL, value.toString(), DumperOptions.ScalarStyle.PLAIN, root);
+            } else if (data instanceof Number value) {
+                number(value, root);
+            } else if (data instanceof List<?> items) {
+                sequence(data, items, root);
+            } else if (data instanceof Map<?, ?> properties) {
+                mapping(data, properties, root);
+            } else {
+                final var representation = representation(data);
+                if (representation == null) {
+                    throw new Unsupported(data.getClass().getName());
+                }
+                final var properties = representation.properties().apply(data);
+                if (properties instanceof List<?> items) {
+                    sequence(data, items, root);
+                } else {
+                    mapping(data, (Map<?, ?>) properties, root);
+                }
+            }
+        }
+
+        private void string(final String value, final Tag root) throws IOException {
+            if (!StreamReader.isPrintable(value)) {
+                throw new Unsupported("binary value");
+            }
+            scalar(Tag.STR, value, MULTILINE.matcher(value).find()
+                    ? DumperOptions.ScalarStyle.LITERAL : DumperOptions.ScalarStyle.PLAIN, root);
+        }
+
+        private void number(final Number number, final Tag root) throws IOException {
+            if (number instanceof Byte || number instanceof Short || number instanceof Integer
+                    || number instanceof Long || number instanceof BigInteger) {
+                scalar(Tag.INT, number.toString(), DumperOptions.ScalarStyle.PLAIN, root);
+                return;
+            }
+            final String value;
+            if (number.equals(Double.NaN)) {
+                value = ".NaN";
+            } else if (number.equals(Double.POSITIVE_INFINITY)) {
+                value = ".inf";
+            } else if (number.equals(Double.NEGATIVE_INFINITY)) {
+                value = "-.inf";
+            } else {
+                value = number.toString();
+            }
+            scalar(Tag.FLOAT, value, DumperOptions.ScalarStyle.PLAIN, root);
+        }
+
+        private void scalar(final Tag type, final String value, final DumperOptions.ScalarStyle style,
+                            final Tag root) throws IOException {
+            final var tag = root != null ? root : type;
+            final var implicit = new ImplicitTuple(tag.equals(RESOLVER.resolve(NodeId.scalar, value, true)),
+                    tag.equals(RESOLVER.resolve(NodeId.scalar, value, false)));
+            emitter.emit(new ScalarEvent(null, tag.getValue(), implicit, value, null, null, style));
+        }
+
+        private void sequence(final Object data, final List<?> items, final Tag root) throws IOException {
+            represented(data);
+            final var tag = root != null ? root : Tag.SEQ;
+            emitter.emit(new SequenceStartEvent(null, tag.getValue(), tag.equals(Tag.SEQ), null, null,
+                    DumperOptions.FlowStyle.BLOCK));
+            for (var item : items) {
+                node(item, null);
+            }
+            emitter.emit(new SequenceEndEvent(null, null));
+        }
+
+        private void mapping(final Object data, final Map<?, ?> properties, final Tag root) throws IOException {
+            represented(data);
+            final var tag = root != null ? root : Tag.MAP;
+            emitter.emit(new MappingStartEvent(null, tag.getValue(), tag.equals(Tag.MAP), null, null,
+                    DumperOptions.FlowStyle.BLOCK));
+            for (var property : properties.entrySet()) {
+                node(property.getKey(), null);
+                node(property.getValue(), null);
+            }
+            emitter.emit(new MappingEndEvent(null, null));
+        }
+
+        //SnakeYAML writes an alias the second time it finds the same object
+        private void represented(final Object data) {
+            if (represented.put(data, Boolean.TRUE) != null) {
+                throw new Unsupported("same object twice");
+            }
+        }
+    }
+
+    private static final class Unsupported extends RuntimeException {
+        private Unsupported(final String message) {
+            super(message, null, false, false);
+        }
+    }
+}
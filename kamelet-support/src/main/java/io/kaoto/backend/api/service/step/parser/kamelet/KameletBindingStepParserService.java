@@ -3,14 +3,15 @@ package io.kaoto.backend.api.service.step.parser.kamelet;
 import static io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService.DESCRIPTION_ANNO;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
 import io.kaoto.backend.api.service.dsl.kamelet.KameletBindingDSLSpecification;
+import io.kaoto.backend.api.service.step.parser.SourceDocument;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
+import io.kaoto.backend.metadata.catalog.CatalogQuery;
 import io.kaoto.backend.model.deployment.kamelet.KameletBinding;
 import io.kaoto.backend.model.deployment.kamelet.KameletBindingStep;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 import org.apache.camel.v1alpha1.KameletBindingSpec;
@@ -59,8 +60,7 @@ public class KameletBindingStepParserService implements StepParserService<Step>
         List<Step> steps = new ArrayList<>();
         Map<String, Object> md = new LinkedHashMap<>();
         try {
-            ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
-            KameletBinding binding = yamlMapper.readValue(input, KameletBinding.class);
+            KameletBinding binding = Mappers.yamlReader(KameletBinding.class).readValue(input);
             processMetadata(md, binding.getMetadata());
             processSpec(steps, binding.getSpec());
 
@@ -91,6 +91,13 @@ public class KameletBindingStepParserService implements StepParserService<Step>
         return yaml.contains("kind: KameletBinding");
     }
 
+    //Only the kind on the root counts; without one, we look for it on the text as before
+    @Override
+    public boolean appliesTo(final SourceDocument document) {
+        final var kind = document.kind();
+        return kind != null ? "KameletBinding".equals(kind.trim()) : appliesTo(document.source());
+    }
+
     @Override
     public List<ParseResult<Step>> getParsedFlows(String input) {
         var res = new LinkedList<ParseResult<Step>>();
@@ -140,15 +147,13 @@ public class KameletBindingStepParserService implements StepParserService<Step>
                 log.trace("Found uri component. Probably a Camel Conector.");
                 String uri = bindingStep.getUri();
                 step = catalog.getReadOnlyCatalog()
-                        .searchByName(uri.substring(0, uri.indexOf(":")))
+                        .getSnapshot().searchByName(uri.substring(0, uri.indexOf(":")),
+                                KameletBindingDSLSpecification.KINDS)
                         .stream()
-                        .filter(s ->
-                                KameletBindingDSLSpecification.KINDS.stream()
-                                        .anyMatch(k -> s.getKind().equalsIgnoreCase(k)))
                         .sorted(Comparator.comparing(
                                 s -> KameletBindingDSLSpecification.KINDS
                                         .indexOf(((Step) s).getKind().toUpperCase(Locale.ROOT))).reversed())
-                        .findFirst();
+                        .findFirst().map(Step::clone);
 
                 if (step.isPresent()) {
                     setValuesOnParameters(step.get(), uri);
@@ -164,18 +169,17 @@ public class KameletBindingStepParserService implements StepParserService<Step>
                     kind = "";
                 }
 
-                var candidates = catalog.getReadOnlyCatalog().searchByName(name).stream();
-                candidates = candidates.filter(s ->
-                        KameletBindingDSLSpecification.KINDS.stream().anyMatch(k -> s.getKind().equalsIgnoreCase(k)));
+                //The kinds and type are resolved over the indexes of the catalog
+                var query = CatalogQuery.all().withNames(List.of(name))
+                        .withKinds(KameletBindingDSLSpecification.KINDS)
+                        .withTypes(List.of(type.name()));
                 if (!kind.isBlank()) {
-                    candidates =
-                            candidates.filter(s -> s.getKind().equalsIgnoreCase(bindingStep.getRef().getKind()));
+                    query = query.withKinds(List.of(kind));
                 }
-                candidates = candidates.filter(s -> s.getType().equals(type.name()));
-                step = candidates
+                step = catalog.getReadOnlyCatalog().getSnapshot().query(query).stream()
                         .sorted(Comparator.comparing(s ->
                                 KameletBindingDSLSpecification.KINDS.indexOf(s.getKind().toUpperCase(Locale.ROOT))))
-                        .findFirst();
+                        .findFirst().map(Step::clone);
 
                 //knative
                 if (step.isPresent()
@@ -1,11 +1,10 @@
 package io.kaoto.backend.api.service.step.parser.kamelet;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.fabric8.kubernetes.api.model.AnyType;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.step.parser.SourceDocument;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.deployment.kamelet.FlowStep;
 import io.kaoto.backend.model.deployment.kamelet.Kamelet;
@@ -14,6 +13,7 @@ import io.kaoto.backend.model.deployment.kamelet.KameletTemplate;
 import io.kaoto.backend.model.deployment.kamelet.step.Filter;
 import io.kaoto.backend.model.deployment.kamelet.step.From;
 import io.kaoto.backend.model.deployment.kamelet.step.choice.Choice;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.parameter.ArrayParameter;
 import io.kaoto.backend.model.parameter.BooleanParameter;
 import io.kaoto.backend.model.parameter.IntegerParameter;
@@ -45,6 +45,7 @@ import java.util.regex.Pattern;
 @ApplicationScoped
 public class KameletStepParserService implements StepParserService<Step> {
 
+    private static final String[] KINDS = new String[]{"Kamelet", "Knative", "Camel-Connector", "EIP", "EIP-BRANCH"};
     public static final Pattern PATTERN = Pattern.compile("[\n|\r]kind:(.+)[\n|\r]", Pattern.CASE_INSENSITIVE);
 
     public static final String SIMPLE = "simple";
@@ -87,8 +88,7 @@ public class KameletStepParserService implements StepParserService<Step> {
 
         List<Step> steps = new ArrayList<>();
         try {
-            ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
-            Kamelet kamelet = yamlMapper.readValue(input, Kamelet.class);
+            Kamelet kamelet = Mappers.yamlReader(Kamelet.class).readValue(input);
 
             processMetadata(res, kamelet.getMetadata());
             processSpec(steps, res, kamelet.getSpec());
@@ -455,14 +455,22 @@ public class KameletStepParserService implements StepParserService<Step> {
 
     @Override
     public boolean appliesTo(final String yaml) {
-        String[] kinds = new String[]{"Kamelet", "Knative", "Camel-Connector", "EIP", "EIP-BRANCH"};
-
         Matcher matcher = PATTERN.matcher(yaml);
         if (!yaml.contains("kind: KameletBinding") && matcher.find()) {
-            return Arrays.stream(kinds).anyMatch(k -> k.equalsIgnoreCase(matcher.group(1).trim()));
+            return Arrays.stream(KINDS).anyMatch(k -> k.equalsIgnoreCase(matcher.group(1).trim()));
         }
 
         return false;
     }
 
+    //Only the kind on the root counts; without one, we look for it on the text as before
+    @Override
+    public boolean appliesTo(final SourceDocument document) {
+        final var kind = document.kind();
+        if (kind == null) {
+            return appliesTo(document.source());
+        }
+        return Arrays.stream(KINDS).anyMatch(k -> k.equalsIgnoreCase(kind.trim()));
+    }
+
 }
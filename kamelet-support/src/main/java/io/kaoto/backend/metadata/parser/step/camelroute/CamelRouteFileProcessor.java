@@ -1,6 +1,7 @@
 package io.kaoto.backend.metadata.parser.step.camelroute;
 
 import io.kaoto.backend.metadata.parser.JsonProcessFile;
+import io.kaoto.backend.metadata.parser.StepDetailsCache;
 import io.kaoto.backend.model.parameter.BooleanParameter;
 import io.kaoto.backend.model.parameter.NumberParameter;
 import io.kaoto.backend.model.parameter.ObjectParameter;
@@ -22,6 +23,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class CamelRouteFileProcessor extends JsonProcessFile<Step> {
 
@@ -64,6 +66,12 @@ public class CamelRouteFileProcessor extends JsonProcessFile<Step> {
         return List.of();
     }
 
+    @Override
+    protected List<Step> summarize(final List<Step> elements, final Supplier<List<Step>> source,
+                                   final StepDetailsCache detailsCache) {
+        return detailsCache.summarize(elements, source);
+    }
+
     private Step convertToStep(final JsonObject json) {
         if (!isCamelRouteJson(json)) {
             return null;
@@ -14,7 +14,8 @@ import java.nio.file.Path;
 @ApplicationScoped
 public final class CamelRouteParseCatalog implements StepCatalogParser {
 
-    private CamelRouteParseCatalog() {
+    //Public, the catalog precompiler loads it through the ServiceLoader
+    public CamelRouteParseCatalog() {
 
     }
 
@@ -1,11 +1,10 @@
 package io.kaoto.backend.metadata.parser.step.kamelet;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.kaoto.backend.metadata.parser.StepDetailsCache;
 import io.kaoto.backend.metadata.parser.YamlProcessFile;
 import io.kaoto.backend.model.deployment.kamelet.KameletDefinitionProperty;
 import io.kaoto.backend.model.deployment.kamelet.SimplifiedKamelet;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.parameter.ArrayParameter;
 import io.kaoto.backend.model.parameter.BooleanParameter;
 import io.kaoto.backend.model.parameter.IntegerParameter;
@@ -24,6 +23,7 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -44,63 +44,79 @@ public class KameletFileProcessor extends YamlProcessFile<Step> {
                 return List.of();
             }
 
-            var YAML_MAPPER = new ObjectMapper(new YAMLFactory())
-                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            SimplifiedKamelet kamelet = YAML_MAPPER.readValue(yaml, SimplifiedKamelet.class);
-            Step step = new Step();
-            step.setKind(kind);
-
-            if (kamelet.getMetadata() != null) {
-                final var metadata = kamelet.getMetadata();
-                step.setName(metadata.getName());
-
-                if (metadata.getLabels() != null) {
-                    switch (metadata.getLabels()
-                            .getOrDefault("camel.apache.org/kamelet.type", "action").toLowerCase()) {
-                        case "source" -> step.setType(Step.START);
-                        case "sink" -> step.setType(Step.END);
-                        default -> step.setType(Step.MIDDLE);
-                    }
-                }
-                step.setId(step.getName() + "-" + step.getType());
-
-                if (metadata.getAnnotations() != null) {
-                    final var annotations = metadata.getAnnotations();
-                    step.setGroup(annotations.getOrDefault("camel.apache.org/kamelet.group", "others"));
+            SimplifiedKamelet kamelet = Mappers.lenientYamlReader(SimplifiedKamelet.class).readValue(yaml);
+            return List.of(parseKamelet(kind, kamelet));
+        } catch (IOException | YAMLException e) {
+            log.trace("Error parsing Kamelet.", e);
+        }
 
-                    step.setIcon(annotations.getOrDefault("camel.apache.org/kamelet.icon", ""));
+        return List.of();
+    }
 
-                    if (annotations.containsKey("kaoto.io/minbranches")) {
-                        step.setMinBranches(Integer.valueOf(annotations.get("kaoto.io/minbranches")));
-                    }
+    @Override
+    protected List<Step> summarize(final List<Step> elements, final Supplier<List<Step>> source,
+                                   final StepDetailsCache detailsCache) {
+        return detailsCache.summarize(elements, source);
+    }
 
-                    if (annotations.containsKey("kaoto.io/maxbranches")) {
-                        step.setMaxBranches(Integer.valueOf(annotations.get("kaoto.io/maxbranches")));
-                    }
+    /*
+     * 🐱method parseKamelet : Step
+     * 🐱param kind: String
+     * 🐱param kamelet: SimplifiedKamelet
+     *
+     * Generates the step described by an already deserialized kamelet,
+     * or null if it doesn't describe a step.
+     */
+    public Step parseKamelet(final String kind, final SimplifiedKamelet kamelet) {
+        Step step = new Step();
+        step.setKind(kind);
+
+        if (kamelet.getMetadata() != null) {
+            final var metadata = kamelet.getMetadata();
+            step.setName(metadata.getName());
+
+            if (metadata.getLabels() != null) {
+                switch (metadata.getLabels()
+                        .getOrDefault("camel.apache.org/kamelet.type", "action").toLowerCase()) {
+                    case "source" -> step.setType(Step.START);
+                    case "sink" -> step.setType(Step.END);
+                    default -> step.setType(Step.MIDDLE);
                 }
             }
+            step.setId(step.getName() + "-" + step.getType());
 
-            if (kamelet.getSpec() != null && kamelet.getSpec().getDefinition() != null) {
-                step.setTitle(kamelet.getSpec().getDefinition().getTitle());
-                step.setDescription(kamelet.getSpec().getDefinition().getDescription());
+            if (metadata.getAnnotations() != null) {
+                final var annotations = metadata.getAnnotations();
+                step.setGroup(annotations.getOrDefault("camel.apache.org/kamelet.group", "others"));
 
+                step.setIcon(annotations.getOrDefault("camel.apache.org/kamelet.icon", ""));
 
-                if (kamelet.getSpec().getDefinition().getProperties() != null) {
-                    parseParameters(step,
-                            kamelet.getSpec().getDefinition().getProperties(),
-                            kamelet.getSpec().getDefinition().getRequired());
+                if (annotations.containsKey("kaoto.io/minbranches")) {
+                    step.setMinBranches(Integer.valueOf(annotations.get("kaoto.io/minbranches")));
                 }
 
+                if (annotations.containsKey("kaoto.io/maxbranches")) {
+                    step.setMaxBranches(Integer.valueOf(annotations.get("kaoto.io/maxbranches")));
+                }
             }
-            if (step.getId() == null) {
-                step = null;
-            }
-            return List.of(step);
-        } catch (IOException | YAMLException e) {
-            log.trace("Error parsing Kamelet.", e);
         }
 
-        return List.of();
+        if (kamelet.getSpec() != null && kamelet.getSpec().getDefinition() != null) {
+            step.setTitle(kamelet.getSpec().getDefinition().getTitle());
+            step.setDescription(kamelet.getSpec().getDefinition().getDescription());
+
+
+            if (kamelet.getSpec().getDefinition().getProperties() != null) {
+                parseParameters(step,
+                        kamelet.getSpec().getDefinition().getProperties(),
+                        kamelet.getSpec().getDefinition().getRequired());
+            }
+
+        }
+        if (step.getId() == null) {
+            step = null;
+        }
+        return step;
     }
 
     private String getKind(final String yaml) {
@@ -5,9 +5,11 @@ import io.kaoto.backend.api.metadata.catalog.StepCatalogParser;
 import io.kaoto.backend.metadata.ParseCatalog;
 import io.kaoto.backend.metadata.parser.ClusterParseCatalog;
 import io.kaoto.backend.metadata.parser.GitParseCatalog;
+import io.kaoto.backend.metadata.parser.InformerParseCatalog;
 import io.kaoto.backend.metadata.parser.JarParseCatalog;
 import io.kaoto.backend.metadata.parser.LocalFolderParseCatalog;
 import io.kaoto.backend.model.deployment.kamelet.Kamelet;
+import io.kaoto.backend.model.deployment.kamelet.SimplifiedKamelet;
 import io.kaoto.backend.model.step.Step;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
@@ -15,6 +17,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * 🐱class KameletParseCatalog
@@ -33,6 +36,11 @@ public final class KameletParseCatalog implements StepCatalogParser {
             defaultValue = "false")
     private String namespace;
 
+    //Follow the changes on the cluster instead of listing all the kamelets on each refresh
+    @ConfigProperty(name = "kaoto.openshift.catalog-informer",
+            defaultValue = "true")
+    private boolean informer;
+
     @Inject
     public void setKubernetesClient(final KubernetesClient kubernetesClient) {
         this.kubernetesClient = kubernetesClient;
@@ -57,6 +65,13 @@ public final class KameletParseCatalog implements StepCatalogParser {
 
     @Override
     public ParseCatalog<Step> getParserFromCluster() {
+        if (informer) {
+            InformerParseCatalog<Step, SimplifiedKamelet> parseCatalog =
+                    new InformerParseCatalog<>(SimplifiedKamelet.class, this::parseKamelet);
+            parseCatalog.setKubernetesClient(kubernetesClient);
+            parseCatalog.setNamespace(namespace);
+            return parseCatalog;
+        }
         ClusterParseCatalog<Step> parseCatalog =
                 new ClusterParseCatalog<>(Kamelet.class);
         parseCatalog.setFileVisitor(new KameletFileProcessor());
@@ -65,6 +80,11 @@ public final class KameletParseCatalog implements StepCatalogParser {
         return parseCatalog;
     }
 
+    private List<Step> parseKamelet(final SimplifiedKamelet kamelet) {
+        final var step = kameletFileProcessor.parseKamelet("Kamelet", kamelet);
+        return step != null ? List.of(step) : List.of();
+    }
+
     @Override
     public ParseCatalog<Step> getLocalFolder(final Path path) {
         ParseCatalog<Step> parseCatalog =
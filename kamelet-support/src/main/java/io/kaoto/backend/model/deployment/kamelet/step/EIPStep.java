@@ -56,10 +56,8 @@ public abstract class EIPStep implements Serializable {
                         final KameletStepParserService kameletStepParserService) {
 
         Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName(name).stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP")
-                        || step.getKind().equalsIgnoreCase("EIP-BRANCH"))
-                .findAny();
+                .getSnapshot().searchByName(name, List.of("EIP", "EIP-BRANCH")).stream()
+                .findAny().map(Step::clone);
 
 
         if (res.isPresent()) {
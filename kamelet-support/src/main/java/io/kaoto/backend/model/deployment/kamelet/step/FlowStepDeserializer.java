@@ -5,15 +5,92 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kaoto.backend.model.deployment.kamelet.FlowStep;
+import io.kaoto.backend.model.mapper.Mappers;
 import org.jboss.logging.Logger;
 
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 public class FlowStepDeserializer extends JsonDeserializer {
-    private final Logger log = Logger.getLogger(FlowStepDeserializer.class);
+    private static final Logger LOG = Logger.getLogger(FlowStepDeserializer.class);
+
+    //Key of the step on the node to the class that binds it, built once
+    private static final Map<String, Class<? extends FlowStep>> STEPS = Map.ofEntries(
+            Map.entry("aggregate", AggregateFlowStep.class),
+            Map.entry("claim-check", ClaimCheckFlowStep.class),
+            Map.entry("claimCheck", ClaimCheckFlowStep.class),
+            Map.entry("circuitBreaker", CircuitBreakerFlowStep.class),
+            Map.entry("circuit-breaker", CircuitBreakerFlowStep.class),
+            Map.entry("choice", ChoiceFlowStep.class),
+            Map.entry("convertBodyTo", ConvertBodyToFlowStep.class),
+            Map.entry("convert-body-to", ConvertBodyToFlowStep.class),
+            Map.entry("delay", DelayFlowStep.class),
+            Map.entry("dynamic-router", DynamicRouterFlowStep.class),
+            Map.entry("dynamicRouter", DynamicRouterFlowStep.class),
+            Map.entry("enrich", EnrichFlowStep.class),
+            Map.entry("filter", FilterFlowStep.class),
+            Map.entry("from", From.class),
+            Map.entry("idempotent-consumer", IdempotentConsumerFlowStep.class),
+            Map.entry("idempotentConsumer", IdempotentConsumerFlowStep.class),
+            Map.entry("marshal", MarshalFlowStep.class),
+            Map.entry("load-balance", LoadBalanceFlowStep.class),
+            Map.entry("loadBalance", LoadBalanceFlowStep.class),
+            Map.entry("log", LogFlowStep.class),
+            Map.entry("loop", LoopFlowStep.class),
+            Map.entry("multicast", MulticastFlowStep.class),
+            Map.entry("pipeline", PipelineFlowStep.class),
+            Map.entry("poll-enrich", PollEnrichFlowStep.class),
+            Map.entry("pollEnrich", PollEnrichFlowStep.class),
+            Map.entry("process", ProcessFlowStep.class),
+            Map.entry("recipient-list", RecipientListFlowStep.class),
+            Map.entry("recipientList", RecipientListFlowStep.class),
+            Map.entry("removeHeader", RemoveHeaderFlowStep.class),
+            Map.entry("remove-header", RemoveHeaderFlowStep.class),
+            Map.entry("remove-headers", RemoveHeadersFlowStep.class),
+            Map.entry("removeHeaders", RemoveHeadersFlowStep.class),
+            Map.entry("remove-properties", RemovePropertiesFlowStep.class),
+            Map.entry("removeProperties", RemovePropertiesFlowStep.class),
+            Map.entry("remove-property", RemovePropertyFlowStep.class),
+            Map.entry("removeProperty", RemovePropertyFlowStep.class),
+            Map.entry("resequence", ResequenceFlowStep.class),
+            Map.entry("rollback", RollbackFlowStep.class),
+            Map.entry("routing-slip", RoutingSlipFlowStep.class),
+            Map.entry("routingSlip", RoutingSlipFlowStep.class),
+            Map.entry("saga", SagaFlowStep.class),
+            Map.entry("sample", SampleFlowStep.class),
+            Map.entry("set-body", SetBodyFlowStep.class),
+            Map.entry("setBody", SetBodyFlowStep.class),
+            Map.entry("set-exchange-pattern", SetExchangePatternFlowStep.class),
+            Map.entry("setExchangePattern", SetExchangePatternFlowStep.class),
+            Map.entry("set-header", SetHeaderFlowStep.class),
+            Map.entry("setHeader", SetHeaderFlowStep.class),
+            Map.entry("set-property", SetPropertyFlowStep.class),
+            Map.entry("setProperty", SetPropertyFlowStep.class),
+            Map.entry("service-call", ServiceCallFlowStep.class),
+            Map.entry("serviceCall", ServiceCallFlowStep.class),
+            Map.entry("script", ScriptFlowStep.class),
+            Map.entry("sort", SortFlowStep.class),
+            Map.entry("split", SplitFlowStep.class),
+            Map.entry("stop", StopFlowStep.class),
+            Map.entry("threads", ThreadsFlowStep.class),
+            Map.entry("throttle", ThrottleFlowStep.class),
+            Map.entry("throw-exception", ThrowExceptionFlowStep.class),
+            Map.entry("throwException", ThrowExceptionFlowStep.class),
+            Map.entry("to", ToFlowStep.class),
+            Map.entry("to-d", ToDynamicFlowStep.class),
+            Map.entry("toD", ToDynamicFlowStep.class),
+            Map.entry("transacted", TransactedFlowStep.class),
+            Map.entry("transform", TransformFlowStep.class),
+            Map.entry("do-try", TryCatchFlowStep.class),
+            Map.entry("doTry", TryCatchFlowStep.class),
+            Map.entry("unmarshal", UnmarshalFlowStep.class),
+            Map.entry("uri", UriFlowStep.class),
+            Map.entry("validate", ValidateFlowStep.class),
+            Map.entry("when", ChoiceFlowStep.class),
+            Map.entry("wire-tap", WireTapFlowStep.class),
+            Map.entry("wireTap", WireTapFlowStep.class)
+    );
 
     @Override
     public Object deserialize(
@@ -23,99 +100,29 @@ public class FlowStepDeserializer extends JsonDeserializer {
             JsonNode n = jsonParser.getCodec().readTree(jsonParser);
             return deserializeFlowStep(n);
         } catch (Exception e) {
-            log.error("Error trying to deserialize step: " + e.getMessage());
+            LOG.error("Error trying to deserialize step: " + e.getMessage());
         }
 
         return new UriFlowStep();
     }
 
+    /*
+     * 🐱method deserializeFlowStep : FlowStep
+     * 🐱param n: JsonNode
+     *
+     * Binds the node to the step of its first known key, straight from the
+     * tree. Nested steps come back here while the step is bound, so each
+     * level is bound once.
+     */
     public FlowStep deserializeFlowStep(final JsonNode n) throws JsonProcessingException {
-        for (var step : getFlowSteps().entrySet()) {
-            if (n.get(step.getKey()) != null) {
-                return (FlowStep) new ObjectMapper().readValue(n.toPrettyString(), step.getValue());
+        final Iterator<String> fields = n.fieldNames();
+        while (fields.hasNext()) {
+            final var type = STEPS.get(fields.next());
+            if (type != null) {
+                return Mappers.jsonReader(type).treeToValue(n, type);
             }
         }
 
         return new UriFlowStep();
     }
-
-    private Map<String, Class> getFlowSteps() {
-        Map<String, Class> steps = new HashMap<>();
-
-        steps.put("aggregate", AggregateFlowStep.class);
-        steps.put("claim-check", ClaimCheckFlowStep.class);
-        steps.put("claimCheck", ClaimCheckFlowStep.class);
-        steps.put("circuitBreaker", CircuitBreakerFlowStep.class);
-        steps.put("circuit-breaker", CircuitBreakerFlowStep.class);
-        steps.put("choice", ChoiceFlowStep.class);
-        steps.put("convertBodyTo", ConvertBodyToFlowStep.class);
-        steps.put("convert-body-to", ConvertBodyToFlowStep.class);
-        steps.put("delay", DelayFlowStep.class);
-        steps.put("dynamic-router", DynamicRouterFlowStep.class);
-        steps.put("dynamicRouter", DynamicRouterFlowStep.class);
-        steps.put("enrich", EnrichFlowStep.class);
-        steps.put("filter", FilterFlowStep.class);
-        steps.put("from", From.class);
-        steps.put("idempotent-consumer", IdempotentConsumerFlowStep.class);
-        steps.put("idempotentConsumer", IdempotentConsumerFlowStep.class);
-        steps.put("marshal", MarshalFlowStep.class);
-        steps.put("load-balance", LoadBalanceFlowStep.class);
-        steps.put("loadBalance", LoadBalanceFlowStep.class);
-        steps.put("log", LogFlowStep.class);
-        steps.put("loop", LoopFlowStep.class);
-        steps.put("multicast", MulticastFlowStep.class);
-        steps.put("pipeline", PipelineFlowStep.class);
-        steps.put("poll-enrich", PollEnrichFlowStep.class);
-        steps.put("pollEnrich", PollEnrichFlowStep.class);
-        steps.put("process", ProcessFlowStep.class);
-        steps.put("recipient-list", RecipientListFlowStep.class);
-        steps.put("recipientList", RecipientListFlowStep.class);
-        steps.put("removeHeader", RemoveHeaderFlowStep.class);
-        steps.put("remove-header", RemoveHeaderFlowStep.class);
-        steps.put("remove-headers", RemoveHeadersFlowStep.class);
-        steps.put("removeHeaders", RemoveHeadersFlowStep.class);
-        steps.put("remove-properties", RemovePropertiesFlowStep.class);
-        steps.put("removeProperties", RemovePropertiesFlowStep.class);
-        steps.put("remove-property", RemovePropertyFlowStep.class);
-        steps.put("removeProperty", RemovePropertyFlowStep.class);
-        steps.put("resequence", ResequenceFlowStep.class);
-        steps.put("rollback", RollbackFlowStep.class);
-        steps.put("routing-slip", RoutingSlipFlowStep.class);
-        steps.put("routingSlip", RoutingSlipFlowStep.class);
-        steps.put("saga", SagaFlowStep.class);
-        steps.put("sample", SampleFlowStep.class);
-        steps.put("set-body", SetBodyFlowStep.class);
-        steps.put("setBody", SetBodyFlowStep.class);
-        steps.put("set-exchange-pattern", SetExchangePatternFlowStep.class);
-        steps.put("setExchangePattern", SetExchangePatternFlowStep.class);
-        steps.put("set-header", SetHeaderFlowStep.class);
-        steps.put("setHeader", SetHeaderFlowStep.class);
-        steps.put("set-property", SetPropertyFlowStep.class);
-        steps.put("setProperty", SetPropertyFlowStep.class);
-        steps.put("service-call", ServiceCallFlowStep.class);
-        steps.put("serviceCall", ServiceCallFlowStep.class);
-        steps.put("script", ScriptFlowStep.class);
-        steps.put("sort", SortFlowStep.class);
-        steps.put("split", SplitFlowStep.class);
-        steps.put("stop", StopFlowStep.class);
-        steps.put("threads", ThreadsFlowStep.class);
-        steps.put("throttle", ThrottleFlowStep.class);
-        steps.put("throw-exception", ThrowExceptionFlowStep.class);
-        steps.put("throwException", ThrowExceptionFlowStep.class);
-        steps.put("to", ToFlowStep.class);
-        steps.put("to-d", ToDynamicFlowStep.class);
-        steps.put("toD", ToDynamicFlowStep.class);
-        steps.put("transacted", TransactedFlowStep.class);
-        steps.put("transform", TransformFlowStep.class);
-        steps.put("do-try", TryCatchFlowStep.class);
-        steps.put("doTry", TryCatchFlowStep.class);
-        steps.put("unmarshal", UnmarshalFlowStep.class);
-        steps.put("uri", UriFlowStep.class);
-        steps.put("validate", ValidateFlowStep.class);
-        steps.put("when", ChoiceFlowStep.class);
-        steps.put("wire-tap", WireTapFlowStep.class);
-        steps.put("wireTap", WireTapFlowStep.class);
-
-        return steps;
-    }
 }
@@ -5,7 +5,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kaoto.backend.model.mapper.Mappers;
 import org.jboss.logging.Logger;
 
 import java.util.HashMap;
@@ -13,6 +13,7 @@ import java.util.LinkedList;
 import java.util.Map;
 
 public class LoadBalanceDeserializer extends JsonDeserializer {
+    private static final FlowStepDeserializer FLOW_STEP_DESERIALIZER = new FlowStepDeserializer();
     private final Logger log = Logger.getLogger(LoadBalanceDeserializer.class);
     @Override
     public Object deserialize(final JsonParser jsonParser,
@@ -24,7 +25,6 @@ public class LoadBalanceDeserializer extends JsonDeserializer {
         try {
             JsonNode n = jsonParser.getCodec().readTree(jsonParser);
             var jsonNode = n.get("load-balance");
-            FlowStepDeserializer flowStepDeserializer = new FlowStepDeserializer();
 
             final var fields = jsonNode.fields();
             while (fields.hasNext()) {
@@ -33,7 +33,7 @@ public class LoadBalanceDeserializer extends JsonDeserializer {
                     field.getValue().elements().forEachRemaining(
                             s -> {
                                 try {
-                                    step.getSteps().add(flowStepDeserializer.deserializeFlowStep(s));
+                                    step.getSteps().add(FLOW_STEP_DESERIALIZER.deserializeFlowStep(s));
                                 } catch (JsonProcessingException e) {
                                     log.error("Couldn't deserialize step", e);
                                 }
@@ -41,7 +41,7 @@ public class LoadBalanceDeserializer extends JsonDeserializer {
                 }
                 else {
                     step.getProperties().put(field.getKey(),
-                            new ObjectMapper().readValue(field.getValue().toPrettyString(), Map.class));
+                            Mappers.json().treeToValue(field.getValue(), Map.class));
                 }
             }
         } catch (Exception e) {
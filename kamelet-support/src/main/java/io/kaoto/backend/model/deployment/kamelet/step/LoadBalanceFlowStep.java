@@ -61,10 +61,8 @@ public class LoadBalanceFlowStep implements FlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
         Step res = catalog.getReadOnlyCatalog()
-                .searchByName(LOAD_BALANCE_LABEL).stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP")
-                        || step.getKind().equalsIgnoreCase("EIP-BRANCH"))
-                .findAny().orElse(null);
+                .getSnapshot().searchByName(LOAD_BALANCE_LABEL, List.of("EIP", "EIP-BRANCH")).stream()
+                .findAny().map(Step::clone).orElse(null);
         if (res != null) {
             assignParameters(res);
             int i = 1;
@@ -11,6 +11,7 @@ import io.kaoto.backend.model.step.Step;
 
 import java.io.Serial;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @JsonDeserialize(
@@ -39,8 +40,8 @@ public class MarshalFlowStep implements FlowStep {
     @Override
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
-        Step res = catalog.getReadOnlyCatalog().searchByName("marshal")
-                .stream().filter(s -> s.getKind().equalsIgnoreCase("EIP")).findAny().orElse(null);
+        Step res = catalog.getReadOnlyCatalog().getSnapshot().searchByName("marshal", List.of("EIP"))
+                .stream().findAny().map(Step::clone).orElse(null);
         if (res != null) {
             assignParameters(res);
         }
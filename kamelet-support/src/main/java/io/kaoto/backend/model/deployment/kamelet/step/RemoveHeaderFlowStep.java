@@ -15,6 +15,7 @@ import io.kaoto.backend.model.step.Step;
 
 import java.io.Serial;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -62,9 +63,8 @@ public class RemoveHeaderFlowStep implements FlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
         Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName("remove-header").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .getSnapshot().searchByName("remove-header", List.of("EIP")).stream()
+                .findAny().map(Step::clone);
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
@@ -15,6 +15,7 @@ import io.kaoto.backend.model.step.Step;
 
 import java.io.Serial;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -61,9 +62,8 @@ public class RemovePropertyFlowStep implements FlowStep {
                         final Boolean start, final Boolean end) {
 
         Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName("remove-property").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .getSnapshot().searchByName("remove-property", List.of("EIP")).stream()
+                .findAny().map(Step::clone);
 
 
         if (res.isPresent()) {
@@ -13,6 +13,7 @@ import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -51,9 +52,8 @@ public class ScriptFlowStep implements FlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
         Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName("script").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .getSnapshot().searchByName("script", List.of("EIP")).stream()
+                .findAny().map(Step::clone);
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
@@ -14,6 +14,7 @@ import io.kaoto.backend.model.step.Step;
 
 import java.io.Serial;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -60,9 +61,8 @@ public class SetBodyFlowStep implements FlowStep {
                         final Boolean start, final Boolean end) {
 
         Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName("set-body").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .getSnapshot().searchByName("set-body", List.of("EIP")).stream()
+                .findAny().map(Step::clone);
 
 
         if (res.isPresent()) {
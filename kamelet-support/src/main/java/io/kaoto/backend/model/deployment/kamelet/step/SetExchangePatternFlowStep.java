@@ -12,6 +12,7 @@ import io.kaoto.backend.model.parameter.Parameter;
 import io.kaoto.backend.model.step.Step;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -48,9 +49,8 @@ public class SetExchangePatternFlowStep implements FlowStep {
                         final Boolean start, final Boolean end) {
 
         Optional<Step> res = catalog.getReadOnlyCatalog()
-                .searchByName(LABEL).stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny();
+                .getSnapshot().searchByName(LABEL, List.of("EIP")).stream()
+                .findAny().map(Step::clone);
 
         if (res.isPresent()) {
             for (Parameter p : res.get().getParameters()) {
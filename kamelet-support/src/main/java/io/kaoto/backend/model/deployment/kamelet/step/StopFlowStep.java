@@ -11,6 +11,7 @@ import io.kaoto.backend.model.step.Step;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
@@ -34,9 +35,8 @@ public class StopFlowStep implements FlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
         var stopEip= catalog.getReadOnlyCatalog()
-                .searchByName("stop").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP"))
-                .findAny().orElse(null);
+                .getSnapshot().searchByName("stop", List.of("EIP")).stream()
+                .findAny().map(Step::clone).orElse(null);
         if (stopEip != null) {
             // @FIXME this is a workaround for https://github.com/KaotoIO/kaoto-ui/issues/1587
             // Once UI implements the END step handling, STOP EIP has to get back to be an END step
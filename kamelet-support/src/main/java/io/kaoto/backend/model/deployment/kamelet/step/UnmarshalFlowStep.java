@@ -8,6 +8,7 @@ import io.kaoto.backend.model.step.Step;
 
 import java.io.Serial;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @JsonDeserialize(using = MarshalDeserializer.class)
@@ -30,10 +31,8 @@ public class UnmarshalFlowStep extends MarshalFlowStep {
     public Step getStep(final StepCatalog catalog, final KameletStepParserService kameletStepParserService,
                         final Boolean start, final Boolean end) {
         Step res = catalog.getReadOnlyCatalog()
-                .searchByName("unmarshal").stream()
-                .filter(step -> step.getKind().equalsIgnoreCase("EIP")
-                        || step.getKind().equalsIgnoreCase("EIP-BRANCH"))
-                .findAny().orElse(null);
+                .getSnapshot().searchByName("unmarshal", List.of("EIP", "EIP-BRANCH")).stream()
+                .findAny().map(Step::clone).orElse(null);
         if (res != null) {
             assignParameters(res);
         }
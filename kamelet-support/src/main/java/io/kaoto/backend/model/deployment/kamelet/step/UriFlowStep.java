@@ -113,7 +113,7 @@ public class UriFlowStep implements FlowStep {
             connectorName = this.getUri().substring(0, this.getUri().indexOf(':'));
         }
 
-        var candidates = catalog.getReadOnlyCatalog().searchByName(connectorName).stream();
+        var candidates = catalog.getReadOnlyCatalog().getSnapshot().searchByName(connectorName).stream();
 
         //Make sure we do the smartest pick: don't put an end step at the beginning or a start at the end
         //unless there is no other option, sure, then whatever the user is doing
@@ -165,7 +165,7 @@ public class UriFlowStep implements FlowStep {
             });
         }
 
-        Optional<Step> res = candidates.findFirst();
+        Optional<Step> res = candidates.findFirst().map(Step::clone);
 
         if (res.isPresent() && this.getUri() != null) {
             kameletStepParserService.setValuesOnParameters(res.get(), this.getUri());
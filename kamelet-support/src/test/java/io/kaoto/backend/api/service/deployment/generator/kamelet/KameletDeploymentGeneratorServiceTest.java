@@ -16,6 +16,8 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -192,6 +194,59 @@ class KameletDeploymentGeneratorServiceTest {
                 service.getDeploymentGeneratorService().parse(steps, md, Collections.emptyList()));
     }
 
+    @Test
+    void parseConcurrently() throws Exception {
+        final var expected = service.getDeploymentGeneratorService().parse(steps(), Map.of("name", "concurrent"),
+                Collections.emptyList());
+        assertTrue(expected.contains("constant: Hello Llama"));
+
+        //Each thread reuses its representer, documents must not mix
+        final var executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> service.getDeploymentGeneratorService()
+                        .parse(steps(), Map.of("name", "concurrent"), Collections.emptyList())));
+            }
+            for (var result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Step> steps() {
+        List<Step> steps = new ArrayList<>();
+        Step step = new Step();
+        step.setType("START");
+        step.setKind("Camel-Connector");
+        step.setName("log");
+        step.setId("log-action");
+        step.setParameters(new LinkedList<>());
+        Parameter<String> p = new StringParameter();
+        p.setPath(true);
+        p.setValue("loggerName");
+        p.setId("loggerName");
+        step.getParameters().add(p);
+        steps.add(step);
+
+        step = new Step();
+        step.setKind("EIP");
+        step.setName("set-body");
+        step.setParameters(new LinkedList<>());
+        p = new StringParameter("constant", "constant", "", null, null, null, "default", null);
+        p.setValue("Hello Llama");
+        step.getParameters().add(p);
+        steps.add(step);
+
+        step = new Step();
+        step.setKind("Camel-Connector");
+        step.setName("kamelet:sink");
+        steps.add(step);
+        return steps;
+    }
+
     @BeforeEach
     void ensureCatalog() {
         catalog.waitForWarmUp().join();
@@ -0,0 +1,92 @@
+package io.kaoto.backend.api.service.deployment.generator.kamelet;
+
+import io.kaoto.backend.api.metadata.catalog.StepCatalog;
+import io.kaoto.backend.api.service.step.parser.kamelet.KameletBindingStepParserService;
+import io.kaoto.backend.api.service.step.parser.kamelet.KameletStepParserService;
+import io.kaoto.backend.model.deployment.kamelet.Kamelet;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+//The direct emitter must write the same bytes as the representer for Kamelets and KameletBindings
+@QuarkusTest
+class YamlEmitterTest {
+
+    private static final String RESOURCES = "/io/kaoto/backend/api/service/step/parser/kamelet/";
+
+    @Inject
+    KameletStepParserService kameletParser;
+    @Inject
+    KameletDeploymentGeneratorService kameletGenerator;
+    @Inject
+    KameletBindingStepParserService bindingParser;
+    @Inject
+    KameletBindingDeploymentGeneratorService bindingGenerator;
+    @Inject
+    StepCatalog catalog;
+
+    @BeforeEach
+    void ensureCatalog() {
+        catalog.waitForWarmUp().join();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"beans.kamelet.yaml", "copy-title-desc.kamelet.yaml", "dropbox-sink.kamelet.yaml",
+            "eip.kamelet.yaml", "id-name-desc.kamelet.yaml", "jq.kamelet.yaml", "name.kamelet.yaml"})
+    void kamelets(final String file) throws IOException {
+        final var source = resource(file);
+        final var flow = kameletParser.getParsedFlows(source).stream()
+                .filter(parsed -> parsed.getSteps() != null)
+                .findFirst().orElseThrow();
+        final var kamelet = new Kamelet(new LinkedList<>(flow.getSteps()),
+                flow.getMetadata() != null ? new LinkedHashMap<>(flow.getMetadata()) : Map.of(),
+                flow.getParameters() != null ? new LinkedList<>(flow.getParameters()) : List.of(),
+                catalog);
+        final var emitted = new YamlEmitter(KameletRepresenter.representations()).dump(kamelet, Tag.MAP);
+        assertNotNull(emitted, file);
+        assertEquals(kameletGenerator.getYAML(kamelet, KameletRepresenter.class, KameletRepresenter::new),
+                emitted, file);
+
+        //Parsed again each time, generating may change the flows
+        final var expected = kameletGenerator.parse(kameletParser.getParsedFlows(source));
+        try {
+            kameletGenerator.setDirectEmitter(true);
+            assertEquals(expected, kameletGenerator.parse(kameletParser.getParsedFlows(source)), file);
+        } finally {
+            kameletGenerator.setDirectEmitter(false);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"knative-binding.yaml", "name-desc.binding.yaml", "null-sink.binding.yaml",
+            "null-source.binding.yaml", "null-source-null-sink.binding.yaml", "twitter-search-source-binding.yaml"})
+    void kameletBindings(final String file) throws IOException {
+        final var source = resource(file);
+        final var expected = bindingGenerator.parse(bindingParser.getParsedFlows(source));
+        try {
+            bindingGenerator.setDirectEmitter(true);
+            assertEquals(expected, bindingGenerator.parse(bindingParser.getParsedFlows(source)), file);
+        } finally {
+            bindingGenerator.setDirectEmitter(false);
+        }
+    }
+
+    private String resource(final String file) throws IOException {
+        try (var stream = getClass().getResourceAsStream(RESOURCES + file)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package io.kaoto.backend.metadata.parser.step.kamelet;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.kaoto.backend.metadata.LiveParseCatalog;
 import io.kaoto.backend.metadata.ParseCatalog;
 import io.kaoto.backend.metadata.catalog.InMemoryCatalog;
+import io.kaoto.backend.metadata.parser.JarParseCatalog;
+import io.kaoto.backend.metadata.parser.StepDetailsCache;
 import io.kaoto.backend.model.Metadata;
 import io.kaoto.backend.model.deployment.kamelet.Kamelet;
 import io.kaoto.backend.model.deployment.kamelet.KameletBinding;
+import io.kaoto.backend.model.jsonviews.Views;
+import io.kaoto.backend.model.mapper.Mappers;
+import io.kaoto.backend.model.parameter.StringParameter;
 import io.kaoto.backend.model.step.Step;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
@@ -25,8 +32,14 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -177,6 +190,40 @@ class KameletParseCatalogTest {
         assertEquals(1, steps.size());
     }
 
+    @Test
+    void testClusterFollowsChanges() throws InterruptedException {
+        final var kamelets = "../../../../api/service/step/parser/kamelet/";
+        kubernetesClient.resources(Kamelet.class)
+                .inNamespace("default")
+                .load(KameletParseCatalogTest.class.getResource(kamelets + "dropbox-sink.kamelet.yaml"))
+                .create();
+
+        final var kameletParser = (LiveParseCatalog<Step>) parseCatalog.getParserFromCluster();
+        final BlockingQueue<List<Step>> updates = new LinkedBlockingQueue<>();
+        try {
+            List<Step> steps = kameletParser.parse().join();
+            assertEquals(1, steps.size());
+            assertEquals("dropbox-sink", steps.get(0).getName());
+            assertEquals("Kamelet", steps.get(0).getKind());
+            assertTrue(kameletParser.watch(updates::add));
+
+            final var jq = kubernetesClient.resources(Kamelet.class)
+                    .inNamespace("default")
+                    .load(KameletParseCatalogTest.class.getResource(kamelets + "jq.kamelet.yaml"))
+                    .create();
+            steps = updates.poll(10, TimeUnit.SECONDS);
+            assertNotNull(steps);
+            assertEquals(2, steps.size());
+
+            kubernetesClient.resource(jq).delete();
+            steps = updates.poll(10, TimeUnit.SECONDS);
+            assertNotNull(steps);
+            assertEquals(List.of("dropbox-sink"), steps.stream().map(Step::getName).toList());
+        } finally {
+            kameletParser.close();
+        }
+    }
+
     //reproducer for issue #656
     @Test
     void testClusterWithWholeKamelets() {
@@ -229,6 +276,74 @@ class KameletParseCatalogTest {
         assertTrue(!salesforces.isEmpty());
     }
 
+    @Test
+    void loadFromLocalZipOnExecutor() {
+        String camelZip = "resource://" + FILE_NAME;
+        List<Step> steps = parseCatalog.getParser(camelZip).parse().join();
+
+        final var tasks = new AtomicInteger();
+        final var executor = Executors.newFixedThreadPool(2);
+        try {
+            final var parser = (JarParseCatalog<Step>) parseCatalog.getParser(camelZip);
+            parser.setExecutor(task -> {
+                tasks.incrementAndGet();
+                executor.execute(task);
+            });
+            //Same steps in the same order, no matter how many workers parse them
+            assertEquals(steps, parser.parse().join());
+            assertTrue(tasks.get() >= steps.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void loadSummariesFromLocalZip() {
+        String camelZip = "resource://" + FILE_NAME;
+        List<Step> steps = parseCatalog.getParser(camelZip).parse().join();
+
+        final var parser = parseCatalog.getParser(camelZip);
+        parser.setDetailsCache(new StepDetailsCache(500));
+        List<Step> summaries = parser.parse().join();
+        assertTrue(summaries.stream().allMatch(Step::isSummary));
+
+        //Details are parsed again from the archive when requested
+        assertEquals(steps, summaries);
+        final var salesforce = summaries.stream()
+                .filter(step -> "salesforce-source".equals(step.getName()))
+                .findAny().orElseThrow();
+        assertTrue(salesforce.isSummary());
+        assertTrue(salesforce.getParameters().size() > 0);
+        assertTrue(salesforce.getRequired().size() > 0);
+
+        final var clone = salesforce.clone();
+        assertTrue(!clone.isSummary());
+        assertEquals(salesforce.getParameters(), clone.getParameters());
+    }
+
+    @Test
+    void serializeSummariesWithoutDetails() throws JsonProcessingException {
+        final var step = new Step();
+        step.setId("log");
+        step.setName("log");
+        final var stepId = new StringParameter();
+        stepId.setId("step-id-kaoto");
+        stepId.setValue("my-log");
+        step.setParameters(new LinkedList<>(List.of(stepId)));
+        step.summarize(() -> Assertions.fail("Summaries are serialized without their details."));
+
+        final var json = Mappers.json().writerWithView(Views.Summary.class).writeValueAsString(step);
+        assertTrue(json.contains("\"stepId\":\"my-log\""), json);
+
+        //Even if the source is gone
+        final var orphan = new Step();
+        orphan.setId("orphan");
+        orphan.setParameters(new LinkedList<>());
+        orphan.summarize(() -> null);
+        Assertions.assertNull(orphan.getStepId());
+        Assertions.assertNull(orphan.getParameters());
+    }
+
     @Test
 //    @Timeout(value = 200, unit = TimeUnit.MILLISECONDS)
     void testSpeed() {
@@ -0,0 +1,45 @@
+package io.kaoto.backend.model.deployment.kamelet.step;
+
+import io.kaoto.backend.model.deployment.kamelet.FlowStep;
+import io.kaoto.backend.model.mapper.Mappers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class FlowStepDeserializerTest {
+
+    private static final String CHOICE = """
+            choice:
+              when:
+                - simple: "${header.kind} == 'a'"
+                  steps:
+                    - log: "a"
+                    - set-body:
+                        constant: "b"
+              otherwise:
+                steps:
+                  - to:
+                      uri: "log:info"
+            """;
+
+    @Test
+    void bindsNestedSteps() throws Exception {
+        final FlowStep step = Mappers.yamlReader(FlowStep.class).readValue(CHOICE);
+        Assertions.assertInstanceOf(ChoiceFlowStep.class, step);
+
+        final var when = ((ChoiceFlowStep) step).getChoice().getChoice().get(0);
+        Assertions.assertEquals(2, when.getSteps().size());
+        Assertions.assertInstanceOf(LogFlowStep.class, when.getSteps().get(0));
+        Assertions.assertInstanceOf(SetBodyFlowStep.class, when.getSteps().get(1));
+        Assertions.assertInstanceOf(ToFlowStep.class,
+                ((ChoiceFlowStep) step).getChoice().getOtherwise().getSteps().get(0));
+    }
+
+    @Test
+    void dispatchesOnTheFirstKnownKey() throws Exception {
+        final var deserializer = new FlowStepDeserializer();
+        Assertions.assertInstanceOf(LogFlowStep.class,
+                deserializer.deserializeFlowStep(Mappers.yaml().readTree("id: not-a-step\nlog: hello\n")));
+        Assertions.assertInstanceOf(UriFlowStep.class,
+                deserializer.deserializeFlowStep(Mappers.yaml().readTree("unknown: step\n")));
+    }
+}
@@ -0,0 +1,118 @@
+package io.kaoto.backend.model.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.kaoto.backend.api.service.deployment.generator.kamelet.KameletRepresenter;
+import io.kaoto.backend.model.deployment.kamelet.KameletBinding;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+class MappersTest {
+
+    private static final Logger LOG = Logger.getLogger(MappersTest.class);
+    private static final int ITERATIONS = 200;
+
+    private static String binding;
+
+    @BeforeAll
+    static void setup() throws URISyntaxException, IOException {
+        binding = Files.readString(Path.of(MappersTest.class.getResource(
+                "/io/kaoto/backend/api/service/step/parser/kamelet/twitter-search-source-binding.yaml").toURI()));
+    }
+
+    @Test
+    void readersAreShared() throws IOException {
+        Assertions.assertSame(Mappers.yamlReader(KameletBinding.class), Mappers.yamlReader(KameletBinding.class));
+        Assertions.assertNotSame(Mappers.yamlReader(KameletBinding.class),
+                Mappers.lenientYamlReader(KameletBinding.class));
+        Assertions.assertNotNull(
+                Mappers.lenientYamlReader(KameletBinding.class).readValue(binding + "unknown: property\n"));
+    }
+
+    @Test
+    void snakeYamlIsConfinedToThreads() {
+        final var yaml = Mappers.snakeYaml(KameletBinding.class, KameletRepresenter.class, KameletRepresenter::new);
+        Assertions.assertSame(yaml,
+                Mappers.snakeYaml(KameletBinding.class, KameletRepresenter.class, KameletRepresenter::new));
+        Assertions.assertNotSame(yaml, Mappers.snakeYaml(KameletBinding.class));
+        final var other = CompletableFuture.supplyAsync(() ->
+                Mappers.snakeYaml(KameletBinding.class, KameletRepresenter.class, KameletRepresenter::new)).join();
+        Assertions.assertNotSame(yaml, other);
+    }
+
+    @Test
+    void sharedReaderReadsTheSame() throws IOException {
+        final var mapper = new ObjectMapper(new YAMLFactory());
+        final var reader = Mappers.yamlReader(KameletBinding.class);
+        Assertions.assertSame(reader, Mappers.yamlReader(KameletBinding.class));
+
+        final KameletBinding expected = mapper.readValue(binding, KameletBinding.class);
+        final KameletBinding read = reader.readValue(binding);
+        Assertions.assertEquals(mapper.writeValueAsString(expected), mapper.writeValueAsString(read));
+    }
+
+    @Test
+    void sharedDumperWritesTheSame() throws IOException {
+        final KameletBinding resource = Mappers.yamlReader(KameletBinding.class).readValue(binding);
+        final String expected = new Yaml(new Constructor(KameletBinding.class, new LoaderOptions()),
+                new KameletRepresenter()).dumpAsMap(resource);
+        final var yaml = Mappers.snakeYaml(KameletBinding.class, KameletRepresenter.class, KameletRepresenter::new);
+
+        Assertions.assertEquals(expected, yaml.dumpAsMap(resource));
+        //Writing again with the same instance must not depend on what it wrote before
+        Assertions.assertEquals(expected, yaml.dumpAsMap(resource));
+    }
+
+    //Timings depend on the machine, so this only logs them to compare by hand
+    @Test
+    @Disabled("Only to compare timings by hand")
+    void compareTimings() throws IOException {
+        final KameletBinding resource = Mappers.yamlReader(KameletBinding.class).readValue(binding);
+        new ObjectMapper(new YAMLFactory()).readValue(binding, KameletBinding.class);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            new ObjectMapper(new YAMLFactory()).readValue(binding, KameletBinding.class);
+        }
+        final long freshReader = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Mappers.yamlReader(KameletBinding.class).readValue(binding);
+        }
+        final long sharedReader = System.nanoTime() - start;
+
+        Mappers.snakeYaml(KameletBinding.class, KameletRepresenter.class, KameletRepresenter::new)
+                .dumpAsMap(resource);
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            new Yaml(new Constructor(KameletBinding.class, new LoaderOptions()), new KameletRepresenter())
+                    .dumpAsMap(resource);
+        }
+        final long freshDumper = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Mappers.snakeYaml(KameletBinding.class, KameletRepresenter.class, KameletRepresenter::new)
+                    .dumpAsMap(resource);
+        }
+        final long sharedDumper = System.nanoTime() - start;
+
+        LOG.info("Reading a binding: " + freshReader / ITERATIONS + "ns with a new mapper, "
+                + sharedReader / ITERATIONS + "ns with the shared reader.");
+        LOG.info("Writing a binding: " + freshDumper / ITERATIONS + "ns with a new Yaml, "
+                + sharedDumper / ITERATIONS + "ns with the one of the thread.");
+    }
+}
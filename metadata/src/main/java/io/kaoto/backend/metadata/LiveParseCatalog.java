@@ -0,0 +1,36 @@
+package io.kaoto.backend.metadata;
+
+import io.kaoto.backend.model.Metadata;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 🐱class LiveParseCatalog
+ * 🐱inherits ParseCatalog
+ *
+ * Parser that keeps following its source after parsing it, and reports
+ * the new elements whenever the source changes.
+ */
+public interface LiveParseCatalog<T extends Metadata> extends ParseCatalog<T> {
+
+    /*
+     * 🐱method watch : boolean
+     * 🐱param listener: Consumer[List[T]]
+     *
+     * Starts following the changes of the source. Every time it changes,
+     * the listener receives all the elements of the source. Should be
+     * called after parse. Returns false if the source can't be followed,
+     * so its changes will only be known by parsing it again.
+     *
+     */
+    boolean watch(Consumer<List<T>> listener);
+
+    /*
+     * 🐱method close
+     *
+     * Stops following the changes of the source.
+     *
+     */
+    void close();
+}
@@ -1,5 +1,7 @@
 package io.kaoto.backend.metadata;
 
+import io.kaoto.backend.metadata.catalog.CatalogQuery;
+import io.kaoto.backend.metadata.catalog.CatalogSnapshot;
 import io.kaoto.backend.model.Metadata;
 
 import java.util.Collection;
@@ -52,6 +54,29 @@ public interface MetadataCatalog<T extends Metadata> {
      */
     Collection<T> getAll();
 
+    /*
+     * 🐱method getSnapshot : CatalogSnapshot
+     *
+     * Returns the current immutable snapshot of the catalog.
+     * Unlike the rest of the search methods, the elements on the snapshot
+     * are not copied: they are shared and must not be modified.
+     * Clone the ones you need to change.
+     *
+     */
+    CatalogSnapshot<T> getSnapshot();
+
+    /*
+     * 🐱method query : List[Metadata]
+     * 🐱param query: CatalogQuery
+     *
+     * Returns the elements matching the query, sorted by identifier.
+     * As with getSnapshot, the elements are shared and must not be modified.
+     *
+     */
+    default List<T> query(final CatalogQuery query) {
+        return getSnapshot().query(query);
+    }
+
     /*
      * 🐱method clear : void
      *
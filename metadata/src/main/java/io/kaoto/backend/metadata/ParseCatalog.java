@@ -1,6 +1,8 @@
 package io.kaoto.backend.metadata;
 
+import io.kaoto.backend.metadata.parser.ParserExecutor;
 import io.kaoto.backend.metadata.parser.ProcessFile;
+import io.kaoto.backend.metadata.parser.StepDetailsCache;
 import io.kaoto.backend.model.Metadata;
 
 import java.util.List;
@@ -20,6 +22,62 @@ public interface ParseCatalog<T extends Metadata> {
      */
     CompletableFuture<List<T>> parse();
 
+    /*
+     * 🐱method identifier : String
+     *
+     * Identifies the source this parser reads from, no matter its content.
+     * Used to know which elements of a catalog come from the same source.
+     *
+     */
+    default String identifier() {
+        return getClass().getName();
+    }
+
+    /*
+     * 🐱method fingerprint : String
+     *
+     * Identifies the source and its current content, so the result of
+     * parsing it can be reused while it doesn't change. Returns null
+     * if that can't be known without parsing the source again.
+     *
+     */
+    default String fingerprint() {
+        return null;
+    }
+
+
+    /*
+     * 🐱method setStatistics
+     * 🐱param statistics: ParseStatistics
+     *
+     * Where to report each file parsed. By default, nothing is reported.
+     *
+     */
+    default void setStatistics(ParseStatistics statistics) {
+    }
+
+    /*
+     * 🐱method setParserExecutor
+     * 🐱param parserExecutor: ParserExecutor
+     *
+     * Where to parse the files of the source. By default, on the common pool.
+     *
+     */
+    default void setParserExecutor(ParserExecutor parserExecutor) {
+    }
+
+    /*
+     * 🐱method setDetailsCache
+     * 🐱param detailsCache: StepDetailsCache
+     *
+     * Keep only summaries of the elements, loading their details from the
+     * source when they are needed, if the source can be read again cheaply.
+     * Details loaded are kept on the cache. By default, elements are always
+     * complete.
+     *
+     */
+    default void setDetailsCache(StepDetailsCache detailsCache) {
+    }
 
     /*
      * 🐱method setFileVisitor
@@ -0,0 +1,24 @@
+package io.kaoto.backend.metadata;
+
+/**
+ * 🐱class ParseStatistics
+ *
+ * Receives how long it took to parse each file of a source, how big the
+ * file was and if it failed, so catalogs can measure their sources.
+ */
+@FunctionalInterface
+public interface ParseStatistics {
+
+    ParseStatistics NONE = (bytes, nanos, failed) -> {
+    };
+
+    /*
+     * 🐱method parsed
+     * 🐱param bytes: long
+     * 🐱param nanos: long
+     * 🐱param failed: boolean
+     *
+     * Called once per file parsed, from the thread that parsed it.
+     */
+    void parsed(long bytes, long nanos, boolean failed);
+}
@@ -22,6 +22,7 @@ public class CatalogCollection<T extends Metadata>
         implements MetadataCatalog<T> {
 
     private final List<MetadataCatalog<T>> catalogs;
+    private volatile MergedSnapshot<T> merged;
 
     public CatalogCollection() {
         catalogs = new ArrayList<>();
@@ -71,8 +72,47 @@ public class CatalogCollection<T extends Metadata>
         return steps;
     }
 
+    @Override
+    public CatalogSnapshot<T> getSnapshot() {
+        final List<CatalogSnapshot<T>> sources = new ArrayList<>(catalogs.size());
+        for (MetadataCatalog<T> c : catalogs) {
+            sources.add(c.getSnapshot());
+        }
+        if (sources.size() == 1) {
+            return sources.get(0);
+        }
+
+        //Only rebuild the joined snapshot if any of the catalogs changed
+        var current = merged;
+        if (current == null || !current.isBuiltFrom(sources)) {
+            List<T> all = new ArrayList<>();
+            for (CatalogSnapshot<T> source : sources) {
+                all.addAll(source.getAll());
+            }
+            current = new MergedSnapshot<>(sources,
+                    new CatalogSnapshot<>(all, current != null ? current.snapshot() : null));
+            merged = current;
+        }
+        return current.snapshot();
+    }
+
     @Override
     public void clear() {
         catalogs.clear();
     }
+
+    private record MergedSnapshot<T extends Metadata>(List<CatalogSnapshot<T>> sources,
+                                                      CatalogSnapshot<T> snapshot) {
+        boolean isBuiltFrom(final List<CatalogSnapshot<T>> others) {
+            if (others.size() != sources.size()) {
+                return false;
+            }
+            for (int i = 0; i < sources.size(); i++) {
+                if (sources.get(i) != others.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
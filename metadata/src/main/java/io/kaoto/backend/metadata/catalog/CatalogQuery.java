@@ -0,0 +1,111 @@
+package io.kaoto.backend.metadata.catalog;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 🐱class CatalogQuery
+ * 🐱relationship dependsOn CatalogSnapshot
+ *
+ * Describes a filtered, paginated read over a catalog.
+ *
+ * Every facet (name, kind, type, group) is optional and matched ignoring
+ * case. A null facet means "don't filter by this"; an empty one means
+ * "nothing matches". Restricting the same facet twice keeps only the values
+ * present on both restrictions. Kinds can also be excluded.
+ *
+ * Results are always sorted by identifier, so pagination is done by keyset:
+ * pass the identifier of the last element you got as `after` to get the
+ * next page.
+ */
+public record CatalogQuery(Set<String> names,
+                           Set<String> kinds,
+                           Set<String> types,
+                           Set<String> groups,
+                           Set<String> excludedKinds,
+                           String after,
+                           int limit) {
+
+    private static final CatalogQuery ALL = new CatalogQuery(null, null, null, null, Set.of(), null, 0);
+
+    /*
+     * 🐱method all : CatalogQuery
+     *
+     * Query that returns all the elements of the catalog.
+     */
+    public static CatalogQuery all() {
+        return ALL;
+    }
+
+    public CatalogQuery withNames(final Collection<String> values) {
+        return new CatalogQuery(restrict(names, values), kinds, types, groups, excludedKinds, after, limit);
+    }
+
+    public CatalogQuery withKinds(final Collection<String> values) {
+        return new CatalogQuery(names, restrict(kinds, values), types, groups, excludedKinds, after, limit);
+    }
+
+    public CatalogQuery withTypes(final Collection<String> values) {
+        return new CatalogQuery(names, kinds, restrict(types, values), groups, excludedKinds, after, limit);
+    }
+
+    public CatalogQuery withGroups(final Collection<String> values) {
+        return new CatalogQuery(names, kinds, types, restrict(groups, values), excludedKinds, after, limit);
+    }
+
+    /*
+     * 🐱method withoutKinds : CatalogQuery
+     * 🐱param values: List[String]
+     *
+     * Never return elements of these kinds, on top of the other facets.
+     */
+    public CatalogQuery withoutKinds(final Collection<String> values) {
+        final Set<String> excluded = new HashSet<>(excludedKinds);
+        values.stream().filter(Objects::nonNull).map(CatalogQuery::normalize).forEach(excluded::add);
+        return new CatalogQuery(names, kinds, types, groups, Set.copyOf(excluded), after, limit);
+    }
+
+    /*
+     * 🐱method after : CatalogQuery
+     * 🐱param id: String
+     *
+     * Only return elements whose identifier goes after the one provided.
+     */
+    public CatalogQuery after(final String id) {
+        return new CatalogQuery(names, kinds, types, groups, excludedKinds, id, limit);
+    }
+
+    /*
+     * 🐱method limit : CatalogQuery
+     * 🐱param max: int
+     *
+     * Return at most this amount of elements. Zero or less means no limit.
+     */
+    public CatalogQuery limit(final int max) {
+        return new CatalogQuery(names, kinds, types, groups, excludedKinds, after, max);
+    }
+
+    static String normalize(final String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> restrict(final Set<String> current, final Collection<String> values) {
+        if (values == null) {
+            return current;
+        }
+        final Set<String> normalized = values.stream()
+                .filter(Objects::nonNull)
+                .map(CatalogQuery::normalize)
+                .collect(Collectors.toUnmodifiableSet());
+        if (current == null) {
+            return normalized;
+        }
+        return normalized.stream()
+                .filter(current::contains)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
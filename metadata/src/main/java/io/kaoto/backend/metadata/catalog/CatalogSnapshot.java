@@ -0,0 +1,348 @@
+package io.kaoto.backend.metadata.catalog;
+
+import io.kaoto.backend.model.Metadata;
+import io.kaoto.backend.model.step.Step;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🐱class CatalogSnapshot
+ * 🐱relationship dependsOn Metadata
+ *
+ * Immutable, versioned view of the content of a catalog at a given moment.
+ * Catalogs publish a new snapshot every time their content changes, so
+ * readers can keep using the one they got without any locking.
+ *
+ * The elements returned are shared between all the readers of the snapshot
+ * and must be treated as frozen. If you need to modify one of them (for
+ * example, to set the values of its parameters), clone it first.
+ */
+public final class CatalogSnapshot<T extends Metadata> {
+
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    private static final int MAX_FACETS = 256;
+
+    private static final Comparator<String> ID_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final long generation;
+    private final List<T> all;
+    private final String[] ids;
+    private final Map<String, T> byId;
+    private final Column byName;
+    private final Column byKind;
+    private final Column byType;
+    private final Column byGroup;
+    //Built the first time someone searches, reusing what it can from the previous one
+    private volatile SearchIndex<T> searchIndex;
+    private SearchIndex<T> previousIndex;
+    //Facets already resolved, the same filters are requested over and over
+    private final Map<Facet, BitSet> facets = new ConcurrentHashMap<>();
+
+    /*
+     * Indexes the elements given. If there are elements with duplicated
+     * identifiers, the first one wins when searching by identifier.
+     */
+    public CatalogSnapshot(final Collection<T> elements) {
+        this(elements, null);
+    }
+
+    /*
+     * Same, but the search index will reuse what it can from the previous
+     * snapshot, if it was already built.
+     */
+    CatalogSnapshot(final Collection<T> elements, final CatalogSnapshot<T> previous) {
+        this.previousIndex = previous != null ? previous.searchIndex : null;
+        this.generation = GENERATIONS.incrementAndGet();
+
+        //Stable sort, so duplicated identifiers keep their relative order
+        final List<T> list = elements.stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(Metadata::getId, ID_ORDER))
+                .toList();
+
+        final Map<String, T> identifiers = new HashMap<>();
+        final var names = new Column.Builder(list.size());
+        final var kinds = new Column.Builder(list.size());
+        final var types = new Column.Builder(list.size());
+        final var groups = new Column.Builder(list.size());
+        this.ids = new String[list.size()];
+        for (int i = 0; i < list.size(); i++) {
+            final T element = list.get(i);
+            ids[i] = element.getId();
+            if (element.getId() != null) {
+                identifiers.putIfAbsent(element.getId(), element);
+            }
+            names.set(i, element.getName());
+            types.set(i, element.getType());
+            if (element instanceof Step step) {
+                kinds.set(i, step.getKind());
+                groups.set(i, step.getGroup());
+            } else {
+                kinds.set(i, null);
+                groups.set(i, null);
+            }
+        }
+
+        this.all = list;
+        this.byId = Collections.unmodifiableMap(identifiers);
+        this.byName = names.build();
+        this.byKind = kinds.build();
+        this.byType = types.build();
+        this.byGroup = groups.build();
+    }
+
+    /*
+     * 🐱method empty : CatalogSnapshot
+     *
+     * Returns a new snapshot without elements.
+     */
+    public static <T extends Metadata> CatalogSnapshot<T> empty() {
+        return new CatalogSnapshot<>(List.of());
+    }
+
+    /*
+     * 🐱method merge : CatalogSnapshot
+     * 🐱param elements: List[Metadata]
+     *
+     * Returns a new snapshot with the content of this one plus the elements
+     * provided. Elements with an identifier already present on this snapshot
+     * replace the old ones. This snapshot is not modified.
+     */
+    public CatalogSnapshot<T> merge(final Collection<T> elements) {
+        final Map<String, T> merged = new LinkedHashMap<>();
+        for (T element : all) {
+            merged.put(element.getId(), element);
+        }
+        final Map<String, T> incoming = new LinkedHashMap<>();
+        elements.stream()
+                .filter(Objects::nonNull)
+                .forEach(element -> incoming.putIfAbsent(element.getId(), element));
+        merged.putAll(incoming);
+        return new CatalogSnapshot<>(merged.values(), this);
+    }
+
+    /*
+     * 🐱method getGeneration : long
+     *
+     * Monotonically increasing number that identifies this snapshot. Two
+     * snapshots with the same generation have the same content.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /*
+     * 🐱method searchByID : Metadata
+     * 🐱param id: String
+     *
+     * Returns the shared element identified by the parameter.
+     */
+    public T searchByID(final String id) {
+        if (id == null) {
+            return null;
+        }
+        return byId.get(id);
+    }
+
+    /*
+     * 🐱method searchByName : List[Metadata]
+     * 🐱param name: String
+     *
+     * Returns all the shared elements identified by the name, ignoring case.
+     */
+    public Collection<T> searchByName(final String name) {
+        if (name == null) {
+            return Collections.emptyList();
+        }
+        final BitSet positions = byName.positions(name);
+        final List<T> res = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            res.add(all.get(i));
+        }
+        return res;
+    }
+
+    /*
+     * 🐱method searchByName : List[Metadata]
+     * 🐱param name: String
+     * 🐱param kinds: List[String]
+     *
+     * Returns the shared elements identified by the name that are of any of
+     * the kinds provided, both ignoring case. Kinds are compared by their
+     * interned codes, not as strings.
+     */
+    public List<T> searchByName(final String name, final Collection<String> kinds) {
+        if (name == null) {
+            return Collections.emptyList();
+        }
+        final BitSet positions = byName.positions(name);
+        if (positions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final BitSet codes = new BitSet();
+        for (String kind : kinds) {
+            final int code = byKind.code(kind);
+            if (code != Column.NONE) {
+                codes.set(code);
+            }
+        }
+        final List<T> res = new ArrayList<>();
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            final int code = byKind.codeAt(i);
+            if (code != Column.NONE && codes.get(code)) {
+                res.add(all.get(i));
+            }
+        }
+        return Collections.unmodifiableList(res);
+    }
+
+    /*
+     * 🐱method query : List[Metadata]
+     * 🐱param query: CatalogQuery
+     *
+     * Returns the shared elements matching the query, sorted by identifier.
+     * Filtering is resolved over the precomputed indexes, and pagination is
+     * applied after filtering.
+     */
+    public List<T> query(final CatalogQuery query) {
+        final BitSet matches = filter(query);
+
+        final int limit = query.limit() > 0 ? query.limit() : Integer.MAX_VALUE;
+        final List<T> res = new ArrayList<>(Math.min(limit, matches != null ? matches.cardinality() : all.size()));
+        int i = firstAfter(query.after());
+        if (matches != null) {
+            i = matches.nextSetBit(i);
+        }
+        while (i >= 0 && i < all.size() && res.size() < limit) {
+            res.add(all.get(i));
+            i = matches != null ? matches.nextSetBit(i + 1) : i + 1;
+        }
+        return Collections.unmodifiableList(res);
+    }
+
+    /*
+     * 🐱method search : List[Metadata]
+     * 🐱param text: String
+     * 🐱param query: CatalogQuery
+     *
+     * Returns the shared elements whose words start with the words of the
+     * text, best matches first, filtered by the facets of the query. The
+     * limit of the query is applied, but not its keyset pagination. With
+     * no words to search, this is the same as a query.
+     */
+    public List<T> search(final String text, final CatalogQuery query) {
+        final var terms = SearchIndex.tokenize(text);
+        if (terms.isEmpty()) {
+            return query(query);
+        }
+        final int[] found = searchIndex().search(terms, filter(query), query.limit());
+        final List<T> res = new ArrayList<>(found.length);
+        for (int position : found) {
+            res.add(all.get(position));
+        }
+        return Collections.unmodifiableList(res);
+    }
+
+    private SearchIndex<T> searchIndex() {
+        var index = searchIndex;
+        if (index == null) {
+            synchronized (this) {
+                if (searchIndex == null) {
+                    searchIndex = new SearchIndex<>(all, previousIndex);
+                    previousIndex = null;
+                }
+                index = searchIndex;
+            }
+        }
+        return index;
+    }
+
+    /*
+     * 🐱method getAll : List[Metadata]
+     *
+     * Returns all the shared elements of this snapshot, sorted by identifier.
+     */
+    public Collection<T> getAll() {
+        return all;
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    //Position of the first element whose identifier goes after the one provided
+    private int firstAfter(final String after) {
+        if (after == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (ID_ORDER.compare(ids[mid], after) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    //Elements allowed by the facets of the query, null if all of them are
+    private BitSet filter(final CatalogQuery query) {
+        BitSet matches = null;
+        matches = restrict(matches, "name", query.names(), byName);
+        matches = restrict(matches, "kind", query.kinds(), byKind);
+        matches = restrict(matches, "type", query.types(), byType);
+        matches = restrict(matches, "group", query.groups(), byGroup);
+        if (!query.excludedKinds().isEmpty()) {
+            if (matches == null) {
+                matches = new BitSet(all.size());
+                matches.set(0, all.size());
+            }
+            matches.andNot(positions("kind", query.excludedKinds(), byKind));
+        }
+        return matches;
+    }
+
+    private BitSet restrict(final BitSet current, final String facet, final Set<String> values,
+                            final Column column) {
+        if (values == null) {
+            return current;
+        }
+        //Cached ones are shared, never modify them
+        final BitSet res = (BitSet) positions(facet, values, column).clone();
+        if (current != null) {
+            res.and(current);
+        }
+        return res;
+    }
+
+    private BitSet positions(final String facet, final Set<String> values, final Column column) {
+        //A single value is already a bitset of the column, nothing to resolve
+        if (values.size() == 1) {
+            return column.positions(values.iterator().next());
+        }
+        if (facets.size() > MAX_FACETS) {
+            facets.clear();
+        }
+        return facets.computeIfAbsent(new Facet(facet, values), key -> column.positions(values, all.size()));
+    }
+
+    //Values of a facet, resolved to the positions of the elements that have them
+    private record Facet(String name, Set<String> values) {
+    }
+}
@@ -0,0 +1,196 @@
+package io.kaoto.backend.metadata.catalog;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kaoto.backend.metadata.parser.Fingerprint;
+import io.kaoto.backend.model.Metadata;
+import io.kaoto.backend.model.parameter.Parameter;
+import io.kaoto.backend.model.step.Step;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🐱class CatalogSnapshotStore
+ * 🐱relationship dependsOn ParseCatalog
+ *
+ * Keeps on disk the elements parsed from each source of a catalog, indexed
+ * by the fingerprint of the source. When the catalog warms up again, sources
+ * that didn't change are loaded from here instead of being parsed.
+ *
+ * Elements are stored as compressed JSON, including the attributes the REST
+ * API hides, so they are restored exactly as the parsers generated them.
+ *
+ * Snapshots can also be bundled on the classpath at build time. Those are
+ * read-only and only used if there is no snapshot in the folder.
+ */
+public class CatalogSnapshotStore<T extends Metadata> {
+
+    //Increase when the stored format changes, to discard old files
+    private static final String FORMAT = "1";
+    private static final String EXTENSION = ".json.gz";
+
+    private static final Logger LOG = Logger.getLogger(CatalogSnapshotStore.class);
+
+    private final Path folder;
+    private final String bundled;
+    private final String version;
+    private final JavaType listType;
+    private final ObjectMapper mapper;
+    private final Set<Path> used = ConcurrentHashMap.newKeySet();
+
+    public CatalogSnapshotStore(final Path folder, final Class<T> type, final String version) {
+        this(folder, null, type, version);
+    }
+
+    /*
+     * The folder and the bundled classpath location are both optional.
+     * The version should change whenever the parsers may generate different
+     * elements from the same source, usually the version of the application.
+     */
+    public CatalogSnapshotStore(final Path folder, final String bundled, final Class<T> type,
+                                final String version) {
+        this.folder = folder;
+        this.bundled = bundled;
+        this.version = version;
+        this.mapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .addMixIn(Parameter.class, ParameterMixIn.class)
+                .addMixIn(Step.class, StepMixIn.class);
+        this.listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
+    }
+
+    /*
+     * 🐱method load : Optional[List[Metadata]]
+     * 🐱param fingerprint: String
+     *
+     * Returns the elements stored for the source with this fingerprint, if any.
+     */
+    public Optional<List<T>> load(final String fingerprint) {
+        final var name = name(fingerprint);
+        if (folder != null) {
+            final var file = folder.resolve(name);
+            used.add(file);
+            //If we don't have it, let's see if we have it bundled
+            if (Files.isRegularFile(file)) {
+                try (InputStream is = Files.newInputStream(file)) {
+                    return read(is, file.toString());
+                } catch (IOException e) {
+                    LOG.warn("Discarding unreadable catalog snapshot " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        if (bundled != null) {
+            final var resource = bundled + "/" + name;
+            try (InputStream is = CatalogSnapshotStore.class.getClassLoader().getResourceAsStream(resource)) {
+                if (is != null) {
+                    return read(is, resource);
+                }
+            } catch (IOException e) {
+                LOG.warn("Discarding unreadable catalog snapshot " + resource + ": " + e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<List<T>> read(final InputStream is, final String location) {
+        try (InputStream gzip = new GZIPInputStream(is)) {
+            return Optional.of(mapper.readValue(gzip, listType));
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Discarding unreadable catalog snapshot " + location + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /*
+     * 🐱method save
+     * 🐱param fingerprint: String
+     * 🐱param elements: List[Metadata]
+     *
+     * Stores the elements parsed from the source with this fingerprint in
+     * the folder, if any. Failing to store them is not an error, they will
+     * be parsed again next time.
+     */
+    public void save(final String fingerprint, final List<T> elements) {
+        if (folder == null) {
+            return;
+        }
+        final var file = folder.resolve(name(fingerprint));
+        used.add(file);
+        try {
+            Files.createDirectories(folder);
+            //Write first to a temporary file, so nobody reads half a snapshot
+            final var tmp = Files.createTempFile(folder, "snapshot", ".tmp");
+            try {
+                try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                    mapper.writerFor(listType).writeValue(os, elements);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Couldn't store catalog snapshot " + file + ": " + e.getMessage());
+        }
+    }
+
+    /*
+     * 🐱method prune
+     *
+     * Removes all the stored snapshots that haven't been loaded or saved
+     * by this store, as they belong to sources that changed or are gone.
+     */
+    public void prune() {
+        if (folder == null || !Files.isDirectory(folder)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            files.filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                    .filter(file -> !used.contains(file))
+                    .forEach(file -> {
+                        try {
+                            Files.deleteIfExists(file);
+                        } catch (IOException e) {
+                            LOG.debug("Couldn't remove old catalog snapshot " + file, e);
+                        }
+                    });
+        } catch (IOException e) {
+            LOG.debug("Couldn't clean old catalog snapshots in " + folder, e);
+        }
+    }
+
+    private String name(final String fingerprint) {
+        return Fingerprint.of(FORMAT, version, listType.toCanonical(), fingerprint).value() + EXTENSION;
+    }
+
+    //Attributes hidden on the REST API but needed to restore the elements
+    private abstract static class ParameterMixIn {
+        @JsonIgnore(false)
+        @JsonProperty
+        private Integer pathOrder;
+        @JsonIgnore(false)
+        @JsonProperty
+        private String pathSeparator;
+    }
+
+    //The step id is calculated from the parameters
+    @JsonIgnoreProperties({"stepId"})
+    private abstract static class StepMixIn {
+    }
+}
@@ -0,0 +1,126 @@
+package io.kaoto.backend.metadata.catalog;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🐱class Column
+ * 🐱relationship dependsOn CatalogSnapshot
+ *
+ * One attribute (name, kind, type, group) of all the elements of a snapshot.
+ *
+ * Each distinct value, ignoring case, is interned once as an int code. The
+ * column keeps the code of every element and, for every code, the positions
+ * of the elements that have it as a bitset. Filtering by a set of values is
+ * then a union of bitsets, with no string comparisons per element.
+ */
+final class Column {
+
+    /*
+     * 🐱property NONE: int
+     *
+     * Code of elements without value and of values not on the column.
+     */
+    static final int NONE = -1;
+
+    private final Map<String, Integer> codes;
+    private final int[] values;
+    private final BitSet[] members;
+
+    private Column(final Map<String, Integer> codes, final int[] values, final BitSet[] members) {
+        this.codes = codes;
+        this.values = values;
+        this.members = members;
+    }
+
+    /*
+     * 🐱method code : int
+     * 🐱param value: String
+     *
+     * The code the value was interned as, NONE if no element has it.
+     */
+    int code(final String value) {
+        if (value == null) {
+            return NONE;
+        }
+        final var code = codes.get(CatalogQuery.normalize(value));
+        return code != null ? code : NONE;
+    }
+
+    /*
+     * 🐱method codeAt : int
+     * 🐱param position: int
+     *
+     * The code of the value of the element on that position.
+     */
+    int codeAt(final int position) {
+        return values[position];
+    }
+
+    /*
+     * 🐱method positions : BitSet
+     * 🐱param value: String
+     *
+     * Positions of the elements with this value. The bitset returned is
+     * shared, never modify it.
+     */
+    BitSet positions(final String value) {
+        final int code = code(value);
+        return code == NONE ? new BitSet() : members[code];
+    }
+
+    /*
+     * 🐱method positions : BitSet
+     * 🐱param values: List[String]
+     * 🐱param size: int
+     *
+     * Positions of the elements with any of these values, as a new bitset.
+     */
+    BitSet positions(final Collection<String> values, final int size) {
+        final BitSet res = new BitSet(size);
+        for (String value : values) {
+            final int code = code(value);
+            if (code != NONE) {
+                res.or(members[code]);
+            }
+        }
+        return res;
+    }
+
+    /*
+     * 🐱miniclass Builder (Column)
+     *
+     * Interns the values while the snapshot walks its elements in order.
+     */
+    static final class Builder {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<BitSet> members = new ArrayList<>();
+        private final int[] values;
+
+        Builder(final int size) {
+            this.values = new int[size];
+        }
+
+        void set(final int position, final String value) {
+            if (value == null) {
+                values[position] = NONE;
+                return;
+            }
+            final int code = codes.computeIfAbsent(CatalogQuery.normalize(value), key -> {
+                members.add(new BitSet(values.length));
+                return members.size() - 1;
+            });
+            values[position] = code;
+            members.get(code).set(position);
+        }
+
+        Column build() {
+            return new Column(Map.copyOf(codes), values, members.toArray(new BitSet[0]));
+        }
+    }
+}
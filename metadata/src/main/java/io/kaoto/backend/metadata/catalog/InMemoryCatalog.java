@@ -6,44 +6,54 @@ import org.jboss.logging.Logger;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 🐱class InMemoryCatalog
  * 🐱inherits MetadataCatalog
+ * 🐱relationship compositionOf CatalogSnapshot, 1
  *
  * Basic catalog implementation useful for testing and small instances.
+ *
+ * The content is kept on an immutable CatalogSnapshot that gets replaced
+ * atomically on every store, so reads never block and never see a
+ * half-updated catalog.
  */
 public class InMemoryCatalog<T extends Metadata> implements MetadataCatalog<T> {
 
-    private Map<String, T> metadataCatalog = new HashMap<>();
+    private final AtomicReference<CatalogSnapshot<T>> snapshot = new AtomicReference<>(CatalogSnapshot.empty());
     private Logger log = Logger.getLogger(InMemoryCatalog.class);
 
     @Override
-    public boolean store(final List<T> steps) {
+    public synchronized boolean store(final List<T> steps) {
         if (steps == null) {
             return false;
         }
-        final Collector<T, ?, Map<String, T>> stepMapCollector =
-                Collectors.toMap(T::getId, step -> step, (a, b) -> a);
-        metadataCatalog.putAll(Collections.synchronizedMap(
-                steps.stream()
-                        .parallel()
-                        .filter(Objects::nonNull)
-                        .collect(stepMapCollector)));
-        log.trace("Catalog now has " + metadataCatalog.size() + " elements.");
+        final var updated = snapshot.get().merge(steps);
+        snapshot.set(updated);
+        log.trace("Catalog now has " + updated.size() + " elements.");
 
         return true;
     }
 
+    /*
+     * 🐱method replace : CatalogSnapshot
+     * 🐱param elements: List[Metadata]
+     *
+     * Replaces all the content of the catalog with the elements provided,
+     * at once. Returns the new snapshot.
+     */
+    public synchronized CatalogSnapshot<T> replace(final Collection<T> elements) {
+        final var updated = new CatalogSnapshot<>(elements, snapshot.get());
+        snapshot.set(updated);
+        log.trace("Catalog now has " + updated.size() + " elements.");
+        return updated;
+    }
+
     @Override
     public T searchByID(final String id) {
-        T step = metadataCatalog.get(id);
+        T step = snapshot.get().searchByID(id);
         if (step != null) {
             step = (T) step.clone();
         }
@@ -55,23 +65,25 @@ public class InMemoryCatalog<T extends Metadata> implements MetadataCatalog<T> {
         if (name == null) {
             return Collections.emptyList();
         }
-        return metadataCatalog.entrySet().stream().parallel()
-                .filter(entry -> name.equalsIgnoreCase(entry.getValue().getName()))
-                .map(Map.Entry::getValue)
+        return snapshot.get().searchByName(name).stream()
                 .map(t -> (T) t.clone())
                 .toList();
     }
 
     @Override
     public Collection<T> getAll() {
-        return metadataCatalog.entrySet().stream().parallel()
-                .map(Map.Entry::getValue)
+        return snapshot.get().getAll().stream()
                 .map(t -> (T) t.clone())
                 .toList();
     }
 
     @Override
-    public void clear() {
-        metadataCatalog.clear();
+    public CatalogSnapshot<T> getSnapshot() {
+        return snapshot.get();
+    }
+
+    @Override
+    public synchronized void clear() {
+        snapshot.set(CatalogSnapshot.empty());
     }
 }
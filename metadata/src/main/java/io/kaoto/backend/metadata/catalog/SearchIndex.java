@@ -0,0 +1,173 @@
+package io.kaoto.backend.metadata.catalog;
+
+import io.kaoto.backend.model.Metadata;
+import io.kaoto.backend.model.step.Step;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 🐱class SearchIndex
+ * 🐱relationship dependsOn CatalogSnapshot
+ *
+ * Inverted index over the words of the elements of a snapshot: identifier,
+ * name, title, description, group and titles of the parameters.
+ *
+ * Words of the query match whole words or the beginning of them. All the
+ * words of the query must match. Elements are ranked by where the words
+ * were found, so a match on the name weighs more than one on the
+ * description, and whole words weigh more than prefixes.
+ *
+ * The words of each element are kept, so building the index of the next
+ * snapshot only tokenizes the elements that changed.
+ */
+final class SearchIndex<T extends Metadata> {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final float NAME = 5f;
+    private static final float TITLE = 4f;
+    private static final float GROUP = 2f;
+    private static final float DESCRIPTION = 1f;
+    private static final float PARAMETER = 1f;
+    private static final float PREFIX = 0.5f;
+
+    //Words of each element, with the weight of the best field they are on
+    private final Map<T, Map<String, Float>> documents = new IdentityHashMap<>();
+    //Sorted, so all the words starting with a prefix are together
+    private final String[] words;
+    private final int[][] positions;
+    private final float[][] weights;
+    private final int size;
+
+    SearchIndex(final List<T> all, final SearchIndex<T> previous) {
+        this.size = all.size();
+        final Map<String, List<Integer>> postings = new HashMap<>();
+        for (int i = 0; i < all.size(); i++) {
+            final T element = all.get(i);
+            var document = previous != null ? previous.documents.get(element) : null;
+            if (document == null) {
+                document = document(element);
+            }
+            documents.put(element, document);
+            for (String word : document.keySet()) {
+                postings.computeIfAbsent(word, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        this.words = postings.keySet().toArray(new String[0]);
+        Arrays.sort(words);
+        this.positions = new int[words.length][];
+        this.weights = new float[words.length][];
+        for (int w = 0; w < words.length; w++) {
+            final var list = postings.get(words[w]);
+            positions[w] = new int[list.size()];
+            weights[w] = new float[list.size()];
+            for (int p = 0; p < list.size(); p++) {
+                positions[w][p] = list.get(p);
+                weights[w][p] = documents.get(all.get(list.get(p))).get(words[w]);
+            }
+        }
+    }
+
+    /*
+     * 🐱method tokenize : List[String]
+     * 🐱param text: String
+     *
+     * Words of the text, lowercase and without duplicates.
+     */
+    static List<String> tokenize(final String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        final Set<String> res = new LinkedHashSet<>();
+        for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                res.add(word);
+            }
+        }
+        return List.copyOf(res);
+    }
+
+    /*
+     * 🐱method search : int[]
+     * 🐱param terms: List[String]
+     * 🐱param allowed: BitSet
+     * 🐱param limit: int
+     *
+     * Positions of the elements matching all the terms, best ranked first.
+     * Elements with the same rank keep the order of the snapshot. If
+     * allowed is not null, only those positions are considered.
+     */
+    int[] search(final List<String> terms, final BitSet allowed, final int limit) {
+        BitSet matches = allowed;
+        final float[] scores = new float[size];
+        for (String term : terms) {
+            final BitSet termMatches = new BitSet(size);
+            final float[] termScores = new float[size];
+            for (int w = firstStartingWith(term); w < words.length && words[w].startsWith(term); w++) {
+                final float factor = words[w].length() == term.length() ? 1f : PREFIX;
+                for (int p = 0; p < positions[w].length; p++) {
+                    final int position = positions[w][p];
+                    termMatches.set(position);
+                    termScores[position] = Math.max(termScores[position], weights[w][p] * factor);
+                }
+            }
+            if (matches == null) {
+                matches = termMatches;
+            } else {
+                matches = (BitSet) matches.clone();
+                matches.and(termMatches);
+            }
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                scores[i] += termScores[i];
+            }
+        }
+
+        if (matches == null) {
+            return new int[0];
+        }
+        final Integer[] found = matches.stream().boxed().toArray(Integer[]::new);
+        //Stable, so the same rank keeps the order by identifier
+        Arrays.sort(found, (a, b) -> Float.compare(scores[b], scores[a]));
+        final int count = limit > 0 ? Math.min(limit, found.length) : found.length;
+        final int[] res = new int[count];
+        for (int i = 0; i < count; i++) {
+            res[i] = found[i];
+        }
+        return res;
+    }
+
+    //Index of the first word that is equal or goes after the prefix
+    private int firstStartingWith(final String prefix) {
+        final int index = Arrays.binarySearch(words, prefix);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static <T extends Metadata> Map<String, Float> document(final T element) {
+        final Map<String, Float> document = new HashMap<>();
+        add(document, element.getId(), NAME);
+        add(document, element.getName(), NAME);
+        if (element instanceof Step step) {
+            add(document, step.getTitle(), TITLE);
+            add(document, step.getGroup(), GROUP);
+            add(document, step.getDescription(), DESCRIPTION);
+            step.getParameterTitles().forEach(title -> add(document, title, PARAMETER));
+        }
+        return document;
+    }
+
+    private static void add(final Map<String, Float> document, final String text, final float weight) {
+        for (String word : tokenize(text)) {
+            document.merge(word, weight, Math::max);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package io.kaoto.backend.metadata.parser;
+
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🐱class ArchiveCache
+ *
+ * Keeps on disk the remote archives the catalogs are parsed from, indexed
+ * by their url. Cached archives are revalidated with a conditional request,
+ * so they are only downloaded again when they change.
+ *
+ * If the remote can't be reached, the cached archive is used as it is, so
+ * catalogs can warm up offline.
+ */
+public class ArchiveCache {
+
+    private static final String ARCHIVE = ".zip";
+    private static final String VALIDATORS = ".properties";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "last-modified";
+    private static final String CONTENT = "content";
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final int READ_TIMEOUT = 60000;
+
+    private static final Logger LOG = Logger.getLogger(ArchiveCache.class);
+
+    private final Path folder;
+    //Several parsers may read the same archive at the same time
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    public ArchiveCache(final Path folder) {
+        this.folder = folder;
+    }
+
+    /*
+     * 🐱method fetch : Optional[CachedArchive]
+     * 🐱param url: String
+     *
+     * Returns the archive of this url, downloading it only if it changed
+     * since the previous time. Empty if there is no way to get it.
+     */
+    public Optional<CachedArchive> fetch(final String url) {
+        synchronized (locks.computeIfAbsent(url, key -> new Object())) {
+            final var name = Fingerprint.of(url).value();
+            final var archive = folder.resolve(name + ARCHIVE);
+            final var validators = folder.resolve(name + VALIDATORS);
+            final var cached = readValidators(archive, validators);
+
+            HttpURLConnection connection = null;
+            try {
+                connection = (HttpURLConnection) new URL(url).openConnection();
+                connection.setConnectTimeout(CONNECT_TIMEOUT);
+                connection.setReadTimeout(READ_TIMEOUT);
+                if (cached.containsKey(ETAG)) {
+                    connection.setRequestProperty("If-None-Match", cached.getProperty(ETAG));
+                }
+                if (cached.containsKey(LAST_MODIFIED)) {
+                    connection.setRequestProperty("If-Modified-Since", cached.getProperty(LAST_MODIFIED));
+                }
+
+                final var code = connection.getResponseCode();
+                if (code == HttpURLConnection.HTTP_NOT_MODIFIED && cached.containsKey(CONTENT)) {
+                    LOG.debug("Cached archive of " + url + " is still valid.");
+                    return Optional.of(new CachedArchive(archive, cached.getProperty(CONTENT)));
+                } else if (code == HttpURLConnection.HTTP_OK) {
+                    return Optional.of(download(connection, archive, validators));
+                }
+                LOG.warn("Unexpected response " + code + " downloading " + url);
+            } catch (IOException e) {
+                LOG.warn("Couldn't download " + url + ": " + e.getMessage());
+            } finally {
+                if (connection != null) {
+                    connection.disconnect();
+                }
+            }
+
+            if (cached.containsKey(CONTENT)) {
+                LOG.info("Using the cached archive of " + url);
+                return Optional.of(new CachedArchive(archive, cached.getProperty(CONTENT)));
+            }
+            return Optional.empty();
+        }
+    }
+
+    private CachedArchive download(final HttpURLConnection connection, final Path archive, final Path validators)
+            throws IOException {
+        Files.createDirectories(folder);
+        //Write first to a temporary file, so nobody reads half an archive
+        final var tmp = Files.createTempFile(folder, "archive", ".tmp");
+        try {
+            try (InputStream is = connection.getInputStream()) {
+                Files.copy(is, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            final String content;
+            try (InputStream is = Files.newInputStream(tmp)) {
+                content = Fingerprint.of().add(is).value();
+            }
+
+            final var properties = new Properties();
+            properties.setProperty(CONTENT, content);
+            final var etag = connection.getHeaderField("ETag");
+            if (etag != null) {
+                properties.setProperty(ETAG, etag);
+            }
+            final var lastModified = connection.getHeaderField("Last-Modified");
+            if (lastModified != null) {
+                properties.setProperty(LAST_MODIFIED, lastModified);
+            }
+
+            Files.move(tmp, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            try (OutputStream os = Files.newOutputStream(validators)) {
+                properties.store(os, connection.getURL().toString());
+            }
+            return new CachedArchive(archive, content);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    //Validators are only useful if we still have the archive they validate
+    private Properties readValidators(final Path archive, final Path validators) {
+        final var properties = new Properties();
+        //Without validators, it is not cached yet
+        if (Files.isRegularFile(archive) && Files.isRegularFile(validators)) {
+            try (InputStream is = Files.newInputStream(validators)) {
+                properties.load(is);
+            } catch (IOException | IllegalArgumentException e) {
+                LOG.warn("Discarding unreadable cache entry " + validators + ": " + e.getMessage());
+                properties.clear();
+            }
+        }
+        return properties;
+    }
+
+    /*
+     * 🐱miniclass CachedArchive (ArchiveCache)
+     *
+     * Local copy of a remote archive, with the fingerprint of its content.
+     */
+    public record CachedArchive(Path file, String content) {
+    }
+}
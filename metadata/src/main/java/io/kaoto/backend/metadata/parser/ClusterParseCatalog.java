@@ -3,11 +3,10 @@ package io.kaoto.backend.metadata.parser;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.ParseStatistics;
 import io.kaoto.backend.model.Metadata;
+import io.kaoto.backend.model.mapper.Mappers;
 import org.jboss.logging.Logger;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 
 import java.io.StringReader;
 import java.util.Collections;
@@ -41,10 +40,18 @@ public class ClusterParseCatalog<T extends Metadata> implements ParseCatalog<T>
 
     private ProcessFile<T> yamlProcessFile;
 
+    private ParseStatistics statistics = ParseStatistics.NONE;
+
     public ClusterParseCatalog(final Class<? extends CustomResource> cr) {
         this.cr = cr;
     }
 
+    @Override
+    public String identifier() {
+        return getClass().getName() + ":" + yamlProcessFile.getClass().getName() + ":" + cr.getName()
+                + ":" + namespace;
+    }
+
     private List<T> getCRAndParse(final Class<? extends CustomResource> cr) {
         log.trace("Warming up repository from cluster.");
 
@@ -68,13 +75,19 @@ public class ClusterParseCatalog<T extends Metadata> implements ParseCatalog<T>
                     //Add the data to the future asynchronously
                     futureMd.add(CompletableFuture.runAsync(() ->
                     {
+                        final var start = System.nanoTime();
+                        long size = 0;
+                        boolean failed = true;
                         try {
-                            metadataList.addAll(this.yamlProcessFile.parseInputStream(
-                                    // Yaml is not thread-safe, so it needs to be initialized here
-                                    new StringReader(new Yaml(new Constructor(cr,
-                                            new LoaderOptions())).dumpAsMap(resource))));
+                            // Yaml is not thread-safe, each thread gets its own
+                            final var yaml = Mappers.snakeYaml(cr).dumpAsMap(resource);
+                            size = yaml.length();
+                            metadataList.addAll(this.yamlProcessFile.parseInputStream(new StringReader(yaml)));
+                            failed = false;
                         } catch (Throwable t) {
                             log.trace("Couldn't parse the resource.", t);
+                        } finally {
+                            statistics.parsed(size, System.nanoTime() - start, failed);
                         }
                     }))
             );
@@ -102,4 +115,9 @@ public class ClusterParseCatalog<T extends Metadata> implements ParseCatalog<T>
     public void setFileVisitor(final ProcessFile<T> fileVisitor) {
         this.yamlProcessFile = fileVisitor;
     }
+
+    @Override
+    public void setStatistics(final ParseStatistics statistics) {
+        this.statistics = statistics != null ? statistics : ParseStatistics.NONE;
+    }
 }
@@ -0,0 +1,78 @@
+package io.kaoto.backend.metadata.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 🐱class Fingerprint
+ *
+ * Accumulates content to calculate a stable identifier of it. Used by the
+ * parsers to know if their source changed without having to parse it.
+ */
+public final class Fingerprint {
+
+    private final MessageDigest digest;
+
+    private Fingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to fingerprint catalogs.", e);
+        }
+    }
+
+    /*
+     * 🐱method of : Fingerprint
+     * 🐱param parts: String[]
+     *
+     * Starts a fingerprint with the parts provided.
+     */
+    public static Fingerprint of(final String... parts) {
+        final var fingerprint = new Fingerprint();
+        for (String part : parts) {
+            fingerprint.add(part);
+        }
+        return fingerprint;
+    }
+
+    public Fingerprint add(final String part) {
+        digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+        //Separator, so "ab" + "c" is not the same as "a" + "bc"
+        digest.update((byte) 0);
+        return this;
+    }
+
+    public Fingerprint add(final long part) {
+        return add(Long.toString(part));
+    }
+
+    /*
+     * 🐱method add : Fingerprint
+     * 🐱param content: InputStream
+     *
+     * Adds all the content of the stream. The stream is not closed.
+     */
+    public Fingerprint add(final InputStream content) throws IOException {
+        final byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = content.read(buffer)) >= 0) {
+            digest.update(buffer, 0, read);
+        }
+        digest.update((byte) 0);
+        return this;
+    }
+
+    /*
+     * 🐱method value : String
+     *
+     * Returns the fingerprint as an hexadecimal string. The fingerprint
+     * can't be used after this.
+     */
+    public String value() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,219 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.metadata.ParseStatistics;
+import io.kaoto.backend.model.Metadata;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.TagOpt;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+import org.jboss.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 🐱class GitCache
+ * 🐱relationship dependsOn ProcessFile
+ *
+ * Keeps a shallow working copy of each git repository the catalogs are
+ * parsed from, indexed by url and tag, so they are cloned only once.
+ *
+ * When the tag or branch moves, only the new commit is fetched, and only
+ * the files that changed between both commits are parsed again. If the
+ * remote can't be reached, the working copy is used as it is.
+ */
+public class GitCache {
+
+    private static final Logger LOG = Logger.getLogger(GitCache.class);
+
+    private final Path folder;
+    //Several parsers may read the same repository at the same time
+    private final Map<Path, Object> locks = new ConcurrentHashMap<>();
+    //What each file visitor parsed from each working copy the previous time
+    private final Map<String, ParsedCommit> parsed = new ConcurrentHashMap<>();
+
+    public GitCache(final Path folder) {
+        this.folder = folder;
+    }
+
+    /*
+     * 🐱method parse : List[Metadata]
+     * 🐱param url: String
+     * 🐱param tag: String
+     * 🐱param processFile: ProcessFile
+     * 🐱param statistics: ParseStatistics
+     * 🐱param executor: Executor
+     *
+     * Brings the working copy of the repository to the latest commit of the
+     * tag or branch and returns the elements parsed from it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Metadata> List<T> parse(final String url, final String tag, final ProcessFile<T> processFile,
+                                              final ParseStatistics statistics, final Executor executor)
+            throws IOException, GitAPIException {
+        final var directory = folder.resolve(Fingerprint.of(url, tag).value());
+        synchronized (locks.computeIfAbsent(directory, key -> new Object())) {
+            final var key = directory + ":" + processFile.getClass().getName();
+            try (Git git = open(directory, url, tag)) {
+                final var commit = git.getRepository().resolve(Constants.HEAD);
+                final var previous = parsed.get(key);
+
+                final Map<String, List<? extends Metadata>> files;
+                if (previous == null) {
+                    files = scan(directory, processFile, statistics, executor);
+                } else if (previous.commit().equals(commit)) {
+                    files = previous.files();
+                } else {
+                    files = update(git, directory, previous, commit, processFile, statistics, executor);
+                }
+                parsed.put(key, new ParsedCommit(commit, files));
+
+                final List<T> elements = new ArrayList<>();
+                //All of them were parsed by this same processFile
+                files.values().forEach(md -> elements.addAll((List<T>) md));
+                return elements;
+            }
+        }
+    }
+
+    //Clones the repository the first time, fetches only the latest commit after that
+    private Git open(final Path directory, final String url, final String tag) throws IOException, GitAPIException {
+        if (!Files.isDirectory(directory.resolve(Constants.DOT_GIT))) {
+            LOG.trace("Cloning git repository " + url);
+            Files.createDirectories(folder);
+            try {
+                return Git.cloneRepository()
+                        .setCloneSubmodules(true)
+                        .setURI(url)
+                        .setDirectory(directory.toFile())
+                        .setBranch(tag)
+                        .setDepth(1)
+                        .setTagOption(TagOpt.NO_TAGS)
+                        .call();
+            } catch (GitAPIException | RuntimeException e) {
+                //Don't leave half a working copy behind
+                FileUtils.deleteDirectory(directory.toFile());
+                throw e;
+            }
+        }
+
+        final var git = Git.open(directory.toFile());
+        try {
+            final var remote = latest(url, tag);
+            if (remote == null) {
+                LOG.warn("Couldn't find " + tag + " on " + url + ", using the cached working copy.");
+            } else if (!remote.commit().equals(git.getRepository().resolve(Constants.HEAD))) {
+                LOG.trace("Fetching latest commit of " + url + "#" + tag);
+                git.fetch()
+                        .setRemote(Constants.DEFAULT_REMOTE_NAME)
+                        .setRefSpecs(new RefSpec("+" + remote.name() + ":" + remote.local()))
+                        .setDepth(1)
+                        .setTagOpt(TagOpt.NO_TAGS)
+                        .call();
+                git.checkout().setName(remote.commit().name()).setForced(true).call();
+            }
+        } catch (GitAPIException e) {
+            LOG.warn("Couldn't update " + url + ", using the cached working copy: " + e.getMessage());
+        }
+        return git;
+    }
+
+    //The ref of the tag or branch on the remote, with the commit it points to
+    private RemoteRef latest(final String url, final String tag) throws GitAPIException {
+        for (Ref ref : Git.lsRemoteRepository().setRemote(url).setHeads(true).setTags(true).call()) {
+            final var commit = ref.getPeeledObjectId() != null ? ref.getPeeledObjectId() : ref.getObjectId();
+            if (ref.getName().equals(Constants.R_HEADS + tag)) {
+                //Don't fetch into the branch we have checked out
+                return new RemoteRef(ref.getName(),
+                        Constants.R_REMOTES + Constants.DEFAULT_REMOTE_NAME + "/" + tag, commit);
+            } else if (ref.getName().equals(Constants.R_TAGS + tag)) {
+                return new RemoteRef(ref.getName(), ref.getName(), commit);
+            }
+        }
+        return null;
+    }
+
+    //Parses again only what changed between the commits
+    private <T extends Metadata> Map<String, List<? extends Metadata>> update(
+            final Git git, final Path directory, final ParsedCommit previous, final ObjectId commit,
+            final ProcessFile<T> processFile, final ParseStatistics statistics, final Executor executor)
+            throws IOException, GitAPIException {
+        final List<DiffEntry> changes;
+        try (RevWalk walk = new RevWalk(git.getRepository());
+             DiffFormatter diff = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+            diff.setRepository(git.getRepository());
+            changes = diff.scan(walk.parseCommit(previous.commit()).getTree(), walk.parseCommit(commit).getTree());
+        } catch (IOException e) {
+            //Most likely, the previous commit is not in the shallow copy anymore
+            LOG.debug("Couldn't compare commits of " + directory + ", parsing everything again.", e);
+            return scan(directory, processFile, statistics, executor);
+        }
+
+        if (changes.stream().anyMatch(change -> change.getOldMode() == FileMode.GITLINK
+                || change.getNewMode() == FileMode.GITLINK)) {
+            //Submodules are not part of the diff, go through all of them
+            git.submoduleUpdate().call();
+            return scan(directory, processFile, statistics, executor);
+        }
+
+        LOG.trace(changes.size() + " files changed in " + directory);
+        final Map<String, List<? extends Metadata>> files = new TreeMap<>(previous.files());
+        for (DiffEntry change : changes) {
+            files.remove(change.getOldPath());
+            final var path = change.getNewPath();
+            if (change.getChangeType() != DiffEntry.ChangeType.DELETE && isDesired(directory, path, processFile)) {
+                files.put(path, processFile.parseFile(directory.resolve(path).toFile(), statistics));
+            }
+        }
+        return files;
+    }
+
+    //Same folders and files the processFile would visit walking the working copy
+    private boolean isDesired(final Path directory, final String path, final ProcessFile<?> processFile) {
+        final var file = directory.resolve(path);
+        for (var dir = file.getParent(); dir != null && dir.startsWith(directory); dir = dir.getParent()) {
+            if (processFile.preVisitDirectory(dir, null) != FileVisitResult.CONTINUE) {
+                return false;
+            }
+        }
+        return processFile.isDesiredType(file.toFile().getName());
+    }
+
+    private <T extends Metadata> Map<String, List<? extends Metadata>> scan(final Path directory,
+                                                                          final ProcessFile<T> processFile,
+                                                                          final ParseStatistics statistics,
+                                                                          final Executor executor)
+            throws IOException {
+        LOG.trace("Parsing all files in " + directory);
+        final Map<String, List<? extends Metadata>> files = new TreeMap<>();
+        new ParsingFileVisitor<>(processFile, statistics, executor).walk(directory).forEach((file, md) ->
+                files.put(directory.relativize(file).toString().replace(File.separatorChar, '/'), md));
+        return files;
+    }
+
+    //Elements parsed from each file of a commit
+    private record ParsedCommit(ObjectId commit, Map<String, List<? extends Metadata>> files) {
+    }
+
+    //Where a ref of the remote is fetched to
+    private record RemoteRef(String name, String local, ObjectId commit) {
+    }
+}
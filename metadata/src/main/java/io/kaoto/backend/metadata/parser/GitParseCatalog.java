@@ -1,20 +1,24 @@
 package io.kaoto.backend.metadata.parser;
 
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.ParseStatistics;
 import io.kaoto.backend.model.Metadata;
 import org.apache.commons.io.FileUtils;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.transport.TagOpt;
 import org.jboss.logging.Logger;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 /**
  * 🐱class GitParseCatalog
@@ -33,6 +37,12 @@ public class GitParseCatalog<T extends Metadata>
 
     private ProcessFile<T> processFile;
 
+    private GitCache gitCache;
+
+    private ParseStatistics statistics;
+
+    private ParserExecutor parserExecutor;
+
     public GitParseCatalog(final String url, final String tag) {
         this.url = url;
         this.tag = tag;
@@ -40,10 +50,15 @@ public class GitParseCatalog<T extends Metadata>
 
     private List<T> cloneRepoAndParse(final String url, final String tag) {
         log.trace("Warming up repository in " + url);
-        List<T> metadataList =
-                Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        final List<CompletableFuture<Void>> futureMd =
-                Collections.synchronizedList(new CopyOnWriteArrayList<>());
+        if (gitCache != null) {
+            try {
+                return gitCache.parse(url, tag, processFile, statistics, executor());
+            } catch (GitAPIException | IOException e) {
+                log.error("Error trying to clone repository.", e);
+                return new ArrayList<>();
+            }
+        }
+        final List<T> metadataList = new ArrayList<>();
 
         File file = null;
         try {
@@ -67,14 +82,10 @@ public class GitParseCatalog<T extends Metadata>
                     .call()) {
 
                 log.trace("Parsing all files in the repository");
-                this.processFile.setFutureMetadata(futureMd);
-                this.processFile.setMetadataList(metadataList);
-                Files.walkFileTree(file.getAbsoluteFile().toPath(),
-                        this.processFile);
-                log.trace("Found " + futureMd.size() + " elements.");
-                CompletableFuture.allOf(
-                        futureMd.toArray(new CompletableFuture[0]))
-                        .join();
+                final var files = new ParsingFileVisitor<>(this.processFile, statistics, executor())
+                        .walk(file.getAbsoluteFile().toPath());
+                log.trace("Found " + files.size() + " elements.");
+                files.values().forEach(metadataList::addAll);
 
             } catch (GitAPIException e) {
                 log.error("Error trying to clone repository.", e);
@@ -92,6 +103,37 @@ public class GitParseCatalog<T extends Metadata>
         return metadataList;
     }
 
+    @Override
+    public String identifier() {
+        return getClass().getName() + ":" + processFile.getClass().getName() + ":" + url + "#" + tag;
+    }
+
+    /*
+     * 🐱method fingerprint : String
+     *
+     * Identifies the commit the tag or branch points to on the remote
+     * repository, without cloning it.
+     */
+    @Override
+    public String fingerprint() {
+        try {
+            final Collection<Ref> refs = Git.lsRemoteRepository()
+                    .setRemote(url)
+                    .setHeads(true)
+                    .setTags(true)
+                    .call();
+            for (Ref ref : refs) {
+                if (ref.getName().equals(Constants.R_HEADS + tag) || ref.getName().equals(Constants.R_TAGS + tag)) {
+                    final var commit = ref.getPeeledObjectId() != null ? ref.getPeeledObjectId() : ref.getObjectId();
+                    return Fingerprint.of(identifier(), commit.name()).value();
+                }
+            }
+        } catch (GitAPIException e) {
+            log.debug("Couldn't check the latest commit of " + url, e);
+        }
+        return null;
+    }
+
     @Override
     public CompletableFuture<List<T>> parse() {
         CompletableFuture<List<T>> metadata = new CompletableFuture<>();
@@ -102,4 +144,34 @@ public class GitParseCatalog<T extends Metadata>
     public void setFileVisitor(final ProcessFile<T> fileVisitor) {
         this.processFile = fileVisitor;
     }
+
+    @Override
+    public void setStatistics(final ParseStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void setParserExecutor(final ParserExecutor parserExecutor) {
+        this.parserExecutor = parserExecutor;
+    }
+
+    private Executor executor() {
+        return parserExecutor != null ? parserExecutor.get() : null;
+    }
+
+    @Override
+    public void setDetailsCache(final StepDetailsCache detailsCache) {
+        this.processFile.setDetailsCache(detailsCache);
+    }
+
+    /*
+     * 🐱method setGitCache
+     * 🐱param gitCache: GitCache
+     *
+     * Where to keep the working copy between warm-ups. By default, the
+     * repository is cloned every time into a temporary folder.
+     */
+    public void setGitCache(final GitCache gitCache) {
+        this.gitCache = gitCache;
+    }
 }
@@ -0,0 +1,222 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.Informable;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.kaoto.backend.metadata.LiveParseCatalog;
+import io.kaoto.backend.metadata.ParseStatistics;
+import io.kaoto.backend.model.Metadata;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 🐱class InformerParseCatalog
+ *
+ * 🐱inherits LiveParseCatalog
+ *
+ * Extracts CustomResources from a cluster through a shared informer, so after
+ * the first list the catalog follows the add, update and delete events
+ * instead of listing everything again.
+ *
+ * Resources are converted straight to elements, without going through
+ * their YAML representation.
+ */
+public class InformerParseCatalog<T extends Metadata, R extends HasMetadata> implements LiveParseCatalog<T> {
+
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(500);
+
+    private static final Logger LOG = Logger.getLogger(InformerParseCatalog.class);
+
+    private final Class<R> cr;
+    private final Function<R, List<T>> converter;
+    private final Duration debounce;
+
+    //Elements converted from each resource, by namespace and name
+    private final Map<String, List<T>> resources = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean notifying = new AtomicBoolean();
+    private KubernetesClient kubernetesClient;
+    private String namespace;
+    private SharedIndexInformer<R> informer;
+    private ParseStatistics statistics = ParseStatistics.NONE;
+    private volatile Consumer<List<T>> listener;
+    private volatile boolean changed;
+    private volatile boolean closed;
+
+    public InformerParseCatalog(final Class<R> cr, final Function<R, List<T>> converter) {
+        this(cr, converter, DEFAULT_DEBOUNCE);
+    }
+
+    public InformerParseCatalog(final Class<R> cr, final Function<R, List<T>> converter, final Duration debounce) {
+        this.cr = cr;
+        this.converter = converter;
+        this.debounce = debounce;
+    }
+
+    public void setNamespace(final String namespace) {
+        this.namespace = namespace;
+    }
+
+    public void setKubernetesClient(final KubernetesClient kubernetesClient) {
+        this.kubernetesClient = kubernetesClient;
+    }
+
+    @Override
+    public String identifier() {
+        return getClass().getName() + ":" + cr.getName() + ":" + namespace;
+    }
+
+    @Override
+    public CompletableFuture<List<T>> parse() {
+        final var time = System.currentTimeMillis();
+        return start()
+                .thenApply(synced -> {
+                    LOG.info("Retrieved resources in " + (System.currentTimeMillis() - time) + "ms.");
+                    return elements();
+                })
+                .whenComplete((elements, e) -> {
+                    if (e != null) {
+                        LOG.error("Error retrieving elements from cluster.", e);
+                        reset();
+                    }
+                });
+    }
+
+    //Forget the informer that failed to start, so the next parse starts a new one
+    private synchronized void reset() {
+        if (informer != null) {
+            informer.stop();
+            informer = null;
+        }
+        resources.clear();
+    }
+
+    private synchronized CompletableFuture<Void> start() {
+        if (informer != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            final Informable<R> informable;
+            //if the backend is deployed cluster-wide
+            if (namespace == null || "false".equals(namespace) || "".equals(namespace)) {
+                informable = kubernetesClient.resources(cr).inAnyNamespace();
+            } else {
+                informable = kubernetesClient.resources(cr).inNamespace(namespace);
+            }
+            informer = informable.runnableInformer(0);
+            informer.addEventHandler(new ResourceEventHandler<>() {
+                @Override
+                public void onAdd(final R resource) {
+                    update(resource);
+                }
+
+                @Override
+                public void onUpdate(final R old, final R resource) {
+                    update(resource);
+                }
+
+                @Override
+                public void onDelete(final R resource, final boolean deletedFinalStateUnknown) {
+                    resources.remove(Cache.metaNamespaceKeyFunc(resource));
+                    changed();
+                }
+            });
+            return informer.start().toCompletableFuture();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public synchronized boolean watch(final Consumer<List<T>> listener) {
+        if (closed || informer == null || !informer.hasSynced()) {
+            //Not following the cluster yet, the next parse will try again
+            return false;
+        }
+        this.listener = listener;
+        if (changed) {
+            //Something happened between the parse and now
+            changed();
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (informer != null) {
+            informer.stop();
+        }
+    }
+
+    @Override
+    public void setFileVisitor(final ProcessFile<T> fileVisitor) {
+        //Resources are converted directly, we don't need a fileVisitor
+    }
+
+    @Override
+    public void setStatistics(final ParseStatistics statistics) {
+        this.statistics = statistics != null ? statistics : ParseStatistics.NONE;
+    }
+
+    private List<T> elements() {
+        final List<T> elements = new ArrayList<>();
+        resources.values().forEach(elements::addAll);
+        return elements;
+    }
+
+    private void update(final R resource) {
+        final var start = System.nanoTime();
+        List<T> elements;
+        boolean failed = false;
+        try {
+            elements = converter.apply(resource);
+        } catch (RuntimeException e) {
+            LOG.trace("Couldn't parse the resource.", e);
+            elements = List.of();
+            failed = true;
+        }
+        //Resources come already deserialized, there are no bytes to count
+        statistics.parsed(0, System.nanoTime() - start, failed);
+        resources.put(Cache.metaNamespaceKeyFunc(resource), elements);
+        changed();
+    }
+
+    //Bursts of events end up in a single notification
+    private void changed() {
+        if (informer == null || !informer.hasSynced()) {
+            //Still on the first list, parse will return all of them
+            return;
+        }
+        changed = true;
+        if (listener != null && !closed && notifying.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::notifyListener,
+                    CompletableFuture.delayedExecutor(debounce.toMillis(), TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void notifyListener() {
+        notifying.set(false);
+        changed = false;
+        if (closed) {
+            return;
+        }
+        try {
+            listener.accept(elements());
+        } catch (RuntimeException e) {
+            LOG.error("Error applying the changes of " + cr.getSimpleName() + " resources.", e);
+        }
+    }
+}
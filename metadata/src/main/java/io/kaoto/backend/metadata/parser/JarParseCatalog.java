@@ -1,6 +1,7 @@
 package io.kaoto.backend.metadata.parser;
 
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.ParseStatistics;
 import io.kaoto.backend.model.Metadata;
 import org.apache.commons.io.IOUtils;
 import org.jboss.logging.Logger;
@@ -9,14 +10,24 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 /**
@@ -35,6 +46,17 @@ public class JarParseCatalog<T extends Metadata>
 
     private ProcessFile<T> processFile;
 
+    private Executor executor;
+
+    //How many files can be parsed at the same time on the executor
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private ArchiveCache archiveCache;
+
+    private ParseStatistics statistics = ParseStatistics.NONE;
+
+    private ArchiveCache.CachedArchive cachedArchive;
+
     //to avoid bomb attacks
     private int thresholdSize = 1000000000; // 1 GB
 
@@ -44,11 +66,54 @@ public class JarParseCatalog<T extends Metadata>
 
     private List<T> getJarAndParse(final String url) {
         log.trace("Warming up repository in " + url);
-        List<T> metadataList = Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        final List<CompletableFuture<Void>> futureMd = Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        this.processFile.setFutureMetadata(futureMd);
-        this.processFile.setMetadataList(metadataList);
+        final List<CompletableFuture<List<T>>> parsing = new ArrayList<>();
+        //Don't read more files than the workers can take
+        final var workers = new Semaphore(parallelism * 2);
+
+        try {
+            final var file = getLocalFile(url);
+            if (file != null) {
+                //Random access, so the workers can read their files in parallel
+                try (ZipFile zip = new ZipFile(file.toFile())) {
+                    parseZipFile(file, zip, parsing, workers);
+                    return collect(parsing);
+                }
+            }
+            parseZipStream(url, parsing, workers);
+            return collect(parsing);
+        } catch (FileNotFoundException e) {
+            log.error("No jar file found.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while parsing catalog.", e);
+        } catch (Exception e) {
+            log.error("Error trying to parse catalog.", e);
+        }
+
+        return new ArrayList<>();
+    }
 
+    private void parseZipFile(final Path file, final ZipFile zip, final List<CompletableFuture<List<T>>> parsing,
+                              final Semaphore workers) throws IOException, InterruptedException {
+        long totalSize = 0;
+        final var entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            final ZipEntry zipEntry = entries.nextElement();
+            totalSize += Math.max(zipEntry.getSize(), 0);
+            if (totalSize > thresholdSize) {
+                throw new IOException("This jar file unzipped is too big.");
+            }
+            if (!zipEntry.isDirectory() && this.processFile.isDesiredType(zipEntry.getName())) {
+                final var name = zipEntry.getName();
+                submit(name, Math.max(zipEntry.getSize(), 0),
+                        () -> new InputStreamReader(zip.getInputStream(zipEntry), StandardCharsets.UTF_8),
+                        () -> readEntry(file, name), parsing, workers);
+            }
+        }
+    }
+
+    private void parseZipStream(final String url, final List<CompletableFuture<List<T>>> parsing,
+                                final Semaphore workers) throws IOException, InterruptedException {
         long totalSize = 0;
         try (ZipInputStream zis = new ZipInputStream(getInputStream(url))) {
 
@@ -56,7 +121,7 @@ public class JarParseCatalog<T extends Metadata>
             ZipEntry zipEntry = zis.getNextEntry();
 
             while (zipEntry != null) {
-                totalSize += processExtractedFile(zis, zipEntry, futureMd, metadataList);
+                totalSize += processExtractedFile(zis, zipEntry, parsing, workers);
 
                 if (totalSize > thresholdSize) {
                     throw new IOException("This jar file unzipped is too big.");
@@ -64,35 +129,98 @@ public class JarParseCatalog<T extends Metadata>
 
                 zipEntry = zis.getNextEntry();
             }
-
-            log.trace("Found " + futureMd.size() + " elements.");
-            CompletableFuture.allOf(futureMd.toArray(new CompletableFuture[0])).join();
-        } catch (FileNotFoundException e) {
-            log.error("No jar file found.", e);
-        } catch (Exception e) {
-            log.error("Error trying to parse catalog.", e);
         }
-
-        return metadataList;
     }
 
     private long processExtractedFile(final ZipInputStream zis, final ZipEntry zipEntry,
-                                      final List<CompletableFuture<Void>> futureMd, final List<T> metadataList)
-            throws IOException {
+                                      final List<CompletableFuture<List<T>>> parsing, final Semaphore workers)
+            throws IOException, InterruptedException {
         long size = zipEntry.getSize();
         if (!zipEntry.isDirectory() && this.processFile.isDesiredType(zipEntry.getName())) {
-            final InputStreamReader isr = new InputStreamReader(zis);
-            final String content = IOUtils.toString(isr);
+            //The stream can only be read in order, so read it here and parse it on a worker
+            final String content = IOUtils.toString(new InputStreamReader(zis, StandardCharsets.UTF_8));
             size = content.length();
-            final StringReader sr = new StringReader(content);
-            CompletableFuture<Void> metadata =
-                    CompletableFuture.runAsync(() -> metadataList.addAll(this.processFile.parseInputStream(sr)));
-            metadata.thenRun(() -> log.trace(zipEntry.getName() + " parsed, now generating metadata."));
-            futureMd.add(metadata);
+            //No cheap way to read the entry again, so elements are kept complete
+            submit(zipEntry.getName(), size, () -> new StringReader(content), null, parsing, workers);
         }
         return size;
     }
 
+    private void submit(final String name, final long size, final Callable<Reader> content,
+                        final Supplier<List<T>> source, final List<CompletableFuture<List<T>>> parsing,
+                        final Semaphore workers) throws InterruptedException {
+        workers.acquire();
+        parsing.add(CompletableFuture.supplyAsync(() -> {
+            final var start = System.nanoTime();
+            boolean failed = true;
+            try (Reader reader = content.call()) {
+                final List<T> metadata = this.processFile.parseInputStream(reader);
+                failed = false;
+                log.trace(name + " parsed, now generating metadata.");
+                return source != null ? this.processFile.detailsOnDemand(metadata, source) : metadata;
+            } catch (RuntimeException e) {
+                log.trace("Couldn't parse " + name, e);
+                return List.<T>of();
+            } catch (Exception e) {
+                log.error("Skipping file as I can't read it: " + name, e);
+                return List.<T>of();
+            } finally {
+                workers.release();
+                statistics.parsed(size, System.nanoTime() - start, failed);
+            }
+        }, executor != null ? executor : ForkJoinPool.commonPool()));
+    }
+
+    //Parses a single entry of the archive again
+    private List<T> readEntry(final Path file, final String name) {
+        try (ZipFile zip = new ZipFile(file.toFile());
+             Reader reader = new InputStreamReader(zip.getInputStream(zip.getEntry(name)), StandardCharsets.UTF_8)) {
+            return this.processFile.parseInputStream(reader);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Couldn't read " + name + " again from " + file, e);
+            return List.of();
+        }
+    }
+
+    //Keeps the order of the files, no matter which one was parsed first
+    private List<T> collect(final List<CompletableFuture<List<T>>> parsing) {
+        log.trace("Found " + parsing.size() + " elements.");
+        final List<T> metadataList = new ArrayList<>();
+        for (var metadata : parsing) {
+            metadataList.addAll(metadata.join());
+        }
+        return metadataList;
+    }
+
+    //Archives on the local filesystem can be read with random access
+    private Path getLocalFile(final String url) {
+        if (isRemote()) {
+            final var cached = getCachedArchive();
+            return cached != null ? cached.file() : null;
+        }
+        final var resource = this.getClass().getResource(url.startsWith("resource://") ? url.substring(10) : url);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return Path.of(resource.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean isRemote() {
+        return url.startsWith("http://") || url.startsWith("https://");
+    }
+
+    //Fetched once, the fingerprint and the parsing must use the same archive
+    private synchronized ArchiveCache.CachedArchive getCachedArchive() {
+        if (cachedArchive == null && archiveCache != null) {
+            cachedArchive = archiveCache.fetch(url).orElse(null);
+        }
+        return cachedArchive;
+    }
+
     //If it is a remote file, download it
     private InputStream getInputStream(final String url) {
         InputStream res = null;
@@ -123,6 +251,55 @@ public class JarParseCatalog<T extends Metadata>
     }
 
 
+    @Override
+    public String identifier() {
+        return getClass().getName() + ":" + processFile.getClass().getName() + ":" + url;
+    }
+
+    @Override
+    public String fingerprint() {
+        //For remote files, ask the server if it changed instead of downloading it
+        if (isRemote()) {
+            final var cached = getCachedArchive();
+            if (cached != null) {
+                return Fingerprint.of(identifier(), cached.content()).value();
+            }
+            return remoteFingerprint();
+        }
+        try (InputStream is = getInputStream(url)) {
+            if (is == null) {
+                return null;
+            }
+            return Fingerprint.of(identifier())
+                    .add(is)
+                    .value();
+        } catch (IOException e) {
+            log.debug("Couldn't fingerprint " + url, e);
+            return null;
+        }
+    }
+
+    private String remoteFingerprint() {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestMethod("HEAD");
+            try {
+                final var etag = connection.getHeaderField("ETag");
+                final var lastModified = connection.getHeaderField("Last-Modified");
+                if (connection.getResponseCode() != HttpURLConnection.HTTP_OK
+                        || etag == null && lastModified == null) {
+                    return null;
+                }
+                return Fingerprint.of(identifier(), String.valueOf(etag), String.valueOf(lastModified)).value();
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            log.debug("Couldn't check if " + url + " changed.", e);
+            return null;
+        }
+    }
+
     @Override
     public CompletableFuture<List<T>> parse() {
         CompletableFuture<List<T>> metadata = new CompletableFuture<>();
@@ -133,4 +310,41 @@ public class JarParseCatalog<T extends Metadata>
     public void setFileVisitor(final ProcessFile<T> fileVisitor) {
         this.processFile = fileVisitor;
     }
+
+    @Override
+    public void setStatistics(final ParseStatistics statistics) {
+        this.statistics = statistics != null ? statistics : ParseStatistics.NONE;
+    }
+
+    @Override
+    public void setDetailsCache(final StepDetailsCache detailsCache) {
+        this.processFile.setDetailsCache(detailsCache);
+    }
+
+    /*
+     * 🐱method setArchiveCache
+     * 🐱param archiveCache: ArchiveCache
+     *
+     * Where to keep the remote archives between warm-ups. By default,
+     * remote archives are downloaded every time.
+     */
+    public void setArchiveCache(final ArchiveCache archiveCache) {
+        this.archiveCache = archiveCache;
+    }
+
+    @Override
+    public void setParserExecutor(final ParserExecutor parserExecutor) {
+        this.executor = parserExecutor.get();
+        this.parallelism = parserExecutor.parallelism();
+    }
+
+    /*
+     * 🐱method setExecutor
+     * 🐱param executor: Executor
+     *
+     * Where to parse the files. By default, on the common pool.
+     */
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
 }
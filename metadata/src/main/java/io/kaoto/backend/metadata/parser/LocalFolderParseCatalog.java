@@ -1,16 +1,20 @@
 package io.kaoto.backend.metadata.parser;
 
 import io.kaoto.backend.metadata.ParseCatalog;
+import io.kaoto.backend.metadata.ParseStatistics;
 import io.kaoto.backend.model.Metadata;
 import org.jboss.logging.Logger;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collections;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * 🐱class LocalFolderParseCatalog
@@ -29,35 +33,58 @@ public class LocalFolderParseCatalog<T extends Metadata>
 
     private final Path uri;
 
+    private ParseStatistics statistics;
+
+    private ParserExecutor parserExecutor;
+
     public LocalFolderParseCatalog(final Path uri) {
         this.uri = uri;
     }
 
     private List<T> getFolderAndParse(final Path location) {
         log.trace("Warming up repository in local folder" + uri);
-        List<T> metadataList =
-                Collections.synchronizedList(new CopyOnWriteArrayList<>());
-        final List<CompletableFuture<Void>> futureMd =
-                Collections.synchronizedList(new CopyOnWriteArrayList<>());
+        final List<T> metadataList = new ArrayList<>();
 
         //Walk the directory
         log.trace("Parsing all files in the folder.");
-        this.yamlProcessFile.setFutureMetadata(futureMd);
-        this.yamlProcessFile.setMetadataList(metadataList);
         try {
-            Files.walkFileTree(location, this.yamlProcessFile);
+            final var files = new ParsingFileVisitor<>(this.yamlProcessFile, statistics, executor()).walk(location);
+            log.trace("Found " + files.size() + " elements.");
+            files.values().forEach(metadataList::addAll);
         } catch (IOException e) {
             log.error("Error loading files from local folder.", e);
         }
-        log.trace("Found " + futureMd.size() + " elements.");
-        CompletableFuture.allOf(
-                        futureMd.toArray(new CompletableFuture[0]))
-                .join();
-
 
         return metadataList;
     }
 
+    @Override
+    public String identifier() {
+        return getClass().getName() + ":" + yamlProcessFile.getClass().getName() + ":" + uri.toAbsolutePath();
+    }
+
+    @Override
+    public String fingerprint() {
+        final var fingerprint = Fingerprint.of(identifier());
+        try (Stream<Path> files = Files.walk(uri)) {
+            files.filter(Files::isRegularFile)
+                    .sorted()
+                    .forEach(file -> {
+                        fingerprint.add(uri.relativize(file).toString());
+                        try {
+                            fingerprint.add(Files.size(file));
+                            fingerprint.add(Files.getLastModifiedTime(file).toMillis());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Couldn't fingerprint local folder " + uri, e);
+            return null;
+        }
+        return fingerprint.value();
+    }
+
     @Override
     public CompletableFuture<List<T>> parse() {
         CompletableFuture<List<T>> metadata = new CompletableFuture<>();
@@ -69,4 +96,38 @@ public class LocalFolderParseCatalog<T extends Metadata>
     public void setFileVisitor(final ProcessFile<T> fileVisitor) {
         this.yamlProcessFile = fileVisitor;
     }
+
+    @Override
+    public void setStatistics(final ParseStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void setParserExecutor(final ParserExecutor parserExecutor) {
+        this.parserExecutor = parserExecutor;
+    }
+
+    private Executor executor() {
+        return parserExecutor != null ? parserExecutor.get() : null;
+    }
+
+    @Override
+    public void setDetailsCache(final StepDetailsCache detailsCache) {
+        this.yamlProcessFile.setDetailsCache(detailsCache);
+    }
+
+    /*
+     * 🐱method watching : WatchingLocalFolderParseCatalog
+     * 🐱param debounce: Duration
+     *
+     * Same catalog, but watching the folder for changes after parsing it.
+     *
+     */
+    public WatchingLocalFolderParseCatalog<T> watching(final Duration debounce) {
+        final var watching = new WatchingLocalFolderParseCatalog<T>(uri, debounce);
+        watching.setFileVisitor(yamlProcessFile);
+        watching.setStatistics(statistics);
+        watching.setParserExecutor(parserExecutor);
+        return watching;
+    }
 }
@@ -0,0 +1,82 @@
+package io.kaoto.backend.metadata.parser;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🐱class ParserExecutor
+ *
+ * Pool of threads shared by the parsers to parse the files of the catalogs,
+ * so warming up many catalogs at once doesn't flood the common pool.
+ *
+ * The number of threads is configured with `kaoto.catalog.parser.threads`,
+ * by default one per core. The pool is created the first time it is needed
+ * and shut down with the application.
+ */
+@ApplicationScoped
+public class ParserExecutor {
+
+    public static final String THREADS = "kaoto.catalog.parser.threads";
+
+    @ConfigProperty(name = THREADS)
+    private Optional<Integer> threads = Optional.empty();
+
+    private ExecutorService executor;
+    private int parallelism;
+
+    public ParserExecutor() {
+        //Empty for injection
+    }
+
+    public ParserExecutor(final int threads) {
+        this.threads = Optional.of(threads);
+    }
+
+    /*
+     * 🐱method get : ExecutorService
+     *
+     * The pool, created the first time it is needed.
+     */
+    public synchronized ExecutorService get() {
+        if (executor == null) {
+            parallelism = Math.max(1, threads.orElse(Runtime.getRuntime().availableProcessors()));
+            final var count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "catalog-parser-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /*
+     * 🐱method parallelism : int
+     *
+     * How many files can be parsed at the same time.
+     */
+    public synchronized int parallelism() {
+        get();
+        return parallelism;
+    }
+
+    /*
+     * 🐱method close
+     *
+     * Stops the threads of the pool. It is created again if it is needed
+     * afterwards.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.metadata.ParseStatistics;
+import io.kaoto.backend.model.Metadata;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 🐱class ParsingFileVisitor
+ * 🐱relationship dependsOn ProcessFile
+ *
+ * Walks through the same folders and files a ProcessFile would, parsing
+ * them on the executor provided, but keeping what was parsed from each file
+ * apart instead of sharing the state of the ProcessFile.
+ */
+class ParsingFileVisitor<T extends Metadata> extends SimpleFileVisitor<Path> {
+
+    private final ProcessFile<T> processFile;
+    private final ParseStatistics statistics;
+    private final Executor executor;
+    private final Map<Path, CompletableFuture<List<T>>> parsing = new TreeMap<>();
+
+    ParsingFileVisitor(final ProcessFile<T> processFile, final ParseStatistics statistics, final Executor executor) {
+        this.processFile = processFile;
+        this.statistics = statistics != null ? statistics : ParseStatistics.NONE;
+        this.executor = executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /*
+     * 🐱method walk : Map[Path, List[Metadata]]
+     * 🐱param start: Path
+     *
+     * Parses all the files under the path, and returns the elements parsed
+     * from each of them, sorted by path.
+     */
+    Map<Path, List<T>> walk(final Path start) throws IOException {
+        parsing.clear();
+        Files.walkFileTree(start, this);
+        final Map<Path, List<T>> files = new TreeMap<>();
+        parsing.forEach((file, elements) -> files.put(file, elements.join()));
+        return files;
+    }
+
+    //Hook to know which folders were visited
+    protected void visitedFolder(final Path dir) {
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+        if (dir.getFileName() != null && dir.getFileName().toString().startsWith("..")) {
+            //Internals of ConfigMap volumes, their files are reached through the symlinks of the parent
+            return FileVisitResult.SKIP_SUBTREE;
+        }
+        final var result = processFile.preVisitDirectory(dir, attrs);
+        if (result == FileVisitResult.CONTINUE) {
+            visitedFolder(dir);
+        }
+        return result;
+    }
+
+    @Override
+    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+        if (processFile.isDesiredType(file.toFile().getName())) {
+            parsing.put(file, CompletableFuture.supplyAsync(
+                    () -> processFile.parseFile(file.toFile(), statistics), executor));
+        }
+        return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+        return FileVisitResult.CONTINUE;
+    }
+}
@@ -1,5 +1,6 @@
 package io.kaoto.backend.metadata.parser;
 
+import io.kaoto.backend.metadata.ParseStatistics;
 import io.kaoto.backend.model.Metadata;
 import org.jboss.logging.Logger;
 
@@ -13,6 +14,7 @@ import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * 🐱class ProcessFile
@@ -23,6 +25,7 @@ public abstract class ProcessFile<T extends Metadata> implements FileVisitor<Pat
     private List<T> metadataList;
     private List<CompletableFuture<Void>> futureMetadata;
     private Logger log = Logger.getLogger(ProcessFile.class);
+    private StepDetailsCache detailsCache;
 
     protected ProcessFile() {
     }
@@ -71,16 +74,61 @@ public abstract class ProcessFile<T extends Metadata> implements FileVisitor<Pat
     abstract boolean isDesiredType(String filename);
 
     public List<T> parseFile(File f) {
+        return parseFile(f, ParseStatistics.NONE);
+    }
+
+    public List<T> parseFile(File f, ParseStatistics statistics) {
+        return detailsOnDemand(read(f, statistics), () -> read(f, ParseStatistics.NONE));
+    }
+
+    private List<T> read(File f, ParseStatistics statistics) {
+        final var start = System.nanoTime();
+        boolean failed = true;
         try (FileReader fr = new FileReader(f)) {
-            return parseInputStream(fr);
+            final var metadata = parseInputStream(fr);
+            failed = false;
+            return metadata;
         } catch (IOException e) {
             log.error("Skipping file as I can't read it: " + f.getName(), e);
+        } finally {
+            statistics.parsed(f.length(), System.nanoTime() - start, failed);
         }
         return List.of();
     }
 
     protected abstract List<T> parseInputStream(Reader reader);
 
+    /*
+     * 🐱method summarize : List[Metadata]
+     * 🐱param elements: List[Metadata]
+     * 🐱param source: Supplier[List[Metadata]]
+     * 🐱param detailsCache: StepDetailsCache
+     *
+     * Hook to drop the details of the elements parsed, so they are parsed
+     * again from the source only when needed. By default, elements are
+     * kept complete.
+     */
+    protected List<T> summarize(final List<T> elements, final Supplier<List<T>> source,
+                                final StepDetailsCache detailsCache) {
+        return elements;
+    }
+
+    //The elements parsed, summarized if we were asked to
+    List<T> detailsOnDemand(final List<T> elements, final Supplier<List<T>> source) {
+        return detailsCache != null ? summarize(elements, source, detailsCache) : elements;
+    }
+
+    /*
+     * 🐱method setDetailsCache
+     * 🐱param detailsCache: StepDetailsCache
+     *
+     * Keep only summaries of the elements parsed from files, and parse the
+     * files again, through the cache, when the details are requested.
+     */
+    public void setDetailsCache(final StepDetailsCache detailsCache) {
+        this.detailsCache = detailsCache;
+    }
+
     public void setMetadataList(final List<T> metadataList) {
         this.metadataList = metadataList;
     }
@@ -0,0 +1,109 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.model.step.Step;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 🐱class StepDetailsCache
+ *
+ * Keeps the complete version of the steps that were summarized while
+ * parsing, so their parameters don't have to be parsed again from their
+ * source every time they are requested.
+ *
+ * Only the most recently used steps are kept. How many is configured with
+ * `kaoto.catalog.details.cache-size`, by default 500.
+ */
+@ApplicationScoped
+public class StepDetailsCache {
+
+    public static final String SIZE = "kaoto.catalog.details.cache-size";
+
+    private static final Logger LOG = Logger.getLogger(StepDetailsCache.class);
+
+    @ConfigProperty(name = SIZE, defaultValue = "500")
+    private int maxSteps = 500;
+
+    private final Map<Key, Step> steps = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Step> eldest) {
+            return size() > Math.max(1, maxSteps);
+        }
+    };
+
+    public StepDetailsCache() {
+        //Empty for injection
+    }
+
+    public StepDetailsCache(final int size) {
+        this.maxSteps = size;
+    }
+
+    /*
+     * 🐱method summarize : List[Step]
+     * 🐱param steps: List[Step]
+     * 🐱param source: Supplier[List[Step]]
+     *
+     * Turns the steps into summaries, whose details are taken from the
+     * steps the source returns when they are requested.
+     */
+    public List<Step> summarize(final List<Step> steps, final Supplier<List<Step>> source) {
+        for (Step step : steps) {
+            if (step != null && step.getId() != null) {
+                final var id = step.getId();
+                step.summarize(() -> complete(source, id));
+            }
+        }
+        return steps;
+    }
+
+    /*
+     * 🐱method size : int
+     *
+     * How many complete steps are cached right now.
+     */
+    public synchronized int size() {
+        return steps.size();
+    }
+
+    private Step complete(final Supplier<List<Step>> source, final String id) {
+        final var key = new Key(source, id);
+        synchronized (this) {
+            final var step = steps.get(key);
+            if (step != null) {
+                return step;
+            }
+        }
+
+        //Parse outside the lock, other sources shouldn't wait for this one
+        LOG.trace("Loading details of step " + id);
+        final var parsed = new ArrayList<>(source.get());
+        Step found = null;
+        synchronized (this) {
+            //The rest of the steps of the source will probably be requested soon
+            for (Step step : parsed) {
+                if (step != null && step.getId() != null) {
+                    steps.put(new Key(source, step.getId()), step);
+                    if (id.equals(step.getId())) {
+                        found = step;
+                    }
+                }
+            }
+        }
+        if (found == null) {
+            LOG.warn("Step " + id + " is not on its source anymore, it has no details.");
+        }
+        return found;
+    }
+
+    //Steps are identified by the source they were parsed from and their id
+    private record Key(Supplier<List<Step>> source, String id) {
+    }
+}
@@ -0,0 +1,329 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.metadata.LiveParseCatalog;
+import io.kaoto.backend.metadata.ParseStatistics;
+import io.kaoto.backend.model.Metadata;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 🐱class WatchingLocalFolderParseCatalog
+ *
+ * 🐱inherits LiveParseCatalog
+ *
+ * Local folder catalog that keeps watching the folder after parsing it.
+ * When files are created, modified or deleted, only those files are parsed
+ * again, and the listener receives the new elements of the folder.
+ *
+ * Events are debounced, so editors saving in several steps or ConfigMap
+ * volumes swapping their content end up in a single update. When a ConfigMap
+ * volume swaps its content, only the files whose content differs are parsed
+ * again.
+ */
+public class WatchingLocalFolderParseCatalog<T extends Metadata> implements LiveParseCatalog<T> {
+
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(500);
+
+    private static final Logger LOG = Logger.getLogger(WatchingLocalFolderParseCatalog.class);
+
+    private final Path uri;
+    private final Duration debounce;
+    private ProcessFile<T> processFile;
+    private ParseStatistics statistics;
+    private ParserExecutor parserExecutor;
+
+    //Elements parsed from each file, sorted by path to keep a stable order
+    private final Map<Path, List<T>> files = new ConcurrentSkipListMap<>();
+    private final Map<WatchKey, Path> folders = new ConcurrentHashMap<>();
+    private final Set<Path> pending = new HashSet<>();
+    //Content of the files of ConfigMap volumes, to know which ones a swap changed
+    private final Map<Path, String> digests = new ConcurrentHashMap<>();
+    private final Set<Path> swapped = new HashSet<>();
+    private WatchService watchService;
+    private ScheduledExecutorService executor;
+    private Thread watcher;
+    private ScheduledFuture<?> update;
+    private Consumer<List<T>> listener;
+    private volatile boolean closed;
+
+    public WatchingLocalFolderParseCatalog(final Path uri) {
+        this(uri, DEFAULT_DEBOUNCE);
+    }
+
+    public WatchingLocalFolderParseCatalog(final Path uri, final Duration debounce) {
+        this.uri = uri;
+        this.debounce = debounce;
+    }
+
+    @Override
+    public String identifier() {
+        return getClass().getName() + ":" + processFile.getClass().getName() + ":" + uri.toAbsolutePath();
+    }
+
+    @Override
+    public CompletableFuture<List<T>> parse() {
+        CompletableFuture<List<T>> metadata = new CompletableFuture<>();
+        metadata.completeAsync(() -> {
+            LOG.trace("Warming up repository in local folder " + uri + " and watching it");
+            scan(uri);
+            return elements();
+        });
+        return metadata;
+    }
+
+    @Override
+    public synchronized boolean watch(final Consumer<List<T>> listener) {
+        if (closed) {
+            return false;
+        }
+        if (this.listener != null) {
+            return true;
+        }
+        if (!open() || folders.isEmpty()) {
+            //The folders weren't registered when parsing, the next parse will try again
+            return false;
+        }
+        this.listener = listener;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "update"));
+        watcher = daemon(this::waitForEvents, "watch");
+        watcher.start();
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOG.debug("Couldn't stop watching " + uri, e);
+            }
+        }
+    }
+
+    @Override
+    public void setFileVisitor(final ProcessFile<T> fileVisitor) {
+        this.processFile = fileVisitor;
+    }
+
+    @Override
+    public void setStatistics(final ParseStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void setParserExecutor(final ParserExecutor parserExecutor) {
+        this.parserExecutor = parserExecutor;
+    }
+
+    @Override
+    public void setDetailsCache(final StepDetailsCache detailsCache) {
+        this.processFile.setDetailsCache(detailsCache);
+    }
+
+    private Thread daemon(final Runnable runnable, final String name) {
+        Thread thread = new Thread(runnable, name + "-" + uri.getFileName());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private synchronized boolean open() {
+        if (watchService == null && !closed) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+            } catch (IOException e) {
+                LOG.error("Can't watch local folder " + uri + ", changes will be picked on refresh.", e);
+            }
+        }
+        return watchService != null;
+    }
+
+    private List<T> elements() {
+        final List<T> elements = new ArrayList<>();
+        files.values().forEach(elements::addAll);
+        return elements;
+    }
+
+    //Parses all the files under the path, watching the folders found
+    private void scan(final Path path) {
+        try {
+            final var parsed = new ParsingFileVisitor<>(processFile, statistics,
+                    parserExecutor != null ? parserExecutor.get() : null) {
+                @Override
+                protected void visitedFolder(final Path dir) {
+                    register(dir);
+                }
+            }.walk(path);
+            for (Path file : parsed.keySet()) {
+                if (isConfigMap(file.getParent())) {
+                    digests.put(file, digest(file));
+                }
+            }
+            files.putAll(parsed);
+        } catch (IOException e) {
+            LOG.error("Error loading files from local folder.", e);
+        }
+    }
+
+    private boolean isConfigMap(final Path dir) {
+        return dir != null && Files.exists(dir.resolve("..data"), LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private String digest(final Path file) {
+        try (InputStream content = Files.newInputStream(file)) {
+            return Fingerprint.of().add(content).value();
+        } catch (IOException e) {
+            //Can't tell, parse it again
+            return "";
+        }
+    }
+
+    //Files of the folder that were added, removed or modified by a ConfigMap swap
+    private Set<Path> swappedFiles(final Path dir) {
+        final Set<Path> changed = new HashSet<>();
+        try (Stream<Path> list = Files.list(dir)) {
+            list.filter(file -> processFile.isDesiredType(file.getFileName().toString())
+                            && !file.getFileName().toString().startsWith("..") && Files.isRegularFile(file))
+                    .filter(file -> !digest(file).equals(digests.get(file)))
+                    .forEach(changed::add);
+        } catch (IOException e) {
+            LOG.warn("Can't list folder " + dir + ", parsing all of it: " + e.getMessage());
+            changed.add(dir);
+        }
+        files.keySet().stream()
+                .filter(file -> dir.equals(file.getParent()) && !Files.exists(file))
+                .forEach(changed::add);
+        return changed;
+    }
+
+    private void register(final Path dir) {
+        if (!open()) {
+            return;
+        }
+        try {
+            folders.put(dir.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE), dir);
+        } catch (IOException | ClosedWatchServiceException e) {
+            LOG.warn("Can't watch folder " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private void waitForEvents() {
+        while (!closed) {
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            final var dir = folders.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (dir == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    //We lost track of what changed
+                    changed(uri);
+                } else if (event.context().toString().startsWith("..")) {
+                    //ConfigMap volumes swap all their content at once through hidden symlinks
+                    swapped(dir);
+                } else {
+                    changed(dir.resolve((Path) event.context()));
+                }
+            }
+            if (!key.reset()) {
+                folders.remove(key);
+            }
+        }
+    }
+
+    private synchronized void changed(final Path path) {
+        if (closed) {
+            return;
+        }
+        pending.add(path);
+        schedule();
+    }
+
+    private synchronized void schedule() {
+        if (update != null) {
+            update.cancel(false);
+        }
+        update = executor.schedule(this::update, debounce.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void swapped(final Path dir) {
+        if (closed) {
+            return;
+        }
+        swapped.add(dir);
+        schedule();
+    }
+
+    private void update() {
+        final Set<Path> changed;
+        final Set<Path> swappedFolders;
+        synchronized (this) {
+            changed = new HashSet<>(pending);
+            swappedFolders = new HashSet<>(swapped);
+            pending.clear();
+            swapped.clear();
+        }
+        swappedFolders.forEach(dir -> changed.addAll(swappedFiles(dir)));
+        if (changed.isEmpty()) {
+            //The swap didn't change the content of any file
+            return;
+        }
+        final var time = System.currentTimeMillis();
+        for (Path path : changed) {
+            //Forget what we had from the path, and from its content if it was a folder
+            files.keySet().removeIf(file -> file.startsWith(path));
+            digests.keySet().removeIf(file -> file.startsWith(path));
+            if (Files.exists(path)) {
+                scan(path);
+            }
+        }
+        LOG.debug("Local folder " + uri + " updated " + changed.size() + " paths in "
+                + (System.currentTimeMillis() - time) + "ms.");
+        try {
+            listener.accept(elements());
+        } catch (RuntimeException e) {
+            LOG.error("Error applying the changes of local folder " + uri, e);
+        }
+    }
+}
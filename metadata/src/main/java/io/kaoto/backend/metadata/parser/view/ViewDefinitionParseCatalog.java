@@ -5,12 +5,10 @@ import io.kaoto.backend.metadata.parser.GitParseCatalog;
 import io.kaoto.backend.metadata.parser.JarParseCatalog;
 import io.kaoto.backend.metadata.parser.LocalFolderParseCatalog;
 import io.kaoto.backend.metadata.parser.YamlProcessFile;
+import io.kaoto.backend.model.mapper.Mappers;
 import io.kaoto.backend.model.view.ViewDefinition;
 import org.apache.commons.io.IOUtils;
 import org.jboss.logging.Logger;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.IOException;
@@ -71,8 +69,7 @@ class ViewDefinitionProcessFile extends YamlProcessFile<ViewDefinition> {
             if (!appliesTo(content)) {
                 return List.of();
             }
-            Yaml yaml = new Yaml(new Constructor(ViewDefinition.class, new LoaderOptions()));
-            ViewDefinition viewDefinition = yaml.load(content);
+            ViewDefinition viewDefinition = Mappers.snakeYaml(ViewDefinition.class).load(content);
             return List.of(viewDefinition);
         } catch (YAMLException | IOException e) {
             log.error("Error parsing ViewDefinition.", e);
@@ -82,6 +82,16 @@ class CatalogCollectionTest {
     }
 
 
+    @Test
+    void snapshot() {
+        final var snapshot = catalogCollection.getSnapshot();
+        Assertions.assertEquals(4, snapshot.size());
+        Assertions.assertEquals(3, snapshot.searchByName(CONNECTOR_2).size());
+        Assertions.assertNotNull(snapshot.searchByID("id-3"));
+        //Nothing changed, so we get the same joined snapshot
+        Assertions.assertSame(snapshot, catalogCollection.getSnapshot());
+    }
+
     @Test
     void readOnlyWrapper() {
         ReadOnlyCatalog<Step> readOnlyCatalog =
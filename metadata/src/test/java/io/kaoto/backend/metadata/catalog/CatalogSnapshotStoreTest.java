@@ -0,0 +1,71 @@
+package io.kaoto.backend.metadata.catalog;
+
+import io.kaoto.backend.model.parameter.Parameter;
+import io.kaoto.backend.model.parameter.StringParameter;
+import io.kaoto.backend.model.step.Step;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Stream;
+
+class CatalogSnapshotStoreTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void saveAndLoad() {
+        final var store = new CatalogSnapshotStore<>(folder, Step.class, "1.0");
+        Assertions.assertTrue(store.load("fingerprint").isEmpty());
+
+        LinkedList<Parameter> parameters = new LinkedList<>();
+        StringParameter path = new StringParameter("path", "Path", "Description", false, null, null, "default", null);
+        path.setPath(true);
+        path.setPathOrder(2);
+        path.setPathSeparator("/");
+        parameters.add(path);
+        Step step = new Step("id-1", "connector", "icon", parameters, "Camel-Connector", Step.Type.START);
+        step.setRequired(List.of("path"));
+        store.save("fingerprint", List.of(step));
+
+        final var loaded = store.load("fingerprint");
+        Assertions.assertTrue(loaded.isPresent());
+        Assertions.assertEquals(1, loaded.get().size());
+        final var restored = loaded.get().get(0);
+        Assertions.assertEquals(step, restored);
+        Assertions.assertEquals("Camel-Connector", restored.getKind());
+        Assertions.assertEquals(Step.START, restored.getType());
+        Assertions.assertEquals(List.of("path"), restored.getRequired());
+        final var restoredPath = restored.getParameters().get(0);
+        Assertions.assertInstanceOf(StringParameter.class, restoredPath);
+        Assertions.assertTrue(restoredPath.isPath());
+        Assertions.assertEquals(2, restoredPath.getPathOrder());
+        Assertions.assertEquals("/", restoredPath.getPathSeparator());
+
+        //Another version of the application doesn't reuse it
+        Assertions.assertTrue(new CatalogSnapshotStore<>(folder, Step.class, "2.0").load("fingerprint").isEmpty());
+    }
+
+    @Test
+    void prune() throws IOException {
+        final var old = new CatalogSnapshotStore<>(folder, Step.class, "1.0");
+        old.save("old", List.of(new Step("id-1", "connector", "icon", new LinkedList<>())));
+        old.save("kept", List.of(new Step("id-2", "connector", "icon", new LinkedList<>())));
+
+        final var store = new CatalogSnapshotStore<>(folder, Step.class, "1.0");
+        Assertions.assertTrue(store.load("kept").isPresent());
+        store.prune();
+
+        Assertions.assertTrue(store.load("kept").isPresent());
+        Assertions.assertTrue(store.load("old").isEmpty());
+        try (Stream<Path> files = Files.list(folder)) {
+            Assertions.assertEquals(1, files.count());
+        }
+    }
+}
@@ -58,4 +58,147 @@ class InMemoryCatalogTest {
                 .allMatch(step ->
                         catalog.searchByID(step.getId()).equals(step)));
     }
+
+    @Test
+    void snapshotIsSharedAndVersioned() {
+        InMemoryCatalog<Step> c = new InMemoryCatalog<>();
+        final var empty = c.getSnapshot();
+        Assertions.assertEquals(0, empty.size());
+
+        List<Step> steps = new ArrayList<>();
+        steps.add(new Step("id-1", "connector", "icon", new LinkedList<>()));
+        steps.add(new Step("id-2", "Connector", "icon", new LinkedList<>()));
+        Assertions.assertTrue(c.store(steps));
+
+        final var snapshot = c.getSnapshot();
+        Assertions.assertTrue(snapshot.getGeneration() > empty.getGeneration());
+        Assertions.assertEquals(0, empty.size());
+        Assertions.assertEquals(2, snapshot.size());
+        Assertions.assertEquals(2, snapshot.searchByName("CONNECTOR").size());
+
+        //Snapshot reads share the instances, regular reads copy them
+        Assertions.assertSame(snapshot.searchByID("id-1"), c.getSnapshot().searchByID("id-1"));
+        Assertions.assertNotSame(snapshot.searchByID("id-1"), c.searchByID("id-1"));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> snapshot.getAll().clear());
+
+        //Storing replaces elements with the same identifier without touching the old snapshot
+        Step replacement = new Step("id-1", "other", "icon", new LinkedList<>());
+        Assertions.assertTrue(c.store(List.of(replacement)));
+        Assertions.assertEquals(2, c.getSnapshot().size());
+        Assertions.assertSame(replacement, c.getSnapshot().searchByID("id-1"));
+        Assertions.assertEquals("connector", snapshot.searchByID("id-1").getName());
+
+        c.clear();
+        Assertions.assertEquals(0, c.getSnapshot().size());
+        Assertions.assertEquals(2, snapshot.size());
+    }
+
+    @Test
+    void query() {
+        InMemoryCatalog<Step> c = new InMemoryCatalog<>();
+        List<Step> steps = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Step step = new Step("id-" + i, "step-" + i, "icon", new LinkedList<>());
+            step.setKind(i % 2 == 0 ? "Kamelet" : "Camel-Connector");
+            step.setType(i < 3 ? "START" : "END");
+            steps.add(step);
+        }
+        Collections.shuffle(steps);
+        Assertions.assertTrue(c.store(steps));
+
+        Assertions.assertEquals(6, c.query(CatalogQuery.all()).size());
+        Assertions.assertEquals(List.of("id-0", "id-2"),
+                c.query(CatalogQuery.all().withKinds(List.of("kamelet")).withTypes(List.of("start")))
+                        .stream().map(Step::getId).toList());
+
+        //Restricting the same facet twice intersects the values
+        Assertions.assertEquals(0,
+                c.query(CatalogQuery.all().withKinds(List.of("Kamelet")).withKinds(List.of("Camel-Connector")))
+                        .size());
+
+        //Excluded kinds are never returned
+        Assertions.assertEquals(List.of("id-1", "id-3", "id-5"),
+                c.query(CatalogQuery.all().withoutKinds(List.of("KAMELET"))).stream().map(Step::getId).toList());
+        Assertions.assertEquals(List.of("id-1"),
+                c.query(CatalogQuery.all().withTypes(List.of("START")).withoutKinds(List.of("kamelet")))
+                        .stream().map(Step::getId).toList());
+
+        //Keyset pagination
+        final var firstPage = c.query(CatalogQuery.all().withKinds(List.of("KAMELET")).limit(2));
+        Assertions.assertEquals(List.of("id-0", "id-2"), firstPage.stream().map(Step::getId).toList());
+        final var secondPage = c.query(CatalogQuery.all().withKinds(List.of("KAMELET")).limit(2)
+                .after(firstPage.get(firstPage.size() - 1).getId()));
+        Assertions.assertEquals(List.of("id-4"), secondPage.stream().map(Step::getId).toList());
+    }
+
+    @Test
+    void searchByNameAndKind() {
+        InMemoryCatalog<Step> c = new InMemoryCatalog<>();
+        List<Step> steps = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Step step = new Step("id-" + i, i < 3 ? "log" : "filter", "icon", new LinkedList<>());
+            step.setKind(i == 0 ? "Camel-Connector" : i == 1 ? "EIP" : "EIP-BRANCH");
+            steps.add(step);
+        }
+        Step withoutKind = new Step("id-4", "log", "icon", new LinkedList<>());
+        steps.add(withoutKind);
+        Assertions.assertTrue(c.store(steps));
+
+        final var snapshot = c.getSnapshot();
+        Assertions.assertEquals(List.of("id-1"),
+                snapshot.searchByName("LOG", List.of("eip")).stream().map(Step::getId).toList());
+        Assertions.assertEquals(List.of("id-1", "id-2"),
+                snapshot.searchByName("log", List.of("EIP", "EIP-BRANCH")).stream().map(Step::getId).toList());
+        Assertions.assertTrue(snapshot.searchByName("log", List.of("Kamelet")).isEmpty());
+        Assertions.assertTrue(snapshot.searchByName("missing", List.of("EIP")).isEmpty());
+        Assertions.assertTrue(snapshot.searchByName("log", List.of()).isEmpty());
+
+        //The same codes resolve the facets of the queries
+        Assertions.assertEquals(List.of("id-2", "id-3"),
+                snapshot.query(CatalogQuery.all().withKinds(List.of("eip-branch"))).stream()
+                        .map(Step::getId).toList());
+    }
+
+    @Test
+    void search() {
+        InMemoryCatalog<Step> c = new InMemoryCatalog<>();
+        Step s3 = new Step("aws-s3-sink", "aws-s3-sink", "icon", new LinkedList<>());
+        s3.setTitle("AWS S3 Sink");
+        s3.setDescription("Upload data to an Amazon S3 bucket.");
+        s3.setType("END");
+        Step ftp = new Step("ftp-sink", "ftp-sink", "icon", new LinkedList<>());
+        ftp.setTitle("FTP Sink");
+        ftp.setDescription("Send data to an FTP server, like an S3 upload but older.");
+        ftp.setType("END");
+        Step kafka = new Step("kafka-source", "kafka-source", "icon", new LinkedList<>());
+        kafka.setTitle("Kafka Source");
+        kafka.setGroup("Kafka");
+        kafka.setType("START");
+        Assertions.assertTrue(c.store(List.of(kafka, ftp, s3)));
+
+        //Words on the title rank better than on the description
+        Assertions.assertEquals(List.of("aws-s3-sink", "ftp-sink"), ids(c.getSnapshot().search("s3 upload",
+                CatalogQuery.all())));
+        //Prefixes match, all words must match
+        Assertions.assertEquals(List.of("kafka-source"), ids(c.getSnapshot().search("kaf", CatalogQuery.all())));
+        Assertions.assertEquals(List.of(), ids(c.getSnapshot().search("kafka upload", CatalogQuery.all())));
+        //Filters and limits apply
+        Assertions.assertEquals(List.of(), ids(c.getSnapshot().search("sink",
+                CatalogQuery.all().withTypes(List.of("START")))));
+        Assertions.assertEquals(1, c.getSnapshot().search("sink", CatalogQuery.all().limit(1)).size());
+        //Nothing to search, same as a query
+        Assertions.assertEquals(3, c.getSnapshot().search(" ", CatalogQuery.all()).size());
+
+        //New elements are found once stored
+        Step upload = new Step("http-sink", "http-sink", "icon", new LinkedList<>());
+        upload.setTitle("HTTP Upload");
+        Assertions.assertTrue(c.store(List.of(upload)));
+        Assertions.assertEquals(List.of("http-sink", "aws-s3-sink", "ftp-sink"),
+                ids(c.getSnapshot().search("upload", CatalogQuery.all())));
+    }
+
+    private List<String> ids(final List<Step> steps) {
+        return steps.stream().map(Step::getId).toList();
+    }
 }
@@ -0,0 +1,61 @@
+package io.kaoto.backend.metadata.parser;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ArchiveCacheTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void revalidateAndWorkOffline() throws IOException {
+        final var content = "archive content".getBytes(StandardCharsets.UTF_8);
+        final var downloads = new AtomicInteger();
+        final var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/catalog.zip", exchange -> {
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                downloads.incrementAndGet();
+                exchange.sendResponseHeaders(200, content.length);
+                exchange.getResponseBody().write(content);
+            }
+            exchange.close();
+        });
+        server.start();
+        final var url = "http://localhost:" + server.getAddress().getPort() + "/catalog.zip";
+
+        final var cache = new ArchiveCache(folder);
+        try {
+            final var first = cache.fetch(url);
+            Assertions.assertTrue(first.isPresent());
+            Assertions.assertArrayEquals(content, Files.readAllBytes(first.get().file()));
+
+            //Not modified, not downloaded again
+            final var second = cache.fetch(url);
+            Assertions.assertTrue(second.isPresent());
+            Assertions.assertEquals(first.get(), second.get());
+            Assertions.assertEquals(1, downloads.get());
+        } finally {
+            server.stop(0);
+        }
+
+        //The remote is gone, but we still have the archive
+        final var offline = new ArchiveCache(folder).fetch(url);
+        Assertions.assertTrue(offline.isPresent());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(offline.get().file()));
+
+        Assertions.assertTrue(new ArchiveCache(folder).fetch("http://localhost:1/other.zip").isEmpty());
+    }
+}
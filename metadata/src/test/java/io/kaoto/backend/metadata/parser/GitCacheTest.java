@@ -0,0 +1,98 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.metadata.ParseStatistics;
+import io.kaoto.backend.model.view.ViewDefinition;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.transport.URIish;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class GitCacheTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void parseOnlyWhatChanged() throws IOException, GitAPIException, URISyntaxException {
+        final var remote = folder.resolve("remote.git");
+        final var work = folder.resolve("work");
+        Git.init().setBare(true).setInitialBranch("main").setDirectory(remote.toFile()).call().close();
+        final var url = remote.toUri().toString();
+
+        final var processFile = new CountingProcessFile();
+        final var none = ParseStatistics.NONE;
+        final var cache = new GitCache(folder.resolve("cache"));
+        try (Git git = Git.init().setInitialBranch("main").setDirectory(work.toFile()).call()) {
+            git.remoteAdd().setName("origin").setUri(new URIish(url)).call();
+            Files.writeString(work.resolve("first.yaml"), "first");
+            Files.writeString(work.resolve("second.yaml"), "second");
+            Files.createDirectories(work.resolve("docs"));
+            Files.writeString(work.resolve("docs/ignored.yaml"), "ignored");
+            commitAndPush(git, "Initial catalog");
+
+            Assertions.assertEquals(List.of("first", "second"),
+                    names(cache.parse(url, "main", processFile, none, null)));
+            Assertions.assertEquals(2, processFile.parsed.get());
+
+            //Nothing changed, nothing parsed
+            Assertions.assertEquals(List.of("first", "second"),
+                    names(cache.parse(url, "main", processFile, none, null)));
+            Assertions.assertEquals(2, processFile.parsed.get());
+
+            Files.writeString(work.resolve("second.yaml"), "renamed");
+            Files.writeString(work.resolve("third.yaml"), "third");
+            Files.writeString(work.resolve("docs/ignored.yaml"), "still ignored");
+            git.rm().addFilepattern("first.yaml").call();
+            commitAndPush(git, "Update catalog");
+
+            Assertions.assertEquals(List.of("renamed", "third"),
+                    names(cache.parse(url, "main", processFile, none, null)));
+            Assertions.assertEquals(4, processFile.parsed.get());
+        }
+
+        //A new cache reuses the working copy, even if the remote is gone
+        final var offline = new CountingProcessFile();
+        FileUtils.deleteDirectory(remote.toFile());
+        Assertions.assertEquals(List.of("renamed", "third"),
+                names(new GitCache(folder.resolve("cache")).parse(url, "main", offline, none, null)));
+    }
+
+    private void commitAndPush(final Git git, final String message) throws GitAPIException {
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage(message).setAuthor("kaoto", "kaoto@example.com").call();
+        git.push().setRemote("origin").add("main").call();
+    }
+
+    private List<String> names(final List<ViewDefinition> views) {
+        return views.stream().map(ViewDefinition::getName).toList();
+    }
+
+    private static class CountingProcessFile extends YamlProcessFile<ViewDefinition> {
+        private final AtomicInteger parsed = new AtomicInteger();
+
+        @Override
+        protected List<ViewDefinition> parseInputStream(final Reader reader) {
+            parsed.incrementAndGet();
+            final var view = new ViewDefinition();
+            try {
+                view.setName(IOUtils.toString(reader));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return List.of(view);
+        }
+    }
+}
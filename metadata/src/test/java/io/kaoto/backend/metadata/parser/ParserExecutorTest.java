@@ -0,0 +1,27 @@
+package io.kaoto.backend.metadata.parser;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+class ParserExecutorTest {
+
+    @Test
+    void poolIsCreatedAgainAfterClosing() {
+        final var parserExecutor = new ParserExecutor(2);
+        try {
+            Assertions.assertEquals(2, parserExecutor.parallelism());
+            final var first = parserExecutor.get();
+            Assertions.assertSame(first, parserExecutor.get());
+            Assertions.assertTrue(CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), first)
+                    .join().startsWith("catalog-parser-"));
+
+            parserExecutor.close();
+            Assertions.assertTrue(first.isShutdown());
+            Assertions.assertNotSame(first, parserExecutor.get());
+        } finally {
+            parserExecutor.close();
+        }
+    }
+}
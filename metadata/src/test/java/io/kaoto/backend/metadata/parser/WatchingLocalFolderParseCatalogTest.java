@@ -0,0 +1,103 @@
+package io.kaoto.backend.metadata.parser;
+
+import io.kaoto.backend.metadata.parser.view.ViewDefinitionParseCatalog;
+import io.kaoto.backend.model.view.ViewDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class WatchingLocalFolderParseCatalogTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void followChanges() throws IOException, InterruptedException {
+        write("first.yaml", "first");
+        write("second.yaml", "second");
+        Files.writeString(folder.resolve("ignored.txt"), "not a view");
+
+        final var parser = ((LocalFolderParseCatalog<ViewDefinition>) ViewDefinitionParseCatalog.getParser(folder))
+                .watching(Duration.ofMillis(100));
+        final BlockingQueue<List<ViewDefinition>> updates = new LinkedBlockingQueue<>();
+        try {
+            Assertions.assertEquals(List.of("first", "second"), names(parser.parse().join()));
+            Assertions.assertTrue(parser.watch(updates::add));
+
+            write("second.yaml", "renamed");
+            Files.createDirectories(folder.resolve("nested"));
+            write("nested/third.yaml", "third");
+            await(updates, List.of("first", "third", "renamed"));
+
+            Files.delete(folder.resolve("first.yaml"));
+            await(updates, List.of("third", "renamed"));
+        } finally {
+            parser.close();
+        }
+    }
+
+    @Test
+    void onlyParseWhatConfigMapSwapsChanged() throws IOException, InterruptedException {
+        //Same layout as a ConfigMap volume: visible symlinks to ..data, which points to the current content
+        Files.createDirectories(folder.resolve("..v1"));
+        write("..v1/first.yaml", "first");
+        write("..v1/second.yaml", "second");
+        Files.createSymbolicLink(folder.resolve("..data"), Path.of("..v1"));
+        Files.createSymbolicLink(folder.resolve("first.yaml"), Path.of("..data", "first.yaml"));
+        Files.createSymbolicLink(folder.resolve("second.yaml"), Path.of("..data", "second.yaml"));
+
+        final var parser = ((LocalFolderParseCatalog<ViewDefinition>) ViewDefinitionParseCatalog.getParser(folder))
+                .watching(Duration.ofMillis(100));
+        final var parsed = new AtomicInteger();
+        parser.setStatistics((bytes, nanos, failed) -> parsed.incrementAndGet());
+        final BlockingQueue<List<ViewDefinition>> updates = new LinkedBlockingQueue<>();
+        try {
+            Assertions.assertEquals(List.of("first", "second"), names(parser.parse().join()));
+            Assertions.assertEquals(2, parsed.get());
+            Assertions.assertTrue(parser.watch(updates::add));
+
+            Files.createDirectories(folder.resolve("..v2"));
+            write("..v2/first.yaml", "first");
+            write("..v2/second.yaml", "renamed");
+            Files.createSymbolicLink(folder.resolve("..data_tmp"), Path.of("..v2"));
+            Files.move(folder.resolve("..data_tmp"), folder.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+            await(updates, List.of("first", "renamed"));
+            Assertions.assertEquals(3, parsed.get());
+        } finally {
+            parser.close();
+        }
+    }
+
+    private void write(final String file, final String name) throws IOException {
+        Files.writeString(folder.resolve(file), "name: " + name + "\nid: " + name + "\ntype: generic\n");
+    }
+
+    private List<String> names(final List<ViewDefinition> views) {
+        return views.stream().map(ViewDefinition::getName).toList();
+    }
+
+    //Changes may be reported in more than one update, wait for the last one
+    private void await(final BlockingQueue<List<ViewDefinition>> updates, final List<String> expected)
+            throws InterruptedException {
+        List<String> last = null;
+        final var timeout = System.currentTimeMillis() + 10000;
+        while (!expected.equals(last) && System.currentTimeMillis() < timeout) {
+            final var update = updates.poll(1, TimeUnit.SECONDS);
+            if (update != null) {
+                last = names(update);
+            }
+        }
+        Assertions.assertEquals(expected, last);
+    }
+}
@@ -6,6 +6,7 @@ import io.smallrye.common.constraint.Nullable;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,14 @@ public interface Repository {
     Optional<List<Location>> jar();
     Optional<List<Git>> git();
     Optional<List<Location>> localFolder();
+    Optional<String> snapshotFolder();
+    Optional<String> archiveFolder();
+    Optional<String> gitFolder();
+    @WithDefault("500ms")
+    Duration watchDebounce();
+    //Ignored when there is a snapshot folder or a precompiled catalog, restored steps are complete
+    @WithDefault("true")
+    boolean lazyDetails();
 
     @RegisterForReflection
     interface Git {
@@ -35,6 +44,8 @@ public interface Repository {
         @WithDefault("false")
         @WithName("if-no-cluster")
         boolean ifNoCluster();
+        @WithDefault("false")
+        boolean watch();
         @WithDefault("all")
         @Nullable
         String kind();
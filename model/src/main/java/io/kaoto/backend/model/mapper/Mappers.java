@@ -0,0 +1,144 @@
+package io.kaoto.backend.model.mapper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.representer.Representer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 🐱class Mappers
+ *
+ * Shared Jackson mappers and readers, and SnakeYAML instances.
+ *
+ * Building a mapper is cheap, but every new one has to discover again how
+ * to read and write every class it sees. The mappers here are configured
+ * once and never modified afterwards, so they are safe to share between
+ * threads. Readers are kept per target type, with their root deserializer
+ * already resolved.
+ *
+ * SnakeYAML instances, and the representers they use, are not thread-safe:
+ * each thread gets its own, created the first time it needs it and reused
+ * afterwards.
+ */
+public final class Mappers {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper JSON_WITHOUT_NULLS = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+
+    private static final Map<ReaderKey, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<YamlKey, Yaml>> SNAKE_YAML = ThreadLocal.withInitial(HashMap::new);
+
+    private Mappers() {
+    }
+
+    /*
+     * 🐱method json : ObjectMapper
+     *
+     * Shared JSON mapper with the default configuration. Use it to read,
+     * write and convert values, but never configure it.
+     */
+    public static ObjectMapper json() {
+        return JSON;
+    }
+
+    /*
+     * 🐱method jsonWithoutNulls : ObjectMapper
+     *
+     * Same as the JSON mapper, but null properties are not written.
+     */
+    public static ObjectMapper jsonWithoutNulls() {
+        return JSON_WITHOUT_NULLS;
+    }
+
+    /*
+     * 🐱method yaml : ObjectMapper
+     *
+     * Shared YAML mapper with the default configuration. Never configure it.
+     */
+    public static ObjectMapper yaml() {
+        return YAML;
+    }
+
+    /*
+     * 🐱method jsonReader : ObjectReader
+     * 🐱param type: Class
+     *
+     * Reader of JSON (or JSON trees) into the type provided. Unknown
+     * properties make it fail.
+     */
+    public static ObjectReader jsonReader(final Class<?> type) {
+        return READERS.computeIfAbsent(new ReaderKey(false, type, false), Mappers::reader);
+    }
+
+    /*
+     * 🐱method yamlReader : ObjectReader
+     * 🐱param type: Class
+     *
+     * Reader of YAML into the type provided. Unknown properties make it
+     * fail, which is what tells apart the DSLs that share a type.
+     */
+    public static ObjectReader yamlReader(final Class<?> type) {
+        return READERS.computeIfAbsent(new ReaderKey(true, type, false), Mappers::reader);
+    }
+
+    /*
+     * 🐱method lenientYamlReader : ObjectReader
+     * 🐱param type: Class
+     *
+     * Reader of YAML into the type provided that ignores unknown properties.
+     */
+    public static ObjectReader lenientYamlReader(final Class<?> type) {
+        return READERS.computeIfAbsent(new ReaderKey(true, type, true), Mappers::reader);
+    }
+
+    /*
+     * 🐱method snakeYaml : Yaml
+     * 🐱param type: Class
+     *
+     * SnakeYAML instance of the current thread that loads documents as the
+     * type provided, with the default representer.
+     */
+    public static Yaml snakeYaml(final Class<?> type) {
+        return SNAKE_YAML.get().computeIfAbsent(new YamlKey(type, null),
+                key -> new Yaml(new Constructor(type, new LoaderOptions())));
+    }
+
+    /*
+     * 🐱method snakeYaml : Yaml
+     * 🐱param type: Class
+     * 🐱param representer: Class
+     * 🐱param factory: Supplier[Representer]
+     *
+     * SnakeYAML instance of the current thread that loads documents as the
+     * type provided and dumps them with a representer of the class given,
+     * created with the factory.
+     */
+    public static <R extends Representer> Yaml snakeYaml(final Class<?> type, final Class<R> representer,
+                                                         final Supplier<R> factory) {
+        return SNAKE_YAML.get().computeIfAbsent(new YamlKey(type, representer),
+                key -> new Yaml(new Constructor(type, new LoaderOptions()), factory.get()));
+    }
+
+    private static ObjectReader reader(final ReaderKey key) {
+        final var reader = (key.yaml() ? YAML : JSON).readerFor(key.type());
+        return key.lenient() ? reader.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES) : reader;
+    }
+
+    private record ReaderKey(boolean yaml, Class<?> type, boolean lenient) {
+    }
+
+    private record YamlKey(Class<?> type, Class<?> representer) {
+    }
+}
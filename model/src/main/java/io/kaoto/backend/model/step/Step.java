@@ -1,5 +1,6 @@
 package io.kaoto.backend.model.step;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonView;
 import io.kaoto.backend.model.Metadata;
@@ -9,6 +10,7 @@ import io.kaoto.backend.model.parameter.Parameter;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * 🐱class Step
@@ -25,9 +27,11 @@ public class Step extends Metadata {
 
     @JsonView(Views.Summary.class)
     private String kind;
-    @JsonView(Views.Summary.class)
+    @JsonView(Views.Complete.class)
     private String icon;
     @JsonView(Views.Summary.class)
+    private String iconReference;
+    @JsonView(Views.Summary.class)
     private String title;
     @JsonView(Views.Summary.class)
     private String description;
@@ -46,6 +50,15 @@ public class Step extends Metadata {
     @JsonView(Views.Summary.class)
     @JsonProperty("UUID")
     private String uuid;
+    //Where to find the parameters and required properties of a summary
+    @JsonIgnore
+    private transient Supplier<Step> details;
+    //Kept from the parameters of a summary, so it can still be searched
+    @JsonIgnore
+    private transient List<String> parameterTitles;
+    //Kept from the parameters of a summary, so it is serialized without loading them
+    @JsonIgnore
+    private transient String summaryStepId;
 
     public Step() {
         setType(MIDDLE);
@@ -109,6 +122,10 @@ public class Step extends Metadata {
      *
      */
     public LinkedList<Parameter> getParameters() {
+        if (parameters == null && details != null) {
+            final var complete = details.get();
+            return complete != null ? complete.getParameters() : null;
+        }
         return parameters;
     }
 
@@ -130,6 +147,21 @@ public class Step extends Metadata {
         this.icon = icon;
     }
 
+    /*
+     * 🐱property iconReference: String
+     *
+     * Identifier of the icon of this step on the icon registry of the catalog,
+     * so the icon can be retrieved on its own instead of inside every step.
+     *
+     */
+    public String getIconReference() {
+        return iconReference;
+    }
+
+    public void setIconReference(final String iconReference) {
+        this.iconReference = iconReference;
+    }
+
     /*
      * 🐱property UUID: String
      *
@@ -151,6 +183,10 @@ public class Step extends Metadata {
      * List of properties that the object must have.
      */
     public List<String> getRequired() {
+        if (required == null) {
+            final var complete = details != null ? details.get() : null;
+            return complete != null ? complete.getRequired() : new LinkedList<>();
+        }
         return required;
     }
 
@@ -160,6 +196,49 @@ public class Step extends Metadata {
         }
     }
 
+    /*
+     * 🐱method summarize
+     * 🐱param details: Supplier[Step]
+     *
+     * Drops the parameters and required properties of this step, which
+     * will be retrieved from the complete step the supplier returns when
+     * they are requested.
+     */
+    public void summarize(final Supplier<Step> details) {
+        this.parameterTitles = getParameterTitles();
+        this.summaryStepId = getStepId();
+        this.details = details;
+        this.parameters = null;
+        this.required = null;
+    }
+
+    /*
+     * 🐱method getParameterTitles : List[String]
+     *
+     * Titles of the parameters of this step, available even if this step
+     * is a summary.
+     */
+    @JsonIgnore
+    public List<String> getParameterTitles() {
+        if (parameters == null) {
+            return parameterTitles != null ? parameterTitles : List.of();
+        }
+        return parameters.stream()
+                .map(Parameter::getTitle)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /*
+     * 🐱method isSummary : boolean
+     *
+     * If the parameters of this step are only retrieved on demand.
+     */
+    @JsonIgnore
+    public boolean isSummary() {
+        return details != null && parameters == null;
+    }
+
     /*
      * 🐱property group: String
      *
@@ -241,6 +320,12 @@ public class Step extends Metadata {
      *
      */
     public String getStepId() {
+        if (isSummary()) {
+            return summaryStepId;
+        }
+        if (this.getParameters() == null) {
+            return null;
+        }
         var p = this.getParameters().stream()
                 .filter(parameter -> parameter.getId().equalsIgnoreCase("step-id-kaoto"))
                 .findAny();
@@ -312,9 +397,13 @@ public class Step extends Metadata {
     public Step clone() {
         Step step = (Step) super.clone();
 
+        //Clones are always complete, they are going to be modified
+        final var original = getParameters();
+        step.required = getRequired();
+        step.details = null;
         step.setParameters(new LinkedList<>());
-        if (parameters != null) {
-            for (var p : parameters) {
+        if (original != null) {
+            for (var p : original) {
                 step.getParameters().add(p.clone());
             }
         }
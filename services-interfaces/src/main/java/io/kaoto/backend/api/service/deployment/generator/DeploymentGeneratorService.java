@@ -47,6 +47,19 @@ public interface DeploymentGeneratorService {
     @WithSpan
     String parse(List<StepParserService.ParseResult<Step>> flows);
 
+    /*
+     * 🐱method parseFlow: String
+     * 🐱param flow: ParseResult
+     *
+     * Source code of a single flow, for DSLs whose source code is the source
+     * code of each flow, one after the other. Then flows that didn't change
+     * don't have to be generated again. Null for DSLs that can only generate
+     * the whole document at once.
+     */
+    default String parseFlow(StepParserService.ParseResult<Step> flow) {
+        return null;
+    }
+
     /*
      * 🐱method parse: CustomResource
      * 🐱param input: String
@@ -1,15 +1,18 @@
 package io.kaoto.backend.api.service.dsl;
 
 import io.kaoto.backend.api.service.deployment.generator.DeploymentGeneratorService;
+import io.kaoto.backend.api.service.step.parser.SourceDocument;
 import io.kaoto.backend.api.service.step.parser.StepParserService;
 import io.kaoto.backend.model.step.Step;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Predicate;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * 🐱class DSLSpecification
@@ -22,6 +25,9 @@ import java.util.function.Predicate;
  */
 public abstract class DSLSpecification {
 
+    //Kinds of this DSL ignoring case, built the first time they are checked
+    private volatile Set<String> supportedKinds;
+
     /*
      * 🐱method identifier: String
      *
@@ -65,6 +71,15 @@ public abstract class DSLSpecification {
      */
     public abstract Collection<String> getKinds();
 
+    /*
+     * 🐱method getPlacementRules: PlacementRules
+     *
+     * Which steps can go after another step on this DSL. By default, any step can go anywhere.
+     */
+    public PlacementRules getPlacementRules() {
+        return PlacementRules.NONE;
+    }
+
     /*
      * 🐱method appliesTo: boolean
      * 🐱param steps: List[Step]
@@ -73,8 +88,7 @@ public abstract class DSLSpecification {
      */
     @Deprecated
     public boolean appliesTo(final List<Step> steps) {
-        return steps.stream().filter(Objects::nonNull)
-                .allMatch(s -> getKinds().stream().anyMatch(Predicate.isEqual(s.getKind().toUpperCase())));
+        return steps.stream().filter(Objects::nonNull).allMatch(this::supportsKindOf);
     }
 
     /*
@@ -86,7 +100,19 @@ public abstract class DSLSpecification {
     @WithSpan
     public boolean appliesToFlows(List<StepParserService.ParseResult<Step>> flows) {
         return flows.stream().anyMatch(flow -> flow.getSteps().stream().filter(Objects::nonNull)
-                .allMatch(s -> getKinds().stream().anyMatch(Predicate.isEqual(s.getKind().toUpperCase()))));
+                .allMatch(this::supportsKindOf));
+    }
+
+    //Looks the kind up on a set ignoring case, without comparing it with every kind of the DSL
+    private boolean supportsKindOf(final Step step) {
+        var kinds = supportedKinds;
+        if (kinds == null) {
+            final Set<String> res = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            getKinds().stream().filter(Objects::nonNull).forEach(res::add);
+            kinds = Collections.unmodifiableSet(res);
+            supportedKinds = kinds;
+        }
+        return step.getKind() != null && kinds.contains(step.getKind());
     }
 
     /*
@@ -99,6 +125,16 @@ public abstract class DSLSpecification {
         return this.getStepParserService().appliesTo(sourceCode);
     }
 
+    /*
+     * 🐱method appliesTo: boolean
+     * 🐱param document: SourceDocument
+     *
+     * Check if the document, parsed once for all DSLs, is from this DSL.
+     */
+    public boolean appliesTo(final SourceDocument document) {
+        return this.getStepParserService().appliesTo(document);
+    }
+
 
     /*
      * 🐱method getDeploymentGeneratorService: DeploymentGeneratorService
@@ -0,0 +1,154 @@
+package io.kaoto.backend.api.service.dsl;
+
+import io.kaoto.backend.model.step.Step;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 🐱class PlacementRules
+ * 🐱relationship dependsOn Step
+ *
+ * Which steps of the catalog can go after another step on a DSL, declared
+ * once so catalogs can resolve them over their indexes instead of checking
+ * every step.
+ *
+ * The first rule whose previous kinds contain the kind of the previous step
+ * applies. If none does, the default rule applies. When there is no
+ * previous step, any step can be placed.
+ */
+public final class PlacementRules {
+
+    /*
+     * 🐱property NONE: PlacementRules
+     *
+     * Any step can go anywhere.
+     */
+    public static final PlacementRules NONE = new PlacementRules(List.of(), Rule.ANY);
+
+    private final List<Rule> rules;
+    private final Rule otherwise;
+
+    private PlacementRules(final List<Rule> rules, final Rule otherwise) {
+        this.rules = rules;
+        this.otherwise = otherwise;
+    }
+
+    /*
+     * 🐱method of: PlacementRules
+     * 🐱param otherwise: Rule
+     * 🐱param rules: Rule[]
+     *
+     * Rules checked in order, with the one to apply if none matches.
+     */
+    public static PlacementRules of(final Rule otherwise, final Rule... rules) {
+        return new PlacementRules(List.of(rules), otherwise);
+    }
+
+    /*
+     * 🐱method ruleFor: Rule
+     * 🐱param previousStep: Step
+     *
+     * The rule that applies after the step provided.
+     */
+    public Rule ruleFor(final Step previousStep) {
+        if (previousStep == null) {
+            return Rule.ANY;
+        }
+        final var kind = normalize(previousStep.getKind());
+        for (Rule rule : rules) {
+            if (kind != null && rule.previousKinds().contains(kind)) {
+                return rule;
+            }
+        }
+        return otherwise;
+    }
+
+    /*
+     * 🐱method filter: Stream[Step]
+     * 🐱param previousStep: Step
+     * 🐱param followingStep: Step
+     * 🐱param steps: Stream[Step]
+     *
+     * Keeps only the steps that can go between the previous and following
+     * steps, checking them one by one.
+     */
+    public Stream<Step> filter(final Step previousStep, final Step followingStep, final Stream<Step> steps) {
+        final var rule = ruleFor(previousStep);
+        if (rule.last() && followingStep != null) {
+            return Stream.empty();
+        }
+        return steps.filter(rule::allows);
+    }
+
+    static String normalize(final String value) {
+        return value == null ? null : value.toUpperCase(Locale.ROOT);
+    }
+
+    /*
+     * 🐱miniclass Rule (PlacementRules)
+     *
+     * What can go after a step of one of the previous kinds: steps of these
+     * kinds (null for any), never of the excluded ones, of these types (null
+     * for any). If last, nothing can be placed when there is a following step.
+     */
+    public record Rule(Set<String> previousKinds, Set<String> kinds, Set<String> excludedKinds,
+                       Set<String> types, boolean last) {
+
+        public static final Rule ANY = new Rule(Set.of(), null, Set.of(), null, false);
+
+        /*
+         * 🐱method after: Rule
+         * 🐱param kinds: String[]
+         *
+         * Rule that applies after steps of these kinds, allowing anything.
+         */
+        public static Rule after(final String... kinds) {
+            return new Rule(set(kinds), null, Set.of(), null, false);
+        }
+
+        public Rule only(final String... values) {
+            return new Rule(previousKinds, set(values), excludedKinds, types, last);
+        }
+
+        public Rule except(final String... values) {
+            return new Rule(previousKinds, kinds, set(values), types, last);
+        }
+
+        public Rule ofTypes(final String... values) {
+            return new Rule(previousKinds, kinds, excludedKinds, set(values), last);
+        }
+
+        /*
+         * 🐱method asLast: Rule
+         *
+         * The step placed must be the last one, there can't be a step after it.
+         */
+        public Rule asLast() {
+            return new Rule(previousKinds, kinds, excludedKinds, types, true);
+        }
+
+        /*
+         * 🐱method allows: boolean
+         * 🐱param step: Step
+         *
+         * If the step can be placed according to this rule, ignoring the
+         * following step.
+         */
+        public boolean allows(final Step step) {
+            final var kind = normalize(step.getKind());
+            final var type = normalize(step.getType());
+            return (kinds == null || kind != null && kinds.contains(kind))
+                    && (kind == null || !excludedKinds.contains(kind))
+                    && (types == null || type != null && types.contains(type));
+        }
+
+        private static Set<String> set(final String... values) {
+            return Arrays.stream(values).map(PlacementRules::normalize).collect(Collectors.toUnmodifiableSet());
+        }
+    }
+}
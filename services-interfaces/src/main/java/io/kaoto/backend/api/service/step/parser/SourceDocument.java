@@ -0,0 +1,90 @@
+package io.kaoto.backend.api.service.step.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.kaoto.backend.model.mapper.Mappers;
+
+/**
+ * 🐱class SourceDocument
+ * 🐱relationship dependsOn StepParserService
+ *
+ * Source code sent to be parsed, together with its YAML tree.
+ *
+ * The tree is parsed the first time someone asks for it and shared
+ * afterwards, so detecting the DSL of the document and parsing it with the
+ * DSL found doesn't read the text again and again. Never modify the tree.
+ */
+public final class SourceDocument {
+
+    private final String source;
+    private JsonNode tree;
+    private boolean parsed;
+
+    private SourceDocument(final String source) {
+        this.source = source;
+    }
+
+    /*
+     * 🐱method of: SourceDocument
+     * 🐱param source: String
+     *
+     * Document for the source code provided. Nothing is parsed yet.
+     */
+    public static SourceDocument of(final String source) {
+        return new SourceDocument(source);
+    }
+
+    /*
+     * 🐱method source: String
+     *
+     * The source code, as it was received.
+     */
+    public String source() {
+        return source;
+    }
+
+    /*
+     * 🐱method tree: JsonNode
+     *
+     * The YAML tree of the first document of the source. Null if it is not
+     * valid YAML.
+     */
+    public synchronized JsonNode tree() {
+        if (!parsed) {
+            parsed = true;
+            try {
+                tree = source == null ? null : Mappers.yaml().readTree(source);
+            } catch (Exception e) {
+                //Not YAML, parsers that need the tree won't apply
+                tree = null;
+            }
+        }
+        return tree;
+    }
+
+    /*
+     * 🐱method kind: String
+     *
+     * The `kind` on the root of the document, if any.
+     */
+    public String kind() {
+        return rootText("kind");
+    }
+
+    /*
+     * 🐱method isList: boolean
+     *
+     * If the root of the document is a list, like on Camel routes.
+     */
+    public boolean isList() {
+        final var root = tree();
+        return root != null && root.isArray();
+    }
+
+    private String rootText(final String field) {
+        final var root = tree();
+        if (root == null || !root.isObject() || !root.path(field).isValueNode()) {
+            return null;
+        }
+        return root.get(field).asText();
+    }
+}
@@ -36,6 +36,18 @@ public interface StepParserService<T extends Step> {
     @WithSpan
     List<ParseResult<T>> getParsedFlows(String yaml);
 
+    /*
+     * 🐱method getParsedFlows: List<ParseResult>
+     * 🐱param document: SourceDocument
+     *
+     * Same as parsing the source of the document. Parsers that can bind the
+     * tree already parsed override it to avoid reading the text again.
+     */
+    @WithSpan
+    default List<ParseResult<T>> getParsedFlows(SourceDocument document) {
+        return getParsedFlows(document.source());
+    }
+
     /*
      * 🐱method appliesTo: boolean
      * 🐱param yaml: String
@@ -44,6 +56,17 @@ public interface StepParserService<T extends Step> {
      */
     boolean appliesTo(String sourceCode);
 
+    /*
+     * 🐱method appliesTo: boolean
+     * 🐱param document: SourceDocument
+     *
+     * Same as checking the source of the document. Parsers that would have
+     * to parse the text to know override it to check the tree instead.
+     */
+    default boolean appliesTo(SourceDocument document) {
+        return appliesTo(document.source());
+    }
+
     /**
      * 🐱miniclass ParseResult (StepParserService)
      *